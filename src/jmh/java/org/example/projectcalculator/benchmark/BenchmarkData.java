@@ -0,0 +1,84 @@
+package org.example.projectcalculator.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.TeamMember;
+import org.example.projectcalculator.model.User;
+
+public class BenchmarkData {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Creates {@link Project} with default rates and the same team as ProjectService creates for a
+   * new {@link Project}.
+   */
+  public static Project createProjectWithDefaultTeam() {
+    final var creator = new User(1L, "benchmark", "{noop}benchmark", "benchmark@example.com", NOW,
+        NOW);
+    final var project = new Project(1L, "Benchmark", "Benchmark", "Benchmark", creator,
+        BigDecimal.ZERO, new ArrayList<>(), new ArrayList<>(), NOW, NOW);
+
+    Arrays.stream(Position.values())
+        .map(position -> new Rate(position.ordinal() + 1L, position,
+            position.getDefaultRateInRublesPerHour(), project))
+        .forEach(project.getRates()::add);
+
+    project.getTeamMembers().add(
+        new TeamMember(1L, Position.REGULAR_DEVELOPER, new BigDecimal("1"), project));
+    project.getTeamMembers().add(
+        new TeamMember(2L, Position.QA_ENGINEER, new BigDecimal("0.25"), project));
+    project.getTeamMembers().add(
+        new TeamMember(3L, Position.PROJECT_MANAGER, new BigDecimal("0.25"), project));
+
+    return project;
+  }
+
+  /**
+   * Creates {@code count} random estimates in days with 2 fractional digits (like the ones that
+   * are accepted by the API).
+   */
+  public static List<BigDecimal> createEstimatesInDays(final int count, final long seed) {
+    final var random = new Random(seed);
+    final var estimates = new ArrayList<BigDecimal>(count);
+
+    for (var i = 0; i < count; i++) {
+      estimates.add(BigDecimal.valueOf(1 + random.nextInt(3_000), 2));
+    }
+
+    return estimates;
+  }
+
+  /**
+   * Creates {@code count} {@link Feature}s of {@code project} with random valid estimates
+   * ({@code bestCase <= mostLikely <= worstCase}, 2 fractional digits).
+   */
+  public static List<Feature> createFeatures(final Project project, final int count,
+      final long seed) {
+    final var random = new Random(seed);
+    final var features = new ArrayList<Feature>(count);
+
+    for (var i = 0; i < count; i++) {
+      final var bestCase = 1 + random.nextInt(1_000);
+      final var mostLikely = bestCase + random.nextInt(1_000);
+      final var worstCase = mostLikely + random.nextInt(1_000);
+
+      features.add(new Feature(i + 1L, project, null, "Feature " + i, "Benchmark",
+          BigDecimal.valueOf(bestCase, 2), BigDecimal.valueOf(mostLikely, 2),
+          BigDecimal.valueOf(worstCase, 2), NOW, NOW));
+    }
+
+    return features;
+  }
+}
@@ -0,0 +1,82 @@
+package org.example.projectcalculator.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.service.PriceService;
+import org.example.projectcalculator.service.TeamCostCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link Feature#getEstimateInDays()} (PERT formula) and pricing of all
+ * {@link Feature}s of a {@link Project} in the same way as FeatureService lists them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureEstimateBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int featureCount;
+
+  private PriceService priceService;
+
+  private Project project;
+
+  private List<Feature> features;
+
+  @Setup
+  public void setup() {
+    priceService = new PriceService(
+        new TeamCostCache(Duration.ofMinutes(1), 1, new SimpleMeterRegistry()),
+        new SimpleMeterRegistry());
+    project = BenchmarkData.createProjectWithDefaultTeam();
+    features = BenchmarkData.createFeatures(project, featureCount, 42L);
+  }
+
+  @Benchmark
+  public void estimatePerFeature(final Blackhole blackhole) {
+    for (final var feature : features) {
+      blackhole.consume(feature.getEstimateInDays());
+    }
+  }
+
+  @Benchmark
+  public BigDecimal projectEstimate() {
+    var estimateInDays = BigDecimal.ZERO;
+
+    for (final var feature : features) {
+      estimateInDays = estimateInDays.add(feature.getEstimateInDays());
+    }
+
+    return estimateInDays;
+  }
+
+  @Benchmark
+  public void pricePerFeature(final Blackhole blackhole) {
+    final var teamCostSnapshot = priceService.createTeamCostSnapshot(project);
+
+    for (final var feature : features) {
+      blackhole.consume(
+          priceService.computePriceInRubles(teamCostSnapshot, feature.getEstimateInDays()));
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package org.example.projectcalculator.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.projectcalculator.dto.FeatureDto;
+import org.example.projectcalculator.mapper.FeatureMapper;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.service.ParallelMapper;
+import org.example.projectcalculator.service.PriceService;
+import org.example.projectcalculator.service.TeamCostCache;
+import org.example.projectcalculator.service.TeamCostSnapshot;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sequential and parallel pricing and mapping of {@link Feature}s to {@link FeatureDto}s
+ * by {@link ParallelMapper} to find the number of {@link Feature}s from which parallel mapping is
+ * faster (project-calculator.parallel-mapping.threshold).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelMapperBenchmark {
+
+  @Param({"100", "1000", "10000", "100000"})
+  private int featureCount;
+
+  private final FeatureMapper featureMapper = Mappers.getMapper(FeatureMapper.class);
+
+  private PriceService priceService;
+
+  private TeamCostSnapshot teamCostSnapshot;
+
+  private List<Feature> features;
+
+  // all lists are mapped sequentially by the first one and in parallel by the second one
+  private ParallelMapper sequentialMapper;
+  private ParallelMapper parallelMapper;
+
+  @Setup
+  public void setup() {
+    final var project = BenchmarkData.createProjectWithDefaultTeam();
+
+    priceService = new PriceService(
+        new TeamCostCache(Duration.ofMinutes(1), 1, new SimpleMeterRegistry()),
+        new SimpleMeterRegistry());
+    teamCostSnapshot = priceService.createTeamCostSnapshot(project);
+    features = BenchmarkData.createFeatures(project, featureCount, 42L);
+
+    sequentialMapper = new ParallelMapper(0, Integer.MAX_VALUE, new SimpleMeterRegistry());
+    parallelMapper = new ParallelMapper(0, 0, new SimpleMeterRegistry());
+  }
+
+  @TearDown
+  public void tearDown() {
+    sequentialMapper.shutdown();
+    parallelMapper.shutdown();
+  }
+
+  @Benchmark
+  public List<FeatureDto> sequential() {
+    return sequentialMapper.map("benchmark", features, this::toFeatureDto);
+  }
+
+  @Benchmark
+  public List<FeatureDto> parallel() {
+    return parallelMapper.map("benchmark", features, this::toFeatureDto);
+  }
+
+  private FeatureDto toFeatureDto(final Feature feature) {
+    return featureMapper.toFeatureDto(feature,
+        priceService.computePriceInRubles(teamCostSnapshot, feature.getEstimateInDays()));
+  }
+}
@@ -0,0 +1,109 @@
+package org.example.projectcalculator.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.TeamMember;
+import org.example.projectcalculator.service.PriceService;
+import org.example.projectcalculator.service.TeamCostCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares pricing of all features of a {@link Project} using per-call scans of rates and team
+ * members (how PriceService worked before TeamCostSnapshot) against pricing with a single
+ * TeamCostSnapshot per {@link Project}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PriceServiceBenchmark {
+
+  private static final BigDecimal HOURS_IN_DAY = BigDecimal.valueOf(8);
+
+  @Param({"10", "1000", "100000"})
+  private int featureCount;
+
+  private PriceService priceService;
+
+  private Project project;
+
+  private List<BigDecimal> estimatesInDays;
+
+  @Setup
+  public void setup() {
+    priceService = new PriceService(
+        new TeamCostCache(Duration.ofMinutes(1), 1, new SimpleMeterRegistry()),
+        new SimpleMeterRegistry());
+    project = BenchmarkData.createProjectWithDefaultTeam();
+    estimatesInDays = BenchmarkData.createEstimatesInDays(featureCount, 42L);
+  }
+
+  @Benchmark
+  public void streamPerFeature(final Blackhole blackhole) {
+    for (final var estimateInDays : estimatesInDays) {
+      blackhole.consume(computePriceInRublesWithStreams(project, estimateInDays));
+    }
+  }
+
+  @Benchmark
+  public void snapshotPerProject(final Blackhole blackhole) {
+    final var teamCostSnapshot = priceService.createTeamCostSnapshot(project);
+
+    for (final var estimateInDays : estimatesInDays) {
+      blackhole.consume(priceService.computePriceInRubles(teamCostSnapshot, estimateInDays));
+    }
+  }
+
+  // how PriceService priced features before team price per day was precomputed in TeamCostSnapshot
+  @Benchmark
+  public void snapshotPerProjectPerHourPrice(final Blackhole blackhole) {
+    final var teamPrice = priceService.createTeamCostSnapshot(project).getTeamPriceInRublesPerHour();
+
+    for (final var estimateInDays : estimatesInDays) {
+      blackhole.consume(estimateInDays.multiply(teamPrice).multiply(HOURS_IN_DAY));
+    }
+  }
+
+  // copy of the stream-based implementation that PriceService had before TeamCostSnapshot
+
+  private static BigDecimal computePriceInRublesWithStreams(final Project project,
+      final BigDecimal estimateInDays) {
+    final var rates = project.getRates();
+    final var teamMembers = project.getTeamMembers();
+
+    final var teamPrice = Arrays.stream(Position.values())
+        .map(position -> rates.stream()
+            .filter(rate -> rate.getPosition() == position)
+            .map(Rate::getRublesPerHour)
+            .findAny()
+            .orElseThrow(() -> new AssertionError("there must be " + position))
+            .multiply(teamMembers.stream()
+                .filter(teamMember -> teamMember.getPosition() == position)
+                .map(TeamMember::getNumberOfTeamMembers)
+                .findAny()
+                .orElse(BigDecimal.ZERO)))
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    return estimateInDays.multiply(teamPrice).multiply(HOURS_IN_DAY);
+  }
+}
@@ -0,0 +1,93 @@
+package org.example.projectcalculator.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.example.projectcalculator.configuration.ConnectionLimitingDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load test of request execution modes (project-calculator.virtual-threads.enabled): every JMH
+ * thread is a client that sends a request and waits for the response. A request blocks outside
+ * of database for {@code ioMillis} and then holds a connection for {@code dbMillis}. Requests are
+ * executed by a pool of Tomcat's default 200 platform threads or by a virtual thread per request,
+ * connections are limited to the default HikariCP pool size by
+ * {@link ConnectionLimitingDataSource} in both modes.
+ *
+ * <p>Throughput mode reports requests per millisecond, SampleTime mode reports p99 latency.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1000)
+@State(Scope.Benchmark)
+public class RequestExecutionBenchmark {
+
+  private static final int TOMCAT_MAX_THREADS = 200;
+  private static final int HIKARI_MAXIMUM_POOL_SIZE = 10;
+  private static final long HIKARI_CONNECTION_TIMEOUT_MILLIS = 30_000;
+
+  @Param({"platform", "virtual"})
+  private String mode;
+
+  @Param({"50"})
+  private int ioMillis;
+
+  @Param({"1"})
+  private int dbMillis;
+
+  private ExecutorService executor;
+
+  private DataSource dataSource;
+
+  @Setup
+  public void setup() {
+    executor = mode.equals("virtual")
+        ? Executors.newVirtualThreadPerTaskExecutor()
+        : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+    final var connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+        new Class<?>[]{Connection.class}, (proxy, method, args) -> null);
+    final var targetDataSource = (DataSource) Proxy.newProxyInstance(
+        DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+        (proxy, method, args) -> method.getName().equals("getConnection") ? connection : null);
+
+    dataSource = new ConnectionLimitingDataSource(targetDataSource, HIKARI_MAXIMUM_POOL_SIZE,
+        HIKARI_CONNECTION_TIMEOUT_MILLIS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public void request() throws Exception {
+    executor.submit(() -> {
+      Thread.sleep(ioMillis);
+
+      try (final var ignored = dataSource.getConnection()) {
+        Thread.sleep(dbMillis);
+      }
+
+      return null;
+    }).get();
+  }
+}
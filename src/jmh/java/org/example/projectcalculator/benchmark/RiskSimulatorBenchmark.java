@@ -0,0 +1,79 @@
+package org.example.projectcalculator.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.service.RiskSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Monte Carlo simulation of three-point estimates of {@link Feature}s (all cores of
+ * common ForkJoinPool are used). A single simulation of 100k features and 10k iterations takes
+ * seconds, so every simulation is measured once.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RiskSimulatorBenchmark {
+
+  private static final int GROUP_COUNT = 10;
+
+  @Param({"1000", "100000"})
+  private int featureCount;
+
+  @Param({"10000"})
+  private int iterations;
+
+  private RiskSimulator riskSimulator;
+
+  private double[] bestCases;
+  private double[] mostLikelys;
+  private double[] worstCases;
+  private int[] groups;
+
+  @Setup
+  public void setup() {
+    riskSimulator = new RiskSimulator(0);
+
+    final var features = BenchmarkData.createFeatures(
+        BenchmarkData.createProjectWithDefaultTeam(), featureCount, 42L);
+
+    bestCases = new double[featureCount];
+    mostLikelys = new double[featureCount];
+    worstCases = new double[featureCount];
+    groups = new int[featureCount];
+
+    for (var i = 0; i < featureCount; ++i) {
+      final var feature = features.get(i);
+
+      bestCases[i] = feature.getBestCaseEstimateInDays().doubleValue();
+      mostLikelys[i] = feature.getMostLikelyEstimateInDays().doubleValue();
+      worstCases[i] = feature.getWorstCaseEstimateInDays().doubleValue();
+      groups[i] = i % GROUP_COUNT;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    riskSimulator.shutdown();
+  }
+
+  @Benchmark
+  public double[][] simulate() {
+    return riskSimulator.simulate(bestCases, mostLikelys, worstCases, groups, GROUP_COUNT,
+        iterations, 42L);
+  }
+}
@@ -19,6 +19,25 @@ public class ApplicationConfiguration {
 
   public static final RoundingMode ESTIMATE_ROUNDING_MODE = RoundingMode.UP;
 
+  // number of ids that Hibernate takes from an id sequence at once, it must be equal to
+  // INCREMENT of the sequences (see V19 migration)
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  // keyset pagination of listings (limit request parameter)
+  public static final int DEFAULT_PAGE_SIZE = 100;
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  // max number of features in a single bulk create request
+  public static final int MAX_FEATURES_IN_BATCH = 1000;
+
+  // Monte Carlo risk simulation (iterations and seed request parameters)
+  public static final int DEFAULT_SIMULATION_ITERATIONS = 10_000;
+  public static final int MAX_SIMULATION_ITERATIONS = 100_000;
+  public static final long DEFAULT_SIMULATION_SEED = 0L;
+
+  // number of rows that are fetched from JDBC cursor at once while streaming
+  public static final String STREAM_FETCH_SIZE = "256";
+
   @Bean
   public Clock clock() {
     return Clock.systemUTC();
@@ -0,0 +1,129 @@
+package org.example.projectcalculator.configuration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} that lets at most {@code maxConnections} threads hold a {@link Connection}
+ * of the target {@link DataSource} at once. Other threads wait for a permit in FIFO order (at
+ * most {@code timeoutMillis}) before they reach the connection pool, so thousands of virtual
+ * threads park cheaply on a fair {@link Semaphore} instead of stampeding the pool. Permit is
+ * released when the {@link Connection} is closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+
+  private final int maxConnections;
+  private final long timeoutMillis;
+
+  public ConnectionLimitingDataSource(final DataSource targetDataSource, final int maxConnections,
+      final long timeoutMillis) {
+    super(targetDataSource);
+
+    permits = new Semaphore(maxConnections, true);
+
+    this.maxConnections = maxConnections;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return getLimitedConnection(() -> super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return getLimitedConnection(() -> super.getConnection(username, password));
+  }
+
+  /**
+   * Returns the number of threads that wait for a permit (an estimate).
+   *
+   * @return number of waiting threads
+   */
+  public int getWaitingThreads() {
+    return permits.getQueueLength();
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  private Connection getLimitedConnection(final ConnectionSupplier connectionSupplier)
+      throws SQLException {
+    try {
+      if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Connection is not available, request timed out after " + timeoutMillis + "ms ("
+                + maxConnections + " connections are in use)");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new SQLTransientConnectionException("Interrupted while waiting for connection", e);
+    }
+
+    try {
+      final var connection = connectionSupplier.getConnection();
+
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+          new Class<?>[]{Connection.class}, new PermitReleasingHandler(connection));
+    } catch (final SQLException | RuntimeException e) {
+      permits.release();
+
+      throw e;
+    }
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+
+    Connection getConnection() throws SQLException;
+  }
+
+  private final class PermitReleasingHandler implements InvocationHandler {
+
+    private final Connection connection;
+
+    // Connection.close() may be called more than once, but the permit is released only once
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private PermitReleasingHandler(final Connection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args)
+        throws Throwable {
+      if (method.getName().equals("close") && method.getParameterCount() == 0) {
+        try {
+          connection.close();
+        } finally {
+          if (released.compareAndSet(false, true)) {
+            permits.release();
+          }
+        }
+
+        return null;
+      }
+
+      try {
+        return method.invoke(connection, args);
+      } catch (final InvocationTargetException e) {
+        throw e.getTargetException();
+      }
+    }
+  }
+}
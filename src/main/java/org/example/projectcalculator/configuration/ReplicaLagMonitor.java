@@ -0,0 +1,80 @@
+package org.example.projectcalculator.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically measures replication lag of the read replica, see {@link ReplicaRoutingDataSource}.
+ * Replica is usable if it's lag is at most {@code maxLag}; it is not usable until the first
+ * successful check and while it is not reachable.
+ *
+ * <p>Lag is published in {@code project-calculator.replica.lag} metric in seconds ({@code NaN} if
+ * the replica is not reachable).
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+
+  // time since the last replayed transaction, but 0 if everything received is replayed (so idle
+  // primary doesn't look like lag) or if it is not a standby at all
+  static final String LAG_SQL = """
+      SELECT CASE
+               WHEN NOT pg_is_in_recovery()
+                 OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+               ELSE coalesce(extract(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+             END""";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final double maxLagInSeconds;
+
+  private volatile double lagInSeconds = Double.NaN;
+
+  public ReplicaLagMonitor(final DataSource replicaDataSource, final Duration maxLag) {
+    jdbcTemplate = new JdbcTemplate(replicaDataSource);
+    maxLagInSeconds = maxLag.toMillis() / 1000.0;
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry meterRegistry) {
+    Gauge.builder("project-calculator.replica.lag", this, monitor -> monitor.lagInSeconds)
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${project-calculator.replica.lag-check-interval:PT1S}")
+  public void checkLag() {
+    final var wasUsable = isReplicaUsable();
+
+    try {
+      final var lag = jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+
+      lagInSeconds = (lag != null) ? lag : Double.NaN;
+    } catch (final DataAccessException e) {
+      lagInSeconds = Double.NaN;
+
+      log.debug("Failed to check lag of replica", e);
+    }
+
+    if (wasUsable != isReplicaUsable()) {
+      log.warn("Replica is {}, lag = {}s", isReplicaUsable() ? "usable" : "not usable",
+          lagInSeconds);
+    }
+  }
+
+  /**
+   * Returns whether read-only transactions can be routed to the replica.
+   *
+   * @return {@code true} if the last check succeeded and lag is at most {@code maxLag}
+   */
+  public boolean isReplicaUsable() {
+    // false for NaN
+    return lagInSeconds <= maxLagInSeconds;
+  }
+}
@@ -0,0 +1,72 @@
+package org.example.projectcalculator.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the single {@link DataSource} with {@link ReplicaRoutingDataSource}: read-only
+ * transactions go to the replica ({@code project-calculator.replica.datasource.*} HikariCP
+ * properties) unless it lags more than {@code project-calculator.replica.max-lag}, everything
+ * else goes to the primary ({@code spring.datasource.*}). Flyway migrates only the primary.
+ *
+ * <p>Replica may be behind the primary, so a read-only transaction right after a write may not
+ * see it. Users are loaded for authentication from the primary, and data that was read from the
+ * replica is not put in caches that are shared between requests.
+ */
+@Configuration
+@ConditionalOnProperty(name = "project-calculator.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(final DataSourceProperties dataSourceProperties) {
+    final var dataSource = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .build();
+    dataSource.setPoolName("primary");
+
+    return dataSource;
+  }
+
+  @Bean
+  @ConfigurationProperties("project-calculator.replica.datasource")
+  public HikariDataSource replicaDataSource() {
+    final var dataSource = new HikariDataSource();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaDataSource") final DataSource replicaDataSource,
+      @Value("${project-calculator.replica.max-lag:5s}") final Duration maxLag) {
+    return new ReplicaLagMonitor(replicaDataSource, maxLag);
+  }
+
+  // a bean of it's own, so that it's metrics are bound
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      @Qualifier("primaryDataSource") final DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") final DataSource replicaDataSource,
+      final ReplicaLagMonitor replicaLagMonitor) {
+    return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(final ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+}
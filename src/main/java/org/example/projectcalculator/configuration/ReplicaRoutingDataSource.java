@@ -0,0 +1,114 @@
+package org.example.projectcalculator.configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions ({@code @Transactional(readOnly = true)}) to the
+ * replica while {@link ReplicaLagMonitor} considers it usable, and all other connections
+ * (including read-only transactions that join a read-write one) to the primary.
+ *
+ * <p>Transaction is marked as read-only after it's connection is requested, so it must be wrapped
+ * in {@link LazyConnectionDataSourceProxy}, which requests the connection on the first statement.
+ *
+ * <p>Data read from the replica may be stale, so caches that are shared between requests must not
+ * keep it, see {@link #isCurrentTransactionRoutedToReplica()}.
+ *
+ * <p>Routed connections are counted in {@code project-calculator.replica.routing} metric with
+ * {@code target} ({@code primary} or {@code replica}) and {@code read-only} tags, so fallbacks
+ * of read-only transactions to the primary are visible. It is a {@link MeterBinder}, because it is
+ * created before {@link MeterRegistry}, which itself depends on all {@link DataSource}s.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+  enum Target {
+    PRIMARY,
+    REPLICA
+  }
+
+  // is bound to the current transaction while it is routed to the replica
+  private static final Object REPLICA_TRANSACTION_KEY = new Object();
+
+  private final ReplicaLagMonitor replicaLagMonitor;
+
+  private final LongAdder primaryCount = new LongAdder();
+  private final LongAdder readOnlyPrimaryCount = new LongAdder();
+  private final LongAdder replicaCount = new LongAdder();
+
+  public ReplicaRoutingDataSource(final DataSource primaryDataSource,
+      final DataSource replicaDataSource, final ReplicaLagMonitor replicaLagMonitor) {
+    setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource,
+        Target.REPLICA, replicaDataSource));
+    setDefaultTargetDataSource(primaryDataSource);
+    setLenientFallback(false);
+
+    this.replicaLagMonitor = replicaLagMonitor;
+  }
+
+  /**
+   * Returns whether the current transaction reads from the replica, so that what it has read may
+   * be behind the primary. It is always {@code false} if replica is not enabled.
+   *
+   * @return {@code true} if connection of the current transaction is routed to the replica
+   */
+  public static boolean isCurrentTransactionRoutedToReplica() {
+    return TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION_KEY);
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry meterRegistry) {
+    bindCounter(meterRegistry, primaryCount, "primary", "false");
+    bindCounter(meterRegistry, readOnlyPrimaryCount, "primary", "true");
+    bindCounter(meterRegistry, replicaCount, "replica", "true");
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      primaryCount.increment();
+
+      return Target.PRIMARY;
+    }
+
+    if (!replicaLagMonitor.isReplicaUsable()) {
+      readOnlyPrimaryCount.increment();
+
+      return Target.PRIMARY;
+    }
+
+    replicaCount.increment();
+    markCurrentTransactionRoutedToReplica();
+
+    return Target.REPLICA;
+  }
+
+  private static void markCurrentTransactionRoutedToReplica() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()
+        || TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION_KEY)) {
+      return;
+    }
+
+    TransactionSynchronizationManager.bindResource(REPLICA_TRANSACTION_KEY, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(final int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_TRANSACTION_KEY);
+      }
+    });
+  }
+
+  private static void bindCounter(final MeterRegistry meterRegistry, final LongAdder count,
+      final String target, final String readOnly) {
+    FunctionCounter.builder("project-calculator.replica.routing", count, LongAdder::sum)
+        .tags("target", target, "read-only", readOnly)
+        .register(meterRegistry);
+  }
+}
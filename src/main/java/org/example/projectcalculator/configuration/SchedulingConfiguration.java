@@ -0,0 +1,14 @@
+package org.example.projectcalculator.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs (compaction and reconciliation of estimates, see
+ * EstimateAggregateService).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+}
@@ -0,0 +1,29 @@
+package org.example.projectcalculator.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.projectcalculator.controller.StatementCountFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers {@link StatementCountFilter} before all other filters, so statements of
+ * authentication are counted too.
+ */
+@Configuration
+public class StatementCountConfiguration {
+
+  @Bean
+  public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+      final StatementCounter statementCounter, final MeterRegistry meterRegistry,
+      @Value("${project-calculator.sql-statements.response-header-enabled:false}")
+      final boolean responseHeaderEnabled) {
+    final var registration = new FilterRegistrationBean<>(
+        new StatementCountFilter(statementCounter, meterRegistry, responseHeaderEnabled));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+    return registration;
+  }
+}
@@ -0,0 +1,40 @@
+package org.example.projectcalculator.configuration;
+
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts SQL statements that are prepared by Hibernate (JPQL, native and generated ones) in the
+ * current thread. Callers take {@link #getCount()} before and after a unit of work (e.g. a
+ * request, see StatementCountFilter) and subtract, so it is never reset.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+  // a request (and it's transactions) is served by a single thread
+  private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+  @Override
+  public String inspect(final String sql) {
+    ++COUNT.get()[0];
+
+    return sql;
+  }
+
+  @Override
+  public void customize(final Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+  }
+
+  /**
+   * Returns the number of SQL statements that were prepared by Hibernate in the current thread.
+   *
+   * @return number of statements
+   */
+  public long getCount() {
+    return COUNT.get()[0];
+  }
+}
@@ -0,0 +1,55 @@
+package org.example.projectcalculator.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serves requests on virtual threads instead of Tomcat's pool of platform threads (Spring Boot
+ * 2.7 doesn't support it out of the box). Controllers and {@code @Transactional} services run in
+ * the request thread, so all blocking on PostgreSQL happens on virtual threads.
+ *
+ * <p>The number of virtual threads is not limited, so HikariCP {@link javax.sql.DataSource} is
+ * wrapped in {@link ConnectionLimitingDataSource} with as many permits as
+ * {@code spring.datasource.hikari.maximum-pool-size} and {@code connection-timeout} of the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "project-calculator.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfiguration {
+
+  @Bean
+  public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadsCustomizer() {
+    return factory -> factory.addProtocolHandlerCustomizers(protocolHandler -> {
+      protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
+      log.info("Tomcat serves requests on virtual threads");
+    });
+  }
+
+  // static, so that it doesn't initialize this configuration before other BeanPostProcessors
+  @Bean
+  public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+
+      @Override
+      public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof HikariDataSource hikariDataSource)) {
+          return bean;
+        }
+
+        log.info("At most {} threads hold a connection of DataSource {} at once",
+            hikariDataSource.getMaximumPoolSize(), beanName);
+
+        return new ConnectionLimitingDataSource(hikariDataSource,
+            hikariDataSource.getMaximumPoolSize(), hikariDataSource.getConnectionTimeout());
+      }
+    };
+  }
+}
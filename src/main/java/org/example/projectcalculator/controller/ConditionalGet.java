@@ -0,0 +1,42 @@
+package org.example.projectcalculator.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Helpers for conditional listings. A listing has strong {@code ETag} header and may be cached by
+ * client, but it must be revalidated with {@code If-None-Match} header on each use; if it is not
+ * modified, then the response is {@code 304 Not Modified} without body.
+ *
+ * <p>The same URL may have several representations with different {@code ETag}s (e.g. JSON and
+ * NDJSON listing of features), so responses vary by {@code Accept} header.
+ */
+final class ConditionalGet {
+
+  // otherwise Spring Security forbids caching with "no-store"
+  static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+  private ConditionalGet() {
+  }
+
+  /**
+   * Sets {@code ETag}, {@code Cache-Control} and {@code Vary} headers and checks
+   * {@code If-None-Match} header.
+   *
+   * @param webRequest must be not {@code null}
+   * @param eTag       must be not {@code null}; it is quoted if it is not
+   * @return {@code true} if listing is not modified, then the response status is already set to
+   *     {@code 304} and nothing else must be written
+   */
+  static boolean isNotModified(final ServletWebRequest webRequest, final String eTag) {
+    if (webRequest.getResponse() != null) {
+      webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+          CACHE_CONTROL.getHeaderValue());
+      // added, because CORS may have already set Vary header
+      webRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    return webRequest.checkNotModified(eTag);
+  }
+}
@@ -1,16 +1,27 @@
 package org.example.projectcalculator.controller;
 
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.DEFAULT_PAGE_SIZE;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.MAX_PAGE_SIZE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.example.projectcalculator.dto.FeatureDto;
 import org.example.projectcalculator.dto.request.CreateFeatureDtoRequest;
+import org.example.projectcalculator.dto.request.CreateFeaturesDtoRequest;
 import org.example.projectcalculator.dto.request.UpdateFeatureDtoRequest;
 import org.example.projectcalculator.service.FeatureService;
+import org.example.projectcalculator.service.ProjectService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -23,6 +34,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/projects/{projectId}/features")
@@ -33,6 +45,10 @@ public class FeatureController {
 
   private final FeatureService featureService;
 
+  private final ProjectService projectService;
+
+  private final ObjectMapper objectMapper;
+
   @PostMapping(
       consumes = MediaType.APPLICATION_JSON_VALUE,
       produces = MediaType.APPLICATION_JSON_VALUE)
@@ -44,13 +60,75 @@ public class FeatureController {
     return ResponseEntity.ok(featureService.saveFeature(request, projectId));
   }
 
+  @PostMapping(
+      path = "/batch",
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Create features", description = "Create many features for project (and optionally for milestones) at once")
+  @ApiResponse(responseCode = "200", description = "Successful creation")
+  public ResponseEntity<List<FeatureDto>> createFeatures(
+      @Valid @RequestBody final CreateFeaturesDtoRequest request,
+      @PathVariable("projectId") @Min(1) final long projectId) {
+    return ResponseEntity.ok(featureService.saveFeatures(request, projectId));
+  }
+
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-  @Operation(summary = "Get features", description = "Get list of all features of project (and optionally of milestone)")
+  @Operation(summary = "Get features", description = "Get list of all features of project (and optionally of milestone); if afterId or limit is specified, then get page of features ordered by id and X-Next-Cursor header with afterId of the next page; ETag header is returned and If-None-Match header is supported")
   @ApiResponse(responseCode = "200", description = "Successful query")
+  @ApiResponse(responseCode = "304", description = "Features are not modified")
   public ResponseEntity<List<FeatureDto>> getAllFeatures(
       @PathVariable("projectId") @Min(1) final long projectId,
-      @RequestParam(value = "milestoneId", required = false) @Min(1) final Long milestoneId) {
-    return ResponseEntity.ok(featureService.getAllFeatures(projectId, milestoneId));
+      @RequestParam(value = "milestoneId", required = false) @Min(1) final Long milestoneId,
+      @RequestParam(value = "afterId", required = false) @Min(0) final Long afterId,
+      @RequestParam(value = "limit", required = false) @Min(1) @Max(MAX_PAGE_SIZE)
+      final Integer limit,
+      final ServletWebRequest webRequest) {
+    // checked before any Feature is loaded
+    if (ConditionalGet.isNotModified(webRequest, projectService.getProjectETag(projectId))) {
+      return null;
+    }
+
+    if (!KeysetPagination.isPaginated(afterId, limit)) {
+      return ResponseEntity.ok(featureService.getAllFeatures(projectId, milestoneId));
+    }
+
+    final var pageSize = (limit != null) ? limit : DEFAULT_PAGE_SIZE;
+    final var page = featureService.getFeaturePage(projectId, milestoneId,
+        (afterId != null) ? afterId : 0L, pageSize);
+
+    return KeysetPagination.toResponseEntity(page, pageSize, FeatureDto::id);
+  }
+
+  @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(summary = "Stream features", description = "Stream all features of project (and optionally of milestone) ordered by id as newline delimited JSON; ETag header is returned and If-None-Match header is supported")
+  @ApiResponse(responseCode = "200", description = "Successful query")
+  @ApiResponse(responseCode = "304", description = "Features are not modified")
+  public void streamAllFeatures(
+      @PathVariable("projectId") @Min(1) final long projectId,
+      @RequestParam(value = "milestoneId", required = false) @Min(1) final Long milestoneId,
+      final HttpServletResponse response,
+      final ServletWebRequest webRequest) throws IOException {
+    // it is another representation of the same Features, so it has another ETag
+    if (ConditionalGet.isNotModified(webRequest,
+        projectService.getProjectETag(projectId) + "-ndjson")) {
+      return;
+    }
+
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+    final var outputStream = response.getOutputStream();
+
+    // response is written in the request thread, so the transaction and the security context
+    // are still there; ProjectCalculatorException is thrown before anything is written
+    featureService.streamAllFeatures(projectId, milestoneId, featureDto -> {
+      try {
+        outputStream.write(objectMapper.writeValueAsBytes(featureDto));
+        outputStream.write('\n');
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
   }
 
   @PutMapping(
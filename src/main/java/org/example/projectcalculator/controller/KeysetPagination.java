@@ -0,0 +1,34 @@
+package org.example.projectcalculator.controller;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers for keyset-paginated listings. A listing is paginated if {@code afterId} or
+ * {@code limit} request parameter is present; then the response has {@value #NEXT_CURSOR_HEADER}
+ * header with {@code afterId} of the next page if the page is full (there may be more elements).
+ */
+final class KeysetPagination {
+
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private KeysetPagination() {
+  }
+
+  static boolean isPaginated(final Long afterId, final Integer limit) {
+    return afterId != null || limit != null;
+  }
+
+  static <T> ResponseEntity<List<T>> toResponseEntity(final List<T> page, final int limit,
+      final ToLongFunction<T> idGetter) {
+    final var responseBuilder = ResponseEntity.ok();
+
+    if (!page.isEmpty() && page.size() == limit) {
+      responseBuilder.header(NEXT_CURSOR_HEADER,
+          Long.toString(idGetter.applyAsLong(page.get(page.size() - 1))));
+    }
+
+    return responseBuilder.body(page);
+  }
+}
@@ -1,15 +1,20 @@
 package org.example.projectcalculator.controller;
 
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.DEFAULT_PAGE_SIZE;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.MAX_PAGE_SIZE;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.example.projectcalculator.dto.MilestoneDto;
 import org.example.projectcalculator.dto.request.CreateUpdateMilestoneDtoRequest;
 import org.example.projectcalculator.service.MilestoneService;
+import org.example.projectcalculator.service.ProjectService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -20,7 +25,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/projects/{projectId}/milestones")
@@ -31,6 +38,8 @@ public class MilestoneController {
 
   private final MilestoneService milestoneService;
 
+  private final ProjectService projectService;
+
   @PostMapping(
       consumes = MediaType.APPLICATION_JSON_VALUE,
       produces = MediaType.APPLICATION_JSON_VALUE)
@@ -43,11 +52,28 @@ public class MilestoneController {
   }
 
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-  @Operation(summary = "Get milestones", description = "Get list of all milestones of project")
+  @Operation(summary = "Get milestones", description = "Get list of all milestones of project; if afterId or limit is specified, then get page of milestones ordered by id and X-Next-Cursor header with afterId of the next page; ETag header is returned and If-None-Match header is supported")
   @ApiResponse(responseCode = "200", description = "Successful query")
+  @ApiResponse(responseCode = "304", description = "Milestones are not modified")
   public ResponseEntity<List<MilestoneDto>> getAllMilestones(
-      @PathVariable("projectId") @Min(1) final long projectId) {
-    return ResponseEntity.ok(milestoneService.getAllMilestones(projectId));
+      @PathVariable("projectId") @Min(1) final long projectId,
+      @RequestParam(value = "afterId", required = false) @Min(0) final Long afterId,
+      @RequestParam(value = "limit", required = false) @Min(1) @Max(MAX_PAGE_SIZE)
+      final Integer limit,
+      final ServletWebRequest webRequest) {
+    if (ConditionalGet.isNotModified(webRequest, projectService.getProjectETag(projectId))) {
+      return null;
+    }
+
+    if (!KeysetPagination.isPaginated(afterId, limit)) {
+      return ResponseEntity.ok(milestoneService.getAllMilestones(projectId));
+    }
+
+    final var pageSize = (limit != null) ? limit : DEFAULT_PAGE_SIZE;
+    final var page = milestoneService.getMilestonePage(projectId,
+        (afterId != null) ? afterId : 0L, pageSize);
+
+    return KeysetPagination.toResponseEntity(page, pageSize, MilestoneDto::id);
   }
 
   @PutMapping(
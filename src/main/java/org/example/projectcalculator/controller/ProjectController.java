@@ -1,15 +1,26 @@
 package org.example.projectcalculator.controller;
 
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.DEFAULT_PAGE_SIZE;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.DEFAULT_SIMULATION_ITERATIONS;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.DEFAULT_SIMULATION_SEED;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.MAX_PAGE_SIZE;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.MAX_SIMULATION_ITERATIONS;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.example.projectcalculator.dto.ProjectDto;
+import org.example.projectcalculator.dto.ProjectRiskDto;
+import org.example.projectcalculator.dto.ProjectSummaryDto;
 import org.example.projectcalculator.dto.request.CreateUpdateProjectDtoRequest;
 import org.example.projectcalculator.service.ProjectService;
+import org.example.projectcalculator.service.ProjectSummaryService;
+import org.example.projectcalculator.service.RiskSimulationService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -20,7 +31,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @RestController
 @RequestMapping("/projects")
@@ -30,6 +43,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class ProjectController {
 
   private final ProjectService projectService;
+  private final ProjectSummaryService projectSummaryService;
+  private final RiskSimulationService riskSimulationService;
 
   @PostMapping(
       consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -42,10 +57,59 @@ public class ProjectController {
   }
 
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-  @Operation(summary = "Get projects", description = "Get list of all projects")
+  @Operation(summary = "Get projects", description = "Get list of all projects; if afterId or limit is specified, then get page of projects ordered by id and X-Next-Cursor header with afterId of the next page; ETag header is returned and If-None-Match header is supported")
+  @ApiResponse(responseCode = "200", description = "Successful query")
+  @ApiResponse(responseCode = "304", description = "Projects are not modified")
+  public ResponseEntity<List<ProjectDto>> getAllProjects(
+      @RequestParam(value = "afterId", required = false) @Min(0) final Long afterId,
+      @RequestParam(value = "limit", required = false) @Min(1) @Max(MAX_PAGE_SIZE)
+      final Integer limit,
+      final ServletWebRequest webRequest) {
+    if (ConditionalGet.isNotModified(webRequest, projectService.getProjectsETag())) {
+      return null;
+    }
+
+    if (!KeysetPagination.isPaginated(afterId, limit)) {
+      return ResponseEntity.ok(projectService.getAllProjects());
+    }
+
+    final var pageSize = (limit != null) ? limit : DEFAULT_PAGE_SIZE;
+    final var page = projectService.getProjectPage((afterId != null) ? afterId : 0L, pageSize);
+
+    return KeysetPagination.toResponseEntity(page, pageSize, ProjectDto::id);
+  }
+
+  @GetMapping(path = "/{projectId}/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Get project summary", description = "Get total, per position, per milestone and unassigned features estimate and price of project; ETag header is returned and If-None-Match header is supported")
+  @ApiResponse(responseCode = "200", description = "Successful query")
+  @ApiResponse(responseCode = "304", description = "Project is not modified")
+  public ResponseEntity<ProjectSummaryDto> getProjectSummary(
+      @PathVariable("projectId") @Min(1) final long projectId,
+      final ServletWebRequest webRequest) {
+    if (ConditionalGet.isNotModified(webRequest, projectService.getProjectETag(projectId))) {
+      return null;
+    }
+
+    return ResponseEntity.ok(projectSummaryService.getProjectSummary(projectId));
+  }
+
+  @GetMapping(path = "/{projectId}/risk", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Simulate project risk", description = "Get P50, P80 and P95 of estimate and price of project, of it's milestones and of unassigned features with Monte Carlo simulation of three-point estimates of features; the result is the same for the same seed; ETag header is returned and If-None-Match header is supported")
   @ApiResponse(responseCode = "200", description = "Successful query")
-  public ResponseEntity<List<ProjectDto>> getAllProjects() {
-    return ResponseEntity.ok(projectService.getAllProjects());
+  @ApiResponse(responseCode = "304", description = "Project is not modified")
+  public ResponseEntity<ProjectRiskDto> simulateProjectRisk(
+      @PathVariable("projectId") @Min(1) final long projectId,
+      @RequestParam(value = "iterations", required = false) @Min(1)
+      @Max(MAX_SIMULATION_ITERATIONS) final Integer iterations,
+      @RequestParam(value = "seed", required = false) final Long seed,
+      final ServletWebRequest webRequest) {
+    if (ConditionalGet.isNotModified(webRequest, projectService.getProjectETag(projectId))) {
+      return null;
+    }
+
+    return ResponseEntity.ok(riskSimulationService.simulateProjectRisk(projectId,
+        (iterations != null) ? iterations : DEFAULT_SIMULATION_ITERATIONS,
+        (seed != null) ? seed : DEFAULT_SIMULATION_SEED));
   }
 
   @PutMapping(
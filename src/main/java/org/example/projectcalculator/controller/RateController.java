@@ -8,6 +8,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.example.projectcalculator.dto.RateDto;
+import org.example.projectcalculator.dto.request.UpdateRatesDtoRequest;
 import org.example.projectcalculator.dto.request.UpdateRateDtoRequest;
 import org.example.projectcalculator.service.RateService;
 import org.springframework.http.MediaType;
@@ -37,6 +38,17 @@ public class RateController {
     return ResponseEntity.ok(rateService.getAllRates(projectId));
   }
 
+  @PutMapping(
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Update rates", description = "Replace all rates of project at once")
+  @ApiResponse(responseCode = "200", description = "Successful update")
+  public ResponseEntity<List<RateDto>> updateRates(
+      @PathVariable("projectId") @Min(1) final long projectId,
+      @Valid @RequestBody final UpdateRatesDtoRequest request) {
+    return ResponseEntity.ok(rateService.updateRates(request, projectId));
+  }
+
   @PutMapping(
       consumes = MediaType.APPLICATION_JSON_VALUE,
       produces = MediaType.APPLICATION_JSON_VALUE,
@@ -0,0 +1,81 @@
+package org.example.projectcalculator.controller;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.example.projectcalculator.configuration.StatementCounter;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Records the number of SQL statements of every request (including authentication) in
+ * {@code project-calculator.sql.statements} metric with {@code method} and {@code uri} (URI
+ * template) tags, so N+1 queries show up as growth of the statements per request.
+ *
+ * <p>In debug mode it is also returned in {@value #STATEMENT_COUNT_HEADER} response header. The
+ * header must be set after the handler, so the whole response is buffered in this mode (including
+ * streamed ones).
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+  public static final String STATEMENT_COUNT_HEADER = "X-Sql-Statement-Count";
+
+  private final StatementCounter statementCounter;
+
+  private final MeterRegistry meterRegistry;
+
+  private final boolean responseHeaderEnabled;
+
+  public StatementCountFilter(final StatementCounter statementCounter,
+      final MeterRegistry meterRegistry, final boolean responseHeaderEnabled) {
+    this.statementCounter = statementCounter;
+    this.meterRegistry = meterRegistry;
+    this.responseHeaderEnabled = responseHeaderEnabled;
+  }
+
+  @Override
+  protected void doFilterInternal(final HttpServletRequest request,
+      final HttpServletResponse response, final FilterChain filterChain)
+      throws ServletException, IOException {
+    final var countBefore = statementCounter.getCount();
+
+    if (!responseHeaderEnabled) {
+      try {
+        filterChain.doFilter(request, response);
+      } finally {
+        record(request, statementCounter.getCount() - countBefore);
+      }
+
+      return;
+    }
+
+    final var responseWrapper = new ContentCachingResponseWrapper(response);
+
+    try {
+      filterChain.doFilter(request, responseWrapper);
+    } finally {
+      final var count = statementCounter.getCount() - countBefore;
+
+      record(request, count);
+
+      responseWrapper.setHeader(STATEMENT_COUNT_HEADER, Long.toString(count));
+      responseWrapper.copyBodyToResponse();
+    }
+  }
+
+  private void record(final HttpServletRequest request, final long count) {
+    final var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+    DistributionSummary.builder("project-calculator.sql.statements")
+        .baseUnit("statements")
+        .tag("method", request.getMethod())
+        .tag("uri", (uri != null) ? uri.toString() : "UNKNOWN")
+        .register(meterRegistry)
+        .record(count);
+  }
+}
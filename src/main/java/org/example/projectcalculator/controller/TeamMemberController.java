@@ -9,6 +9,7 @@ import javax.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import org.example.projectcalculator.dto.TeamMemberDto;
 import org.example.projectcalculator.dto.request.CreateUpdateTeamMemberDtoRequest;
+import org.example.projectcalculator.dto.request.UpdateTeamMembersDtoRequest;
 import org.example.projectcalculator.service.TeamMemberService;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -50,6 +51,17 @@ public class TeamMemberController {
     return ResponseEntity.ok(teamMemberService.getAllTeamMembers(projectId));
   }
 
+  @PutMapping(
+      consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Update team", description = "Replace all team members of project at once")
+  @ApiResponse(responseCode = "200", description = "Successful update")
+  public ResponseEntity<List<TeamMemberDto>> updateTeamMembers(
+      @PathVariable("projectId") @Min(1) final long projectId,
+      @Valid @RequestBody final UpdateTeamMembersDtoRequest request) {
+    return ResponseEntity.ok(teamMemberService.updateTeamMembers(request, projectId));
+  }
+
   @PutMapping(
       consumes = MediaType.APPLICATION_JSON_VALUE,
       produces = MediaType.APPLICATION_JSON_VALUE,
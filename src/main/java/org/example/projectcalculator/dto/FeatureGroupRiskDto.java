@@ -0,0 +1,9 @@
+package org.example.projectcalculator.dto;
+
+public record FeatureGroupRiskDto(
+    Long milestoneId,
+    String title,
+    PercentilesDto estimateInDays,
+    PercentilesDto priceInRubles) {
+
+}
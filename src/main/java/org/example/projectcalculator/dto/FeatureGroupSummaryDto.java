@@ -0,0 +1,12 @@
+package org.example.projectcalculator.dto;
+
+import java.math.BigDecimal;
+
+public record FeatureGroupSummaryDto(
+    Long milestoneId,
+    String title,
+    int numberOfFeatures,
+    BigDecimal estimateInDays,
+    BigDecimal priceInRubles) {
+
+}
@@ -0,0 +1,7 @@
+package org.example.projectcalculator.dto;
+
+import java.math.BigDecimal;
+
+public record PercentilesDto(BigDecimal p50, BigDecimal p80, BigDecimal p95) {
+
+}
@@ -0,0 +1,7 @@
+package org.example.projectcalculator.dto;
+
+import java.math.BigDecimal;
+
+public record PositionPriceDto(String position, BigDecimal priceInRubles) {
+
+}
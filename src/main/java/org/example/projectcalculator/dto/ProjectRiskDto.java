@@ -0,0 +1,14 @@
+package org.example.projectcalculator.dto;
+
+import java.util.List;
+
+public record ProjectRiskDto(
+    long projectId,
+    int iterations,
+    long seed,
+    PercentilesDto estimateInDays,
+    PercentilesDto priceInRubles,
+    List<FeatureGroupRiskDto> milestones,
+    FeatureGroupRiskDto unassignedFeatures) {
+
+}
@@ -0,0 +1,16 @@
+package org.example.projectcalculator.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProjectSummaryDto(
+    long projectId,
+    int numberOfFeatures,
+    int numberOfMilestones,
+    BigDecimal estimateInDays,
+    BigDecimal priceInRubles,
+    List<PositionPriceDto> positionPrices,
+    List<FeatureGroupSummaryDto> milestones,
+    FeatureGroupSummaryDto unassignedFeatures) {
+
+}
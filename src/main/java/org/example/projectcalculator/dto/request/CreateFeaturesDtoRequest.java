@@ -0,0 +1,15 @@
+package org.example.projectcalculator.dto.request;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import org.example.projectcalculator.configuration.ApplicationConfiguration;
+
+public record CreateFeaturesDtoRequest(
+    @NotEmpty
+    @Size(max = ApplicationConfiguration.MAX_FEATURES_IN_BATCH)
+    List<@Valid @NotNull CreateFeatureDtoRequest> features) {
+
+}
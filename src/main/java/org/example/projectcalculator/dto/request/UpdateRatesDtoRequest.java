@@ -0,0 +1,12 @@
+package org.example.projectcalculator.dto.request;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+public record UpdateRatesDtoRequest(
+    @NotEmpty
+    List<@Valid @NotNull PositionRateDtoRequest> rates) {
+
+}
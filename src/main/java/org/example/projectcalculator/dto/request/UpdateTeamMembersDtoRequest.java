@@ -0,0 +1,12 @@
+package org.example.projectcalculator.dto.request;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+public record UpdateTeamMembersDtoRequest(
+    // may be empty, then project has no team members
+    @NotNull
+    List<@Valid @NotNull CreateUpdateTeamMemberDtoRequest> teamMembers) {
+
+}
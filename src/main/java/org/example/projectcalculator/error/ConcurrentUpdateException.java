@@ -0,0 +1,14 @@
+package org.example.projectcalculator.error;
+
+/**
+ * Thrown if update is based on stale state of entity (it is updated concurrently) and retries
+ * didn't help, it is mapped to {@code 409 Conflict}.
+ */
+public class ConcurrentUpdateException extends ProjectCalculatorException {
+
+  public ConcurrentUpdateException(final Throwable cause) {
+    super(ProjectCalculatorError.CONCURRENT_UPDATE);
+
+    initCause(cause);
+  }
+}
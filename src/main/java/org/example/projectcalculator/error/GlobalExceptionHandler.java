@@ -7,6 +7,7 @@ import javax.validation.Path;
 import lombok.extern.slf4j.Slf4j;
 import org.example.projectcalculator.dto.error.ErrorDto;
 import org.example.projectcalculator.dto.error.ErrorDtoResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -90,6 +91,20 @@ public class GlobalExceptionHandler {
         .body(new ErrorDtoResponse(errorDtos));
   }
 
+  @ExceptionHandler({ConcurrentUpdateException.class, OptimisticLockingFailureException.class})
+  @ResponseStatus(HttpStatus.CONFLICT)
+  public ResponseEntity<ErrorDtoResponse> handleConcurrentUpdateException(final Exception e) {
+    log.info(e.getMessage());
+
+    final var error = ProjectCalculatorError.CONCURRENT_UPDATE;
+    final var errorDtos =
+        Collections.singletonList(new ErrorDto(error.name(), null, error.getMessage()));
+
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(new ErrorDtoResponse(errorDtos));
+  }
+
   // There may be added other exceptions for 4xx
   @ExceptionHandler(HttpMediaTypeException.class)
   @ResponseStatus(HttpStatus.BAD_REQUEST)
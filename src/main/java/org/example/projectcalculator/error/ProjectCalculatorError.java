@@ -16,8 +16,13 @@ public enum ProjectCalculatorError {
   TEAM_MEMBER_IS_NOT_FOUND_BY_ID("Team member with specified id is not found"),
   TEAM_MEMBER_ALREADY_EXISTS("Team member with this position already exists"),
   WRONG_POSITION("Such position does not exist"),
+  DUPLICATE_POSITION("Position is specified more than once"),
+  RATE_IS_MISSING_FOR_POSITION("Rate must be specified for every position"),
   MILESTONE_IS_NOT_FOUND_BY_ID("Milestone with specified id is not found"),
   FEATURE_IS_NOT_FOUND_BY_ID("Feature with specified id is not found"),
+  RISK_SIMULATION_IS_TOO_LARGE("Project has too many features or milestones for specified "
+      + "number of iterations, decrease iterations"),
+  CONCURRENT_UPDATE("Entity is concurrently updated by another request, fetch it and try again"),
   ;
 
   private final String message;
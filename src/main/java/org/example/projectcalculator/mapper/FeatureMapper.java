@@ -17,6 +17,7 @@ import org.mapstruct.MappingConstants.ComponentModel;
 public interface FeatureMapper {
 
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "version", ignore = true)
   @Mapping(source = "project", target = "project")
   @Mapping(source = "milestone", target = "milestone")
   @Mapping(source = "request.title", target = "title")
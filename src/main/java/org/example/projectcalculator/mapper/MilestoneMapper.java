@@ -15,6 +15,7 @@ import org.mapstruct.MappingConstants.ComponentModel;
 public interface MilestoneMapper {
 
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "version", ignore = true)
   @Mapping(source = "project", target = "project")
   @Mapping(source = "request.title", target = "title")
   @Mapping(source = "request.description", target = "description")
@@ -6,6 +6,7 @@ import org.example.projectcalculator.dto.ProjectDto;
 import org.example.projectcalculator.dto.request.CreateUpdateProjectDtoRequest;
 import org.example.projectcalculator.model.Project;
 import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.projection.ProjectWithPrice;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -15,6 +16,7 @@ import org.mapstruct.MappingConstants.ComponentModel;
 public interface ProjectMapper {
 
   @Mapping(target = "id", ignore = true)
+  @Mapping(target = "version", ignore = true)
   @Mapping(source = "creator", target = "creator")
   @Mapping(source = "estimateInDays", target = "estimateInDays")
   @Mapping(source = "createdAt", target = "createdAt")
@@ -32,5 +34,7 @@ public interface ProjectMapper {
   @Mapping(source = "project.creator.id", target = "creatorId")
   ProjectDto toProjectDto(Project project, BigDecimal priceInRubles);
 
+  ProjectDto toProjectDto(ProjectWithPrice projectWithPrice);
+
   CreateUpdateProjectDtoRequest toCreateProjectDtoRequest(Project project);
 }
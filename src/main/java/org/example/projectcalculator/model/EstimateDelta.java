@@ -0,0 +1,58 @@
+package org.example.projectcalculator.model;
+
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.ID_ALLOCATION_SIZE;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Change of {@code estimateInDays} of {@link Project} (and of {@link Milestone} if it is not
+ * {@code null}) that is not yet compacted into them. It is recorded on every change of
+ * {@link Feature}, even if it's estimate is not changed.
+ */
+@Entity
+@Table(name = "estimate_delta")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class EstimateDelta {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estimate_delta_id_sequence")
+  @SequenceGenerator(name = "estimate_delta_id_sequence", allocationSize = ID_ALLOCATION_SIZE)
+  @Column(name = "id", unique = true, nullable = false, updatable = false)
+  private long id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "project_id", nullable = false, updatable = false)
+  @ToString.Exclude
+  private Project project;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "milestone_id", updatable = false)
+  @ToString.Exclude
+  private Milestone milestone;
+
+  @Column(name = "estimate_in_days_delta", nullable = false, updatable = false)
+  private BigDecimal estimateInDaysDelta;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+}
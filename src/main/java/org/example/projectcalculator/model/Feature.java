@@ -2,6 +2,7 @@ package org.example.projectcalculator.model;
 
 import static org.example.projectcalculator.configuration.ApplicationConfiguration.ESTIMATE_FRACTIONAL_PART;
 import static org.example.projectcalculator.configuration.ApplicationConfiguration.ESTIMATE_ROUNDING_MODE;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.ID_ALLOCATION_SIZE;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -16,7 +17,8 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
-import lombok.AllArgsConstructor;
+import javax.persistence.Version;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -24,7 +26,6 @@ import lombok.ToString;
 
 @Entity
 @Table(name = "feature")
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
@@ -34,9 +35,12 @@ public class Feature {
   private static final MathContext mc =
       new MathContext(ESTIMATE_FRACTIONAL_PART, ESTIMATE_ROUNDING_MODE);
 
+  private static final BigDecimal FOUR = BigDecimal.valueOf(4);
+  private static final BigDecimal SIX = BigDecimal.valueOf(6);
+
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feature_id_sequence")
-  @SequenceGenerator(name = "feature_id_sequence", allocationSize = 1)
+  @SequenceGenerator(name = "feature_id_sequence", allocationSize = ID_ALLOCATION_SIZE)
   @Column(name = "id", unique = true, nullable = false, updatable = false)
   private long id;
 
@@ -65,21 +69,100 @@ public class Feature {
   @Column(name = "worst_case_estimate_in_days", nullable = false)
   private BigDecimal worstCaseEstimateInDays;
 
+  // it is computed from 3 estimates above on write, so it is never recomputed on read
+  @Column(name = "estimate_in_days", nullable = false)
+  @Setter(AccessLevel.NONE)
+  private BigDecimal estimateInDays;
+
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
   @Column(name = "last_updated_at", nullable = false)
   private LocalDateTime lastUpdatedAt;
 
-  public BigDecimal getEstimateInDays() {
+  // optimistic locking: update based on stale state fails with OptimisticLockingFailureException
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+
+  public Feature(final long id, final Project project, final Milestone milestone,
+      final String title, final String description, final BigDecimal bestCaseEstimateInDays,
+      final BigDecimal mostLikelyEstimateInDays, final BigDecimal worstCaseEstimateInDays,
+      final LocalDateTime createdAt, final LocalDateTime lastUpdatedAt) {
+    this.id = id;
+    this.project = project;
+    this.milestone = milestone;
+    this.title = title;
+    this.description = description;
+    this.createdAt = createdAt;
+    this.lastUpdatedAt = lastUpdatedAt;
+
+    setEstimatesInDays(bestCaseEstimateInDays, mostLikelyEstimateInDays, worstCaseEstimateInDays);
+  }
+
+  /**
+   * Sets all 3 estimates at once, so {@code estimateInDays} is recomputed only once (and only if
+   * any of them is changed).
+   */
+  public void setEstimatesInDays(final BigDecimal bestCaseEstimateInDays,
+      final BigDecimal mostLikelyEstimateInDays, final BigDecimal worstCaseEstimateInDays) {
+    if (estimateInDays != null
+        && isEqual(this.bestCaseEstimateInDays, bestCaseEstimateInDays)
+        && isEqual(this.mostLikelyEstimateInDays, mostLikelyEstimateInDays)
+        && isEqual(this.worstCaseEstimateInDays, worstCaseEstimateInDays)) {
+      return;
+    }
+
+    this.bestCaseEstimateInDays = bestCaseEstimateInDays;
+    this.mostLikelyEstimateInDays = mostLikelyEstimateInDays;
+    this.worstCaseEstimateInDays = worstCaseEstimateInDays;
+
+    updateEstimateInDays();
+  }
+
+  public void setBestCaseEstimateInDays(final BigDecimal bestCaseEstimateInDays) {
+    this.bestCaseEstimateInDays = bestCaseEstimateInDays;
+
+    updateEstimateInDays();
+  }
+
+  public void setMostLikelyEstimateInDays(final BigDecimal mostLikelyEstimateInDays) {
+    this.mostLikelyEstimateInDays = mostLikelyEstimateInDays;
+
+    updateEstimateInDays();
+  }
+
+  public void setWorstCaseEstimateInDays(final BigDecimal worstCaseEstimateInDays) {
+    this.worstCaseEstimateInDays = worstCaseEstimateInDays;
+
+    updateEstimateInDays();
+  }
+
+  // estimate is computed once all 3 estimates are set (e.g. one by one by FeatureMapper)
+  private void updateEstimateInDays() {
+    if (bestCaseEstimateInDays == null || mostLikelyEstimateInDays == null
+        || worstCaseEstimateInDays == null) {
+      estimateInDays = null;
+
+      return;
+    }
+
     // E = (a + 4m + b) / 6
 
-    var sum = BigDecimal.ZERO;
-    sum = sum.add(bestCaseEstimateInDays);
-    sum = sum.add(new BigDecimal(4).multiply(mostLikelyEstimateInDays));
-    sum = sum.add(worstCaseEstimateInDays);
+    final var estimate = bestCaseEstimateInDays
+        .add(FOUR.multiply(mostLikelyEstimateInDays))
+        .add(worstCaseEstimateInDays)
+        .divide(SIX, mc)
+        .stripTrailingZeros();
+
+    // without trailing zeros and with non-negative scale (e.g. 130, not 1.3E+2), the same as
+    // PostgreSQL stores it and as V21 has computed it for existing features, so the same estimate
+    // is always serialized in the same way
+    estimateInDays = (estimate.scale() < 0) ? estimate.setScale(0) : estimate;
+  }
 
-    return sum.divide(new BigDecimal(6), mc);
+  private static boolean isEqual(final BigDecimal a, final BigDecimal b) {
+    return (a == null) ? b == null : b != null && a.compareTo(b) == 0;
   }
 
   @Override
@@ -1,5 +1,7 @@
 package org.example.projectcalculator.model;
 
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.ID_ALLOCATION_SIZE;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import javax.persistence.Column;
@@ -12,15 +14,16 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
-import lombok.AllArgsConstructor;
+import javax.persistence.Version;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Formula;
 
 @Entity
 @Table(name = "milestone")
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
@@ -29,7 +32,7 @@ public class Milestone {
 
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "milestone_id_sequence")
-  @SequenceGenerator(name = "milestone_id_sequence", allocationSize = 1)
+  @SequenceGenerator(name = "milestone_id_sequence", allocationSize = ID_ALLOCATION_SIZE)
   @Column(name = "id", unique = true, nullable = false, updatable = false)
   private long id;
 
@@ -50,15 +53,56 @@ public class Milestone {
   @Column(name = "end_timestamp", nullable = false)
   private LocalDateTime endDateTime;
 
-  @Column(name = "estimate_in_days", nullable = false)
+  // compacted estimate, see getEstimateInDays(); only compaction of EstimateDeltas updates it,
+  // so stale value is never written back
+  @Column(name = "estimate_in_days", nullable = false, updatable = false)
   private BigDecimal estimateInDays;
 
+  // sum of EstimateDeltas of this Milestone that are not compacted into estimateInDays yet
+  @Formula("""
+      (SELECT COALESCE(SUM(estimate_delta.estimate_in_days_delta), 0)
+      FROM estimate_delta
+      WHERE estimate_delta.milestone_id = id)""")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private BigDecimal pendingEstimateInDaysDelta;
+
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
   @Column(name = "last_updated_at", nullable = false)
   private LocalDateTime lastUpdatedAt;
 
+  // optimistic locking: update based on stale state fails with OptimisticLockingFailureException
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+
+  public Milestone(final long id, final Project project, final String title,
+      final String description, final LocalDateTime startDateTime,
+      final LocalDateTime endDateTime, final BigDecimal estimateInDays,
+      final LocalDateTime createdAt, final LocalDateTime lastUpdatedAt) {
+    this.id = id;
+    this.project = project;
+    this.title = title;
+    this.description = description;
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+    this.estimateInDays = estimateInDays;
+    this.createdAt = createdAt;
+    this.lastUpdatedAt = lastUpdatedAt;
+  }
+
+  /**
+   * Same as {@link Project#getEstimateInDays()}, but for {@link Feature}s of this
+   * {@link Milestone}.
+   */
+  public BigDecimal getEstimateInDays() {
+    return (pendingEstimateInDaysDelta != null)
+        ? estimateInDays.add(pendingEstimateInDaysDelta) : estimateInDays;
+  }
+
+  @Override
   public boolean equals(final Object o) {
     if (this == o) {
       return true;
@@ -1,5 +1,7 @@
 package org.example.projectcalculator.model;
 
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.ID_ALLOCATION_SIZE;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,15 +16,16 @@ import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
-import lombok.AllArgsConstructor;
+import javax.persistence.Version;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Formula;
 
 @Entity
 @Table(name = "project")
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
@@ -31,7 +34,7 @@ public class Project {
 
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_id_sequence")
-  @SequenceGenerator(name = "project_id_sequence", allocationSize = 1)
+  @SequenceGenerator(name = "project_id_sequence", allocationSize = ID_ALLOCATION_SIZE)
   @Column(name = "id", unique = true, nullable = false, updatable = false)
   private long id;
 
@@ -49,9 +52,20 @@ public class Project {
   @ToString.Exclude
   private User creator;
 
-  @Column(name = "estimate_in_days", nullable = false)
+  // compacted estimate, see getEstimateInDays(); only compaction of EstimateDeltas updates it,
+  // so stale value is never written back
+  @Column(name = "estimate_in_days", nullable = false, updatable = false)
   private BigDecimal estimateInDays;
 
+  // sum of EstimateDeltas of this Project that are not compacted into estimateInDays yet
+  @Formula("""
+      (SELECT COALESCE(SUM(estimate_delta.estimate_in_days_delta), 0)
+      FROM estimate_delta
+      WHERE estimate_delta.project_id = id)""")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private BigDecimal pendingEstimateInDaysDelta;
+
   @OneToMany(mappedBy = "project")
   @ToString.Exclude
   private List<Rate> rates;
@@ -66,6 +80,38 @@ public class Project {
   @Column(name = "last_updated_at", nullable = false)
   private LocalDateTime lastUpdatedAt;
 
+  // optimistic locking: update based on stale state fails with OptimisticLockingFailureException
+  @Version
+  @Column(name = "version", nullable = false)
+  private long version;
+
+  public Project(final long id, final String title, final String description,
+      final String client, final User creator, final BigDecimal estimateInDays,
+      final List<Rate> rates, final List<TeamMember> teamMembers, final LocalDateTime createdAt,
+      final LocalDateTime lastUpdatedAt) {
+    this.id = id;
+    this.title = title;
+    this.description = description;
+    this.client = client;
+    this.creator = creator;
+    this.estimateInDays = estimateInDays;
+    this.rates = rates;
+    this.teamMembers = teamMembers;
+    this.createdAt = createdAt;
+    this.lastUpdatedAt = lastUpdatedAt;
+  }
+
+  /**
+   * Returns compacted {@code estimateInDays} plus {@link EstimateDelta}s of this {@link Project}
+   * that were not compacted yet at the moment it was loaded, so it is the sum of estimates of all
+   * it's {@link Feature}s. It must not be used to compute the value for
+   * {@link #setEstimateInDays(BigDecimal)}, estimate is changed only with {@link EstimateDelta}s.
+   */
+  public BigDecimal getEstimateInDays() {
+    return (pendingEstimateInDaysDelta != null)
+        ? estimateInDays.add(pendingEstimateInDaysDelta) : estimateInDays;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
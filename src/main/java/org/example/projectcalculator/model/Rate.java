@@ -1,5 +1,7 @@
 package org.example.projectcalculator.model;
 
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.ID_ALLOCATION_SIZE;
+
 import java.math.BigDecimal;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -30,7 +32,7 @@ public class Rate {
 
   @Id
   @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rate_id_sequence")
-  @SequenceGenerator(name = "rate_id_sequence", allocationSize = 1)
+  @SequenceGenerator(name = "rate_id_sequence", allocationSize = ID_ALLOCATION_SIZE)
   @Column(name = "id", unique = true, nullable = false, updatable = false)
   private long id;
 
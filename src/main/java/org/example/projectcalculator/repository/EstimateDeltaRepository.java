@@ -0,0 +1,112 @@
+package org.example.projectcalculator.repository;
+
+import java.util.List;
+import org.example.projectcalculator.model.EstimateDelta;
+import org.example.projectcalculator.repository.projection.EstimateDrift;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EstimateDeltaRepository extends CrudRepository<EstimateDelta, Long> {
+
+  // it is a single statement, so exactly the deleted deltas are added to project and milestone;
+  // deltas that are locked by another compaction are skipped; version of project is not
+  // incremented (estimate with not compacted deltas is the same, and concurrent writes of project
+  // must not fail optimistic locking), but estimate_compaction_count is, because number of its
+  // not compacted deltas (a part of it's ETag) decreases
+  @Query(value = """
+      WITH compacted AS (
+        DELETE FROM estimate_delta
+        WHERE id IN (
+          SELECT id
+          FROM estimate_delta
+          ORDER BY id
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED
+        )
+        RETURNING project_id, milestone_id, estimate_in_days_delta, created_at
+      ), compacted_project AS (
+        UPDATE project
+        SET
+          estimate_in_days = project.estimate_in_days + delta.estimate_in_days_delta,
+          last_updated_at = GREATEST(project.last_updated_at, delta.created_at),
+          estimate_compaction_count = project.estimate_compaction_count + 1
+        FROM (
+          SELECT
+            project_id,
+            SUM(estimate_in_days_delta) AS estimate_in_days_delta,
+            MAX(created_at) AS created_at
+          FROM compacted
+          GROUP BY project_id
+        ) delta
+        WHERE project.id = delta.project_id
+      ), compacted_milestone AS (
+        UPDATE milestone
+        SET
+          estimate_in_days = milestone.estimate_in_days + delta.estimate_in_days_delta,
+          last_updated_at = GREATEST(milestone.last_updated_at, delta.created_at)
+        FROM (
+          SELECT
+            milestone_id,
+            SUM(estimate_in_days_delta) AS estimate_in_days_delta,
+            MAX(created_at) AS created_at
+          FROM compacted
+          WHERE milestone_id IS NOT NULL
+          GROUP BY milestone_id
+        ) delta
+        WHERE milestone.id = delta.milestone_id
+      )
+      SELECT COUNT(*)
+      FROM compacted
+      """, nativeQuery = true)
+  int compact(@Param("limit") int limit);
+
+  // maintained estimate is compacted estimate plus not yet compacted deltas
+  @Query(value = """
+      SELECT
+        project.id AS "projectId",
+        CAST(NULL AS BIGINT) AS "milestoneId",
+        project.estimate_in_days + COALESCE(pending.estimate_in_days_delta, 0)
+          AS "maintainedEstimateInDays",
+        COALESCE(actual.estimate_in_days, 0) AS "actualEstimateInDays"
+      FROM project
+      CROSS JOIN LATERAL (
+        SELECT SUM(estimate_delta.estimate_in_days_delta) AS estimate_in_days_delta
+        FROM estimate_delta
+        WHERE estimate_delta.project_id = project.id
+      ) pending
+      CROSS JOIN LATERAL (
+        SELECT SUM(feature.estimate_in_days) AS estimate_in_days
+        FROM feature
+        WHERE feature.project_id = project.id
+      ) actual
+      WHERE project.estimate_in_days + COALESCE(pending.estimate_in_days_delta, 0)
+        <> COALESCE(actual.estimate_in_days, 0)
+      UNION ALL
+      SELECT
+        milestone.project_id,
+        milestone.id,
+        milestone.estimate_in_days + COALESCE(pending.estimate_in_days_delta, 0),
+        COALESCE(actual.estimate_in_days, 0)
+      FROM milestone
+      CROSS JOIN LATERAL (
+        SELECT SUM(estimate_delta.estimate_in_days_delta) AS estimate_in_days_delta
+        FROM estimate_delta
+        WHERE estimate_delta.milestone_id = milestone.id
+      ) pending
+      CROSS JOIN LATERAL (
+        SELECT SUM(feature.estimate_in_days) AS estimate_in_days
+        FROM feature
+        WHERE feature.project_id = milestone.project_id AND feature.milestone_id = milestone.id
+      ) actual
+      WHERE milestone.estimate_in_days + COALESCE(pending.estimate_in_days_delta, 0)
+        <> COALESCE(actual.estimate_in_days, 0)
+      """, nativeQuery = true)
+  List<EstimateDrift> findAllDrifts();
+
+  // lock is released at the end of transaction
+  @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+  boolean tryAdvisoryTransactionLock(@Param("key") long key);
+}
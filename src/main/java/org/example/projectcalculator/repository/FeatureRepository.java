@@ -1,9 +1,21 @@
 package org.example.projectcalculator.repository;
 
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.STREAM_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.repository.projection.FeatureEstimate;
+import org.example.projectcalculator.repository.projection.FeatureThreePointEstimate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,4 +26,42 @@ public interface FeatureRepository extends CrudRepository<Feature, Long> {
   List<Feature> findAllByProjectIdAndMilestoneId(long projectId, long milestoneId);
 
   List<Feature> findAllByProjectId(long projectId);
+
+  List<Feature> findAllByProjectIdAndIdGreaterThanOrderById(long projectId, long id,
+      Pageable pageable);
+
+  List<Feature> findAllByProjectIdAndMilestoneIdAndIdGreaterThanOrderById(long projectId,
+      long milestoneId, long id, Pageable pageable);
+
+  @Query(value = """
+      SELECT
+        feature.milestone_id AS "milestoneId",
+        feature.estimate_in_days AS "estimateInDays"
+      FROM feature
+      WHERE feature.project_id = :projectId
+      """, nativeQuery = true)
+  List<FeatureEstimate> findAllEstimatesByProjectId(@Param("projectId") long projectId);
+
+  @Query(value = """
+      SELECT
+        feature.milestone_id AS "milestoneId",
+        feature.best_case_estimate_in_days AS "bestCaseEstimateInDays",
+        feature.most_likely_estimate_in_days AS "mostLikelyEstimateInDays",
+        feature.worst_case_estimate_in_days AS "worstCaseEstimateInDays"
+      FROM feature
+      WHERE feature.project_id = :projectId
+      """, nativeQuery = true)
+  List<FeatureThreePointEstimate> findAllThreePointEstimatesByProjectId(
+      @Param("projectId") long projectId);
+
+  // must be called in a transaction (PostgreSQL JDBC driver uses cursor only if autocommit is off)
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HINT_READONLY, value = "true")})
+  Stream<Feature> streamAllByProjectIdOrderById(long projectId);
+
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HINT_READONLY, value = "true")})
+  Stream<Feature> streamAllByProjectIdAndMilestoneIdOrderById(long projectId, long milestoneId);
 }
@@ -1,8 +1,10 @@
 package org.example.projectcalculator.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.example.projectcalculator.model.Milestone;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +14,9 @@ public interface MilestoneRepository extends CrudRepository<Milestone, Long> {
   Optional<Milestone> findByIdAndProjectId(long id, long projectId);
 
   List<Milestone> findAllByProjectId(long projectId);
+
+  List<Milestone> findAllByProjectIdAndIdIn(long projectId, Collection<Long> ids);
+
+  List<Milestone> findAllByProjectIdAndIdGreaterThanOrderById(long projectId, long id,
+      Pageable pageable);
 }
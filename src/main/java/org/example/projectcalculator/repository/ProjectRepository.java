@@ -1,7 +1,9 @@
 package org.example.projectcalculator.repository;
 
 import java.util.List;
+import java.util.Optional;
 import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.repository.projection.ProjectWithPrice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +12,10 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ProjectRepository extends CrudRepository<Project, Long> {
 
+  Optional<Project> findByIdAndCreatorId(long id, long creatorId);
+
+  boolean existsByIdAndCreatorId(long id, long creatorId);
+
   @Query("""
       SELECT DISTINCT project
       FROM Project project
@@ -25,4 +31,80 @@ public interface ProjectRepository extends CrudRepository<Project, Long> {
       WHERE project.creator.id = :creatorId
       """)
   List<Project> findAllWithTeamMembers(@Param("creatorId") long creatorId);
+
+  // price is computed in the same way as in PriceService (including scale of the result):
+  // estimateInDays * sum(rubles_per_hour * number_of_team_members) * 8 hours in day;
+  // estimateInDays includes not yet compacted deltas in the same way as Project does
+  String SELECT_PROJECTS_WITH_PRICE = """
+      SELECT
+        project.id AS "id",
+        project.title AS "title",
+        project.description AS "description",
+        project.client AS "client",
+        project.creator_id AS "creatorId",
+        estimate.estimate_in_days AS "estimateInDays",
+        estimate.estimate_in_days * team_price.rubles_per_hour * 8 AS "priceInRubles",
+        project.created_at AS "createdAt",
+        project.last_updated_at AS "lastUpdatedAt"
+      FROM project
+      CROSS JOIN LATERAL (
+        SELECT project.estimate_in_days + COALESCE(SUM(estimate_delta.estimate_in_days_delta), 0)
+          AS estimate_in_days
+        FROM estimate_delta
+        WHERE estimate_delta.project_id = project.id
+      ) estimate
+      CROSS JOIN LATERAL (
+        SELECT
+          COALESCE(
+            SUM(project_rate.rubles_per_hour
+              * COALESCE(team_member.number_of_team_members, 0)),
+            0) AS rubles_per_hour
+        FROM project_rate
+        LEFT JOIN team_member
+          ON team_member.project_id = project_rate.project_id
+          AND team_member.team_member_position = project_rate.team_member_position
+        WHERE project_rate.project_id = project.id
+      ) team_price
+      """;
+
+  @Query(value = SELECT_PROJECTS_WITH_PRICE + """
+      WHERE project.creator_id = :creatorId
+      ORDER BY project.id
+      """, nativeQuery = true)
+  List<ProjectWithPrice> findAllWithPrice(@Param("creatorId") long creatorId);
+
+  @Query(value = SELECT_PROJECTS_WITH_PRICE + """
+      WHERE project.creator_id = :creatorId AND project.id > :afterId
+      ORDER BY project.id
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<ProjectWithPrice> findAllWithPrice(@Param("creatorId") long creatorId,
+      @Param("afterId") long afterId, @Param("limit") int limit);
+
+  // state of project changes on every write of it or of it's milestones, rates and team members
+  // (each increments version) and of it's features (each records estimate delta, the number of
+  // not compacted deltas only grows until compaction, which increments estimate_compaction_count)
+  String PROJECT_STATE = """
+      project.version || '-' || project.estimate_compaction_count || '-' || (
+        SELECT COUNT(*)
+        FROM estimate_delta
+        WHERE estimate_delta.project_id = project.id
+      )
+      """;
+
+  @Query(value = "SELECT " + PROJECT_STATE + """
+      FROM project
+      WHERE project.id = :id AND project.creator_id = :creatorId
+      """, nativeQuery = true)
+  Optional<String> findStateByIdAndCreatorId(@Param("id") long id,
+      @Param("creatorId") long creatorId);
+
+  @Query(value = """
+      SELECT md5(COALESCE(string_agg(project.id || ':' ||
+      """ + PROJECT_STATE + """
+        , ',' ORDER BY project.id), ''))
+      FROM project
+      WHERE project.creator_id = :creatorId
+      """, nativeQuery = true)
+  String findStateOfAllByCreatorId(@Param("creatorId") long creatorId);
 }
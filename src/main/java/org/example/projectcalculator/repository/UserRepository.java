@@ -4,9 +4,14 @@ import java.util.Optional;
 import org.example.projectcalculator.model.User;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, Long> {
 
+  // not read-only (unlike other query methods), so that outside of a read-only transaction it
+  // reads from the primary: it is used for authentication, where stale password hash of a replica
+  // would let the old password in
+  @Transactional
   Optional<User> findByLogin(String login);
 }
@@ -0,0 +1,24 @@
+package org.example.projectcalculator.repository.projection;
+
+import java.math.BigDecimal;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Milestone;
+import org.example.projectcalculator.model.Project;
+
+/**
+ * Read-only row of {@link Project} (if {@code milestoneId} is {@code null}) or {@link Milestone}
+ * whose maintained {@code estimateInDays} differs from the sum of estimates of it's
+ * {@link Feature}s.
+ */
+public interface EstimateDrift {
+
+  long getProjectId();
+
+  Long getMilestoneId();
+
+  // compacted estimate plus not yet compacted deltas
+  BigDecimal getMaintainedEstimateInDays();
+
+  // sum of estimates of Features
+  BigDecimal getActualEstimateInDays();
+}
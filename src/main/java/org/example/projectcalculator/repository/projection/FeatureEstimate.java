@@ -0,0 +1,15 @@
+package org.example.projectcalculator.repository.projection;
+
+import java.math.BigDecimal;
+import org.example.projectcalculator.model.Feature;
+
+/**
+ * Flat read-only row of {@link Feature} with only the columns that are needed to sum it's
+ * estimate by milestone.
+ */
+public interface FeatureEstimate {
+
+  Long getMilestoneId();
+
+  BigDecimal getEstimateInDays();
+}
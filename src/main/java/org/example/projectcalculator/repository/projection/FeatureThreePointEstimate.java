@@ -0,0 +1,19 @@
+package org.example.projectcalculator.repository.projection;
+
+import java.math.BigDecimal;
+import org.example.projectcalculator.model.Feature;
+
+/**
+ * Flat read-only row of {@link Feature} with only the columns that are needed to simulate it's
+ * estimate.
+ */
+public interface FeatureThreePointEstimate {
+
+  Long getMilestoneId();
+
+  BigDecimal getBestCaseEstimateInDays();
+
+  BigDecimal getMostLikelyEstimateInDays();
+
+  BigDecimal getWorstCaseEstimateInDays();
+}
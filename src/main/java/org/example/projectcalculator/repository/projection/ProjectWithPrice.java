@@ -0,0 +1,29 @@
+package org.example.projectcalculator.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.example.projectcalculator.model.Project;
+
+/**
+ * Flat read-only row of {@link Project} with it's price in RUB that is computed by database.
+ */
+public interface ProjectWithPrice {
+
+  long getId();
+
+  String getTitle();
+
+  String getDescription();
+
+  String getClient();
+
+  long getCreatorId();
+
+  BigDecimal getEstimateInDays();
+
+  BigDecimal getPriceInRubles();
+
+  LocalDateTime getCreatedAt();
+
+  LocalDateTime getLastUpdatedAt();
+}
@@ -0,0 +1,35 @@
+package org.example.projectcalculator.security;
+
+import java.util.Collection;
+import java.util.Collections;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * {@link UserDetails} of authenticated {@link org.example.projectcalculator.model.User} that also
+ * carries it's {@code id}, so services can get it without querying database.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+  /**
+   * Authority that is required for actuator endpoints except health, it is granted to logins from
+   * {@code project-calculator.actuator.logins}.
+   */
+  public static final String ACTUATOR_AUTHORITY = "ACTUATOR";
+
+  private final long id;
+
+  public AuthenticatedUser(final long id, final String login, final String passwordHash) {
+    this(id, login, passwordHash, Collections.emptyList());
+  }
+
+  public AuthenticatedUser(final long id, final String login, final String passwordHash,
+      final Collection<? extends GrantedAuthority> authorities) {
+    super(login, passwordHash, authorities);
+
+    this.id = id;
+  }
+}
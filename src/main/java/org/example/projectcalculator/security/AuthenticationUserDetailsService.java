@@ -1,28 +1,42 @@
 package org.example.projectcalculator.security;
 
-import static org.springframework.security.core.userdetails.User.withUsername;
-
 import java.util.Collections;
-import lombok.AllArgsConstructor;
+import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.example.projectcalculator.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
- * A {@link UserDetailsService} that provides {@link UserDetails} to
+ * A {@link UserDetailsService} that provides {@link UserDetails} (as {@link AuthenticatedUser}) to
  * {@link DaoAuthenticationProvider}.
+ *
+ * <p>Users with logins from {@code project-calculator.actuator.logins} are granted
+ * {@link AuthenticatedUser#ACTUATOR_AUTHORITY}.
  */
 @Service
-@AllArgsConstructor
 @Slf4j
 public class AuthenticationUserDetailsService implements UserDetailsService {
 
+  private static final List<SimpleGrantedAuthority> ACTUATOR_AUTHORITIES =
+      List.of(new SimpleGrantedAuthority(AuthenticatedUser.ACTUATOR_AUTHORITY));
+
   private final UserRepository userRepository;
 
+  private final Set<String> actuatorLogins;
+
+  public AuthenticationUserDetailsService(final UserRepository userRepository,
+      @Value("${project-calculator.actuator.logins:}") final Set<String> actuatorLogins) {
+    this.userRepository = userRepository;
+    this.actuatorLogins = actuatorLogins;
+  }
+
   @Override
   public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
     log.info("trying to authenticate User with username == \"{}\"", username);
@@ -35,9 +49,10 @@ public class AuthenticationUserDetailsService implements UserDetailsService {
                     new UsernameNotFoundException(
                         "User with username == \"" + username + "\" is not found"));
 
-    return withUsername(user.getLogin())
-        .password(user.getPasswordHash())
-        .authorities(Collections.emptyList())
-        .build();
+    final List<SimpleGrantedAuthority> authorities =
+        actuatorLogins.contains(user.getLogin()) ? ACTUATOR_AUTHORITIES : Collections.emptyList();
+
+    return new AuthenticatedUser(user.getId(), user.getLogin(), user.getPasswordHash(),
+        authorities);
   }
 }
@@ -0,0 +1,60 @@
+package org.example.projectcalculator.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A {@link DaoAuthenticationProvider} that remembers successfully verified credentials in
+ * {@link CredentialCache}, so repeated HTTP Basic requests with the same credentials skip both
+ * {@link UserDetailsService} and (expensive by design) {@link PasswordEncoder}.
+ *
+ * <p>On cache miss or mismatch it falls back to the full verification.
+ */
+@Slf4j
+public class CachingDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+  private final CredentialCache credentialCache;
+
+  public CachingDaoAuthenticationProvider(final UserDetailsService userDetailsService,
+      final PasswordEncoder passwordEncoder, final CredentialCache credentialCache) {
+    setUserDetailsService(userDetailsService);
+    setPasswordEncoder(passwordEncoder);
+
+    this.credentialCache = credentialCache;
+  }
+
+  @Override
+  public Authentication authenticate(final Authentication authentication)
+      throws AuthenticationException {
+    final var login = authentication.getName();
+    final var credentials = authentication.getCredentials();
+
+    if (credentials == null) {
+      return super.authenticate(authentication);
+    }
+
+    final var password = credentials.toString();
+    final var cachedUser = credentialCache.get(login, password);
+
+    if (cachedUser != null) {
+      log.debug("Credentials of login = {} are found in CredentialCache", login);
+
+      return createSuccessAuthentication(cachedUser, authentication, cachedUser);
+    }
+
+    // read before the stored password hash is loaded, see CredentialCache
+    final var generation = credentialCache.getGeneration(login);
+    final var result = super.authenticate(authentication);
+
+    if (result.getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+      credentialCache.put(login, password, authenticatedUser.getId(),
+          authenticatedUser.getAuthorities(), generation);
+    }
+
+    return result;
+  }
+}
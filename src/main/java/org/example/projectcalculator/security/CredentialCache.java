@@ -0,0 +1,178 @@
+package org.example.projectcalculator.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A short-lived cache of successfully verified credentials by {@code login} that is used by
+ * {@link CachingDaoAuthenticationProvider} to skip password hashing on repeated requests.
+ *
+ * <p>Raw passwords are never stored: only their HMAC-SHA256 digests with a random key that is
+ * generated on startup and never leaves the process. Every operation that changes password of
+ * {@link org.example.projectcalculator.model.User} must call {@link #invalidate(String)}.
+ *
+ * <p>Credentials may be verified against the old password concurrently with invalidation, so
+ * every {@code login} has a generation that is bumped by {@link #invalidate(String)}. Credentials
+ * are cached only if the generation that was read before verification has not changed.
+ */
+@Component
+@Slf4j
+public class CredentialCache {
+
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  // logins share generations by hash, collision only makes put() skip caching
+  private static final int GENERATION_STRIPES = 1024;
+
+  private final Cache<String, VerifiedCredential> cache;
+
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+  private final SecretKeySpec key;
+
+  public CredentialCache(
+      @Value("${project-calculator.credential-cache.time-to-live:5m}") final Duration timeToLive,
+      @Value("${project-calculator.credential-cache.maximum-size:10000}") final long maximumSize,
+      final MeterRegistry meterRegistry) {
+    cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(timeToLive)
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+
+    final var keyBytes = new byte[32];
+    new SecureRandom().nextBytes(keyBytes);
+    key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+
+    GuavaCacheMetrics.monitor(meterRegistry, cache, "credential");
+  }
+
+  /**
+   * Returns cached {@link AuthenticatedUser} if {@code password} matches the one that was
+   * verified for {@code login} before.
+   *
+   * @param login    must be not {@code null}
+   * @param password must be not {@code null}
+   * @return {@link AuthenticatedUser} or {@code null} if credentials are not cached or don't match
+   */
+  public AuthenticatedUser get(final String login, final String password) {
+    final var verifiedCredential = cache.getIfPresent(login);
+
+    if (verifiedCredential == null
+        || !MessageDigest.isEqual(verifiedCredential.digest(), digest(login, password))) {
+      return null;
+    }
+
+    return new AuthenticatedUser(verifiedCredential.userId(), login, "",
+        verifiedCredential.authorities());
+  }
+
+  /**
+   * Returns current generation of {@code login} that must be read before credentials are verified
+   * and passed to {@link #put(String, String, long, Collection, long)}.
+   *
+   * @param login must be not {@code null}
+   * @return generation
+   */
+  public long getGeneration(final String login) {
+    return generations.get(stripeOf(login));
+  }
+
+  /**
+   * Caches credentials that were successfully verified, unless {@code login} was invalidated
+   * since {@code generation} was read.
+   *
+   * @param login       must be not {@code null}
+   * @param password    must be not {@code null}
+   * @param userId      must be {@code > 0}
+   * @param authorities must be not {@code null}; authorities that were granted on verification
+   * @param generation  result of {@link #getGeneration(String)} before verification
+   */
+  public void put(final String login, final String password, final long userId,
+      final Collection<? extends GrantedAuthority> authorities, final long generation) {
+    if (getGeneration(login) != generation) {
+      log.debug("Credentials of login = {} were invalidated during verification", login);
+
+      return;
+    }
+
+    final var verifiedCredential = new VerifiedCredential(digest(login, password), userId,
+        List.copyOf(authorities));
+
+    cache.put(login, verifiedCredential);
+
+    // invalidate() bumps generation before eviction, so if it has run concurrently with put(),
+    // then either its eviction or this removal happens after put()
+    if (getGeneration(login) != generation) {
+      cache.asMap().remove(login, verifiedCredential);
+    }
+  }
+
+  /**
+   * Removes credentials of {@code login} from the cache. If there is an active transaction, then
+   * they are removed once again after commit, because concurrent requests may have cached the old
+   * password before commit.
+   *
+   * @param login must be not {@code null}
+   */
+  public void invalidate(final String login) {
+    evict(login);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict(login);
+        }
+      });
+    }
+  }
+
+  private void evict(final String login) {
+    generations.incrementAndGet(stripeOf(login));
+    cache.invalidate(login);
+
+    log.debug("Invalidate credentials by login = {}", login);
+  }
+
+  private static int stripeOf(final String login) {
+    return Math.floorMod(login.hashCode(), GENERATION_STRIPES);
+  }
+
+  private byte[] digest(final String login, final String password) {
+    try {
+      // Mac isn't thread-safe, so it is created for every digest
+      final var mac = Mac.getInstance(HMAC_ALGORITHM);
+      mac.init(key);
+      mac.update(login.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+
+      return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException(HMAC_ALGORITHM + " must be supported", e);
+    }
+  }
+
+  private record VerifiedCredential(byte[] digest, long userId,
+      List<GrantedAuthority> authorities) {
+
+  }
+}
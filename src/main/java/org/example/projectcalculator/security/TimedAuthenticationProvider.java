@@ -0,0 +1,48 @@
+package org.example.projectcalculator.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * An {@link AuthenticationProvider} that times authentication by another
+ * {@link AuthenticationProvider} in {@code project-calculator.authentication} metric with
+ * {@code result} tag ({@code success}, {@code failure} or {@code skipped} if the provider doesn't
+ * authenticate the request).
+ */
+public class TimedAuthenticationProvider implements AuthenticationProvider {
+
+  private final AuthenticationProvider authenticationProvider;
+
+  private final MeterRegistry meterRegistry;
+
+  public TimedAuthenticationProvider(final AuthenticationProvider authenticationProvider,
+      final MeterRegistry meterRegistry) {
+    this.authenticationProvider = authenticationProvider;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Authentication authenticate(final Authentication authentication)
+      throws AuthenticationException {
+    final var sample = Timer.start(meterRegistry);
+    var result = "failure";
+
+    try {
+      final var authenticated = authenticationProvider.authenticate(authentication);
+
+      result = (authenticated != null) ? "success" : "skipped";
+
+      return authenticated;
+    } finally {
+      sample.stop(meterRegistry.timer("project-calculator.authentication", "result", result));
+    }
+  }
+
+  @Override
+  public boolean supports(final Class<?> authentication) {
+    return authenticationProvider.supports(authentication);
+  }
+}
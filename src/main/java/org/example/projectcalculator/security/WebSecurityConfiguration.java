@@ -2,6 +2,7 @@ package org.example.projectcalculator.security;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Arrays;
 import java.util.Collections;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,9 +10,12 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -29,14 +33,20 @@ public class WebSecurityConfiguration {
     http = http.authorizeHttpRequests(
             authorize ->
                 authorize
-                    // Swagger and actuator aren't under authentication or authorization
+                    // Swagger isn't under authentication or authorization
                     .mvcMatchers(
                         "/v3/api-docs/**",
                         "/swagger-ui.html",
-                        "/swagger-ui/**",
+                        "/swagger-ui/**")
+                    .permitAll()
 
-                        "/actuator/**")
+                    // Health checks aren't under authentication or authorization, but other
+                    // actuator endpoints (e.g. metrics) are available only to logins from
+                    // project-calculator.actuator.logins (anyone can create a User)
+                    .mvcMatchers("/actuator/health", "/actuator/health/**")
                     .permitAll()
+                    .mvcMatchers("/actuator/**")
+                    .hasAuthority(AuthenticatedUser.ACTUATOR_AUTHORITY)
 
                     // User creation isn't under authentication or authorization
                     .mvcMatchers(HttpMethod.POST, "/users")
@@ -65,6 +75,30 @@ public class WebSecurityConfiguration {
     return PasswordEncoderFactories.createDelegatingPasswordEncoder();
   }
 
+  // Duration of authentication is recorded by TimedAuthenticationProvider. Opt-in: repeated
+  // requests with the same credentials skip password hashing for
+  // project-calculator.credential-cache.time-to-live
+  @Bean
+  public AuthenticationProvider authenticationProvider(
+      final UserDetailsService userDetailsService, final PasswordEncoder passwordEncoder,
+      final CredentialCache credentialCache,
+      @Value("${project-calculator.credential-cache.enabled:false}")
+      final boolean credentialCacheEnabled,
+      final MeterRegistry meterRegistry) {
+    final DaoAuthenticationProvider daoAuthenticationProvider;
+
+    if (credentialCacheEnabled) {
+      daoAuthenticationProvider = new CachingDaoAuthenticationProvider(userDetailsService,
+          passwordEncoder, credentialCache);
+    } else {
+      daoAuthenticationProvider = new DaoAuthenticationProvider();
+      daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+      daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+    }
+
+    return new TimedAuthenticationProvider(daoAuthenticationProvider, meterRegistry);
+  }
+
   @Bean
   @ConditionalOnProperty(name = "CORS_ORIGINS")
   public CorsConfigurationSource corsConfigurationSource(
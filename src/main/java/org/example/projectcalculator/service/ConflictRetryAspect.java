@@ -0,0 +1,69 @@
+package org.example.projectcalculator.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.projectcalculator.error.ConcurrentUpdateException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Retries methods annotated with {@link RetryOnConflict} that fail with
+ * {@link OptimisticLockingFailureException} (it is thrown on flush or commit if the entity was
+ * updated concurrently) at most {@code max-attempts} times with random backoff, then throws
+ * {@link ConcurrentUpdateException}.
+ *
+ * <p>It has the highest precedence, so it wraps the transaction of the method and every attempt
+ * reads fresh state in a new transaction. If the method joins an outer transaction, then it is not
+ * retried, because the outer transaction is already rolled back.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ConflictRetryAspect {
+
+  private final int maxAttempts;
+
+  private final long backoffInMillis;
+
+  public ConflictRetryAspect(
+      @Value("${project-calculator.conflict-retry.max-attempts:5}") final int maxAttempts,
+      @Value("${project-calculator.conflict-retry.backoff:20ms}") final Duration backoff) {
+    this.maxAttempts = maxAttempts;
+    this.backoffInMillis = backoff.toMillis();
+  }
+
+  @Around("@annotation(org.example.projectcalculator.service.RetryOnConflict)")
+  public Object retryOnConflict(final ProceedingJoinPoint joinPoint) throws Throwable {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+
+    for (var attempt = 1; ; ++attempt) {
+      try {
+        return joinPoint.proceed();
+      } catch (final OptimisticLockingFailureException e) {
+        if (attempt >= maxAttempts) {
+          log.warn("{} failed on concurrent update {} times", joinPoint.getSignature(), attempt);
+
+          throw new ConcurrentUpdateException(e);
+        }
+
+        log.info("Retry {} after concurrent update, attempt {}: {}", joinPoint.getSignature(),
+            attempt, e.getMessage());
+
+        // random backoff (growing with attempt), so that conflicting requests don't retry in
+        // lockstep
+        Thread.sleep(ThreadLocalRandom.current().nextLong(backoffInMillis * attempt + 1));
+      }
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package org.example.projectcalculator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import javax.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.model.EstimateDelta;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Milestone;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.repository.EstimateDeltaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A {@link Service} that maintains {@code estimateInDays} of {@link Project}s and
+ * {@link Milestone}s (sums of estimates of their {@link Feature}s).
+ *
+ * <p>Writers of {@link Feature}s don't update {@link Project} and {@link Milestone} rows, they
+ * only insert {@link EstimateDelta}s, so concurrent writers of the same {@link Project} don't
+ * wait for each other. {@link EstimateDelta}s are periodically compacted into {@link Project}s
+ * and {@link Milestone}s, until then they are added on read (see
+ * {@link Project#getEstimateInDays()}), so estimates are always up to date, but
+ * {@code lastUpdatedAt} of {@link Project} and {@link Milestone} is updated only on compaction.
+ *
+ * <p>Maintained estimates are also periodically reconciled with {@link Feature}s: drift (e.g.
+ * because {@code feature} table is changed bypassing this service) is logged, counted in
+ * {@code project-calculator.estimate.drift} metric and fixed with a correcting
+ * {@link EstimateDelta}.
+ */
+@Service
+@Slf4j
+public class EstimateAggregateService {
+
+  // key of PostgreSQL advisory lock, so that only one application instance reconciles at once
+  private static final long RECONCILIATION_LOCK_KEY = 0x657374696d617465L;
+
+  private final EstimateDeltaRepository estimateDeltaRepository;
+
+  private final EntityManager entityManager;
+
+  private final Clock clock;
+
+  private final int compactionBatchSize;
+
+  private final Counter projectDriftCounter;
+  private final Counter milestoneDriftCounter;
+
+  public EstimateAggregateService(
+      final EstimateDeltaRepository estimateDeltaRepository,
+      final EntityManager entityManager,
+      final Clock clock,
+      @Value("${project-calculator.estimate-delta.compaction-batch-size:10000}")
+      final int compactionBatchSize,
+      final MeterRegistry meterRegistry) {
+    this.estimateDeltaRepository = estimateDeltaRepository;
+    this.entityManager = entityManager;
+    this.clock = clock;
+    this.compactionBatchSize = compactionBatchSize;
+
+    projectDriftCounter = meterRegistry.counter("project-calculator.estimate.drift",
+        "aggregate", "project");
+    milestoneDriftCounter = meterRegistry.counter("project-calculator.estimate.drift",
+        "aggregate", "milestone");
+  }
+
+  /**
+   * Adds {@code estimateInDaysDelta} to {@link Project} and to {@link Milestone} (if it is not
+   * {@code null}). It must be called on every change of {@link Feature}, even if the delta is
+   * {@code 0}, because number of not compacted {@link EstimateDelta}s is a part of ETag of
+   * {@link Project} (see {@link ProjectService#getProjectETag(long)}).
+   *
+   * @param project             must be not {@code null}
+   * @param milestone           if it is not {@code null}, then it must belong to {@code project}
+   * @param estimateInDaysDelta must be not {@code null}
+   * @param now                 must be not {@code null}
+   */
+  public void addEstimateDelta(final Project project, final Milestone milestone,
+      final BigDecimal estimateInDaysDelta, final LocalDateTime now) {
+    estimateDeltaRepository.save(
+        new EstimateDelta(0L, project, milestone, estimateInDaysDelta, now));
+  }
+
+  /**
+   * Moves estimate of {@link Feature} from {@code oldMilestone} to {@code newMilestone} and
+   * changes it from {@code oldEstimateInDays} to {@code newEstimateInDays}.
+   *
+   * @param project           must be not {@code null}
+   * @param oldMilestone      {@link Milestone} of {@link Feature} before update, may be
+   *                          {@code null}
+   * @param oldEstimateInDays must be not {@code null}
+   * @param newMilestone      {@link Milestone} of {@link Feature} after update, may be
+   *                          {@code null}
+   * @param newEstimateInDays must be not {@code null}
+   * @param now               must be not {@code null}
+   */
+  public void replaceEstimate(final Project project,
+      final Milestone oldMilestone, final BigDecimal oldEstimateInDays,
+      final Milestone newMilestone, final BigDecimal newEstimateInDays,
+      final LocalDateTime now) {
+    if (Objects.equals(oldMilestone, newMilestone)) {
+      addEstimateDelta(project, newMilestone, newEstimateInDays.subtract(oldEstimateInDays), now);
+    } else {
+      addEstimateDelta(project, oldMilestone, oldEstimateInDays.negate(), now);
+      addEstimateDelta(project, newMilestone, newEstimateInDays, now);
+    }
+  }
+
+  /**
+   * Adds at most {@code compaction-batch-size} oldest {@link EstimateDelta}s to their
+   * {@link Project}s and {@link Milestone}s and deletes them.
+   *
+   * @return number of compacted {@link EstimateDelta}s
+   */
+  @Scheduled(
+      fixedDelayString = "${project-calculator.estimate-delta.compaction-interval:PT1S}")
+  @Transactional
+  public int compactEstimateDeltas() {
+    final var compacted = estimateDeltaRepository.compact(compactionBatchSize);
+
+    if (compacted > 0) {
+      log.debug("Compacted {} EstimateDeltas", compacted);
+    }
+
+    return compacted;
+  }
+
+  /**
+   * Recomputes estimates of all {@link Project}s and {@link Milestone}s from their
+   * {@link Feature}s and fixes the drifted ones. It is skipped if another reconciliation is in
+   * progress.
+   *
+   * @return number of drifted {@link Project}s and {@link Milestone}s
+   */
+  @Scheduled(
+      initialDelayString = "${project-calculator.estimate-delta.reconciliation-interval:PT1H}",
+      fixedDelayString = "${project-calculator.estimate-delta.reconciliation-interval:PT1H}")
+  @Transactional
+  public int reconcileEstimates() {
+    if (!estimateDeltaRepository.tryAdvisoryTransactionLock(RECONCILIATION_LOCK_KEY)) {
+      log.info("Skip reconciliation of estimates, it is in progress");
+
+      return 0;
+    }
+
+    final var drifts = estimateDeltaRepository.findAllDrifts();
+    final var now = LocalDateTime.now(clock);
+
+    for (final var drift : drifts) {
+      final var milestoneId = drift.getMilestoneId();
+
+      log.warn("Estimate of projectId = {}, milestoneId = {} is {}, but its Features sum to {}",
+          drift.getProjectId(), milestoneId, drift.getMaintainedEstimateInDays(),
+          drift.getActualEstimateInDays());
+
+      final var project = entityManager.getReference(Project.class, drift.getProjectId());
+      final var correction =
+          drift.getActualEstimateInDays().subtract(drift.getMaintainedEstimateInDays());
+
+      if (milestoneId != null) {
+        milestoneDriftCounter.increment();
+
+        // delta of milestone changes project too, but drift of project (if any) is computed
+        // and corrected separately, so it must be compensated
+        addEstimateDelta(project, entityManager.getReference(Milestone.class, milestoneId),
+            correction, now);
+        addEstimateDelta(project, null, correction.negate(), now);
+      } else {
+        projectDriftCounter.increment();
+
+        addEstimateDelta(project, null, correction, now);
+      }
+    }
+
+    log.info("Reconciled estimates, {} of them drifted", drifts.size());
+
+    return drifts.size();
+  }
+}
@@ -1,12 +1,21 @@
 package org.example.projectcalculator.service;
 
+import static org.example.projectcalculator.service.LogArguments.ids;
+
+import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.projectcalculator.dto.FeatureDto;
 import org.example.projectcalculator.dto.request.CreateFeatureDtoRequest;
+import org.example.projectcalculator.dto.request.CreateFeaturesDtoRequest;
 import org.example.projectcalculator.dto.request.UpdateFeatureDtoRequest;
 import org.example.projectcalculator.error.ProjectCalculatorError;
 import org.example.projectcalculator.error.ProjectCalculatorException;
@@ -17,6 +26,7 @@ import org.example.projectcalculator.model.Project;
 import org.example.projectcalculator.repository.FeatureRepository;
 import org.example.projectcalculator.repository.MilestoneRepository;
 import org.example.projectcalculator.repository.ProjectRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,17 +34,21 @@ import org.springframework.transaction.annotation.Transactional;
  * A {@link Service} that provides operations on {@link Feature}.
  */
 @Service
+@Metered
 @AllArgsConstructor
 @Slf4j
 public class FeatureService {
 
-  private final UserService userService;
-  private final ProjectService projectService;
+  private final ProjectOwnershipGuard projectOwnershipGuard;
   private final MilestoneService milestoneService;
   private final PriceService priceService;
+  private final EstimateAggregateService estimateAggregateService;
+  private final ParallelMapper parallelMapper;
 
   private final FeatureRepository featureRepository;
 
+  private final EntityManager entityManager;
+
   private final Clock clock;
 
   private final FeatureMapper featureMapper;
@@ -55,12 +69,10 @@ public class FeatureService {
    *                                    with specified {@code projectId} and {@code milestoneId} is
    *                                    not found in {@link MilestoneRepository}
    */
+  @RetryOnConflict
   @Transactional
   public FeatureDto saveFeature(final CreateFeatureDtoRequest request, final long projectId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var milestoneId = request.getMilestoneId();
     final var milestone =
@@ -73,19 +85,72 @@ public class FeatureService {
 
     // need to add feature's estimate to project and milestone
 
-    project.setEstimateInDays(project.getEstimateInDays().add(feature.getEstimateInDays()));
-    project.setLastUpdatedAt(now);
-
-    if (milestone != null) {
-      milestone.setEstimateInDays(milestone.getEstimateInDays().add(feature.getEstimateInDays()));
-      milestone.setLastUpdatedAt(now);
-    }
+    estimateAggregateService.addEstimateDelta(project, milestone, feature.getEstimateInDays(), now);
 
     log.info("Saved {}", feature);
 
     return featureMapper.toFeatureDto(feature);
   }
 
+  /**
+   * Saves all {@link Feature}s from {@code request} in {@link FeatureRepository} at once (they
+   * are inserted in JDBC batches) and adds their estimates to {@link Project} and
+   * {@link Milestone}s with a single delta per touched {@link Milestone}.
+   *
+   * @param request   must be not {@code null}; every feature has the same requirements as in
+   *                  {@link #saveFeature(CreateFeatureDtoRequest, long)}
+   * @param projectId must be {@code > 0}
+   * @return {@link List} of {@link FeatureDto}s in the same order as in {@code request}
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository}; if any {@link Milestone}
+   *                                    with specified {@code projectId} and {@code milestoneId} is
+   *                                    not found in {@link MilestoneRepository}
+   */
+  @RetryOnConflict
+  @Transactional
+  public List<FeatureDto> saveFeatures(final CreateFeaturesDtoRequest request,
+      final long projectId) {
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+
+    final var milestoneIds = request.features().stream()
+        .map(CreateFeatureDtoRequest::getMilestoneId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    final var milestones = milestoneService.getMilestones(projectId, milestoneIds);
+    final var now = LocalDateTime.now(clock);
+
+    final var features = request.features().stream()
+        .map(featureRequest -> featureMapper.toFeature(featureRequest, project,
+            (featureRequest.getMilestoneId() != null)
+                ? milestones.get(featureRequest.getMilestoneId()) : null,
+            now, now))
+        .toList();
+
+    featureRepository.saveAll(features);
+
+    // need to add features' estimates to project and milestones, but only once for each
+    // milestone (features without milestone are under null key)
+
+    final var estimateDeltas = new HashMap<Long, BigDecimal>();
+
+    for (final var feature : features) {
+      final var milestone = feature.getMilestone();
+
+      estimateDeltas.merge((milestone != null) ? milestone.getId() : null,
+          feature.getEstimateInDays(), BigDecimal::add);
+    }
+
+    estimateDeltas.forEach((milestoneId, estimateDelta) ->
+        estimateAggregateService.addEstimateDelta(project,
+            (milestoneId != null) ? milestones.get(milestoneId) : null, estimateDelta, now));
+
+    log.info("Saved {} Features by projectId = {}", features.size(), projectId);
+
+    return features.stream()
+        .map(featureMapper::toFeatureDto)
+        .toList();
+  }
+
   /**
    * Returns all {@link FeatureDto}s of {@link Project} from {@link FeatureRepository} with optional
    * {@code milestoneId} filtration (this means that if milestone is not {@code null}, then this
@@ -101,29 +166,92 @@ public class FeatureService {
    */
   @Transactional(readOnly = true)
   public List<FeatureDto> getAllFeatures(final long projectId, final Long milestoneId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final List<Feature> features;
 
     if (milestoneId != null) {
       features = featureRepository.findAllByProjectIdAndMilestoneId(projectId, milestoneId);
 
-      log.info(
-          "Get List<Feature> by projectId = {}, milestoneId = {}: {}",
-          projectId, milestoneId, features);
+      log.info("Get {} Features by projectId = {}, milestoneId = {}: ids = {}", features.size(),
+          projectId, milestoneId, ids(features, Feature::getId));
+      log.debug("Get List<Feature> by projectId = {}, milestoneId = {}: {}", projectId,
+          milestoneId, features);
     } else {
       features = featureRepository.findAllByProjectId(projectId);
 
-      log.info("Get List<Feature> by projectId = {}: {}", projectId, features);
+      log.info("Get {} Features by projectId = {}: ids = {}", features.size(), projectId,
+          ids(features, Feature::getId));
+      log.debug("Get List<Feature> by projectId = {}: {}", projectId, features);
     }
 
-    return features.stream()
-        .map(feature -> featureMapper.toFeatureDto(feature,
-            priceService.computePriceInRubles(project, feature.getEstimateInDays())))
-        .toList();
+    return toFeatureDtos(features, priceService.getTeamCostSnapshot(project));
+  }
+
+  /**
+   * Returns page of {@link FeatureDto}s of {@link Project} (with optional {@code milestoneId}
+   * filtration as in {@link #getAllFeatures(long, Long)}) ordered by {@code id}. It is a keyset
+   * pagination: next page starts after the {@code id} of the last {@link FeatureDto} of the
+   * previous one.
+   *
+   * @param projectId   must be {@code > 0}
+   * @param milestoneId if it is not {@code null}, then it must be {@code > 0}
+   * @param afterId     must be {@code >= 0}; {@code 0} means the first page
+   * @param limit       must be {@code > 0}
+   * @return {@link List} of at most {@code limit} {@link FeatureDto}s
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository}
+   */
+  @Transactional(readOnly = true)
+  public List<FeatureDto> getFeaturePage(final long projectId, final Long milestoneId,
+      final long afterId, final int limit) {
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+    final var pageable = PageRequest.ofSize(limit);
+
+    final var features = (milestoneId != null)
+        ? featureRepository.findAllByProjectIdAndMilestoneIdAndIdGreaterThanOrderById(
+            projectId, milestoneId, afterId, pageable)
+        : featureRepository.findAllByProjectIdAndIdGreaterThanOrderById(
+            projectId, afterId, pageable);
+
+    log.info(
+        "Get {} Features by projectId = {}, milestoneId = {}, afterId = {}, limit = {}",
+        features.size(), projectId, milestoneId, afterId, limit);
+
+    return toFeatureDtos(features, priceService.getTeamCostSnapshot(project));
+  }
+
+  /**
+   * Passes all {@link FeatureDto}s of {@link Project} (with optional {@code milestoneId}
+   * filtration as in {@link #getAllFeatures(long, Long)}) ordered by {@code id} to
+   * {@code consumer} one by one as they are read from database cursor, so memory usage doesn't
+   * depend on number of {@link Feature}s.
+   *
+   * @param projectId   must be {@code > 0}
+   * @param milestoneId if it is not {@code null}, then it must be {@code > 0}
+   * @param consumer    must be not {@code null}
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository}
+   */
+  @Transactional(readOnly = true)
+  public void streamAllFeatures(final long projectId, final Long milestoneId,
+      final Consumer<FeatureDto> consumer) {
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+    final var teamCostSnapshot = priceService.getTeamCostSnapshot(project);
+
+    log.info("Stream Features by projectId = {}, milestoneId = {}", projectId, milestoneId);
+
+    try (final var features = (milestoneId != null)
+        ? featureRepository.streamAllByProjectIdAndMilestoneIdOrderById(projectId, milestoneId)
+        : featureRepository.streamAllByProjectIdOrderById(projectId)) {
+      features.forEach(feature -> {
+        consumer.accept(featureMapper.toFeatureDto(feature,
+            priceService.computePriceInRubles(teamCostSnapshot, feature.getEstimateInDays())));
+
+        // otherwise persistence context would hold all streamed Features
+        entityManager.detach(feature);
+      });
+    }
   }
 
   /**
@@ -138,13 +266,11 @@ public class FeatureService {
    *                                    specified {@code projectId} and {@code featureId} is not
    *                                    found in {@link FeatureRepository}
    */
+  @RetryOnConflict
   @Transactional
   public FeatureDto updateFeature(
       final UpdateFeatureDtoRequest request, final long projectId, final long featureId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var feature = getFeature(projectId, featureId);
     final var oldMilestone = feature.getMilestone();
@@ -161,40 +287,25 @@ public class FeatureService {
     }
 
     final var now = LocalDateTime.now(clock);
+    final var oldEstimate = feature.getEstimateInDays();
 
     log.info("Before update {}", feature);
 
-    // need to subtract feature's estimate BEFORE update from project and oldMilestone
-
-    project.setEstimateInDays(project.getEstimateInDays().subtract(feature.getEstimateInDays()));
-    project.setLastUpdatedAt(now);
-
-    if (oldMilestone != null) {
-      oldMilestone.setEstimateInDays(
-          oldMilestone.getEstimateInDays().subtract(feature.getEstimateInDays()));
-      oldMilestone.setLastUpdatedAt(now);
-    }
-
     log.info("Change Feature's milestoneId = {} to milestoneId = {}", oldMilestoneId,
         newMilestoneId);
     feature.setMilestone(newMilestone);
 
     feature.setTitle(request.getTitle());
     feature.setDescription(request.getDescription());
-    feature.setBestCaseEstimateInDays(request.getBestCaseEstimateInDays());
-    feature.setMostLikelyEstimateInDays(request.getMostLikelyEstimateInDays());
-    feature.setWorstCaseEstimateInDays(request.getWorstCaseEstimateInDays());
+    feature.setEstimatesInDays(request.getBestCaseEstimateInDays(),
+        request.getMostLikelyEstimateInDays(), request.getWorstCaseEstimateInDays());
     feature.setLastUpdatedAt(now);
 
-    // need to add feature's estimate AFTER update to project and newMilestone
-
-    project.setEstimateInDays(project.getEstimateInDays().add(feature.getEstimateInDays()));
+    // need to replace feature's estimate BEFORE update in project and oldMilestone with
+    // estimate AFTER update in project and newMilestone
 
-    if (newMilestone != null) {
-      newMilestone.setEstimateInDays(
-          newMilestone.getEstimateInDays().add(feature.getEstimateInDays()));
-      newMilestone.setLastUpdatedAt(now);
-    }
+    estimateAggregateService.replaceEstimate(project, oldMilestone, oldEstimate, newMilestone,
+        feature.getEstimateInDays(), now);
 
     log.info("Updated {}", feature);
 
@@ -211,12 +322,10 @@ public class FeatureService {
    *                                    specified {@code projectId} and {@code featureId} is not
    *                                    found in {@link FeatureRepository}
    */
+  @RetryOnConflict
   @Transactional
   public void deleteFeature(final long projectId, final long featureId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var feature = getFeature(projectId, featureId);
     final var milestone = feature.getMilestone();
@@ -225,16 +334,10 @@ public class FeatureService {
 
     log.info("Trying to delete {}", project);
 
-    // need to subtract feature's estimate BEFORE remove from project and milestone
+    // need to subtract feature's estimate from project and milestone
 
-    project.setEstimateInDays(project.getEstimateInDays().subtract(feature.getEstimateInDays()));
-    project.setLastUpdatedAt(now);
-
-    if (milestone != null) {
-      milestone.setEstimateInDays(
-          milestone.getEstimateInDays().subtract(feature.getEstimateInDays()));
-      milestone.setLastUpdatedAt(now);
-    }
+    estimateAggregateService.addEstimateDelta(project, milestone,
+        feature.getEstimateInDays().negate(), now);
 
     featureRepository.delete(feature);
 
@@ -259,4 +362,18 @@ public class FeatureService {
                 new ProjectCalculatorException(
                     ProjectCalculatorError.FEATURE_IS_NOT_FOUND_BY_ID, "featureId"));
   }
+
+  // with the default threshold pages (at most MAX_PAGE_SIZE) are always mapped sequentially
+  private List<FeatureDto> toFeatureDtos(final List<Feature> features,
+      final TeamCostSnapshot teamCostSnapshot) {
+    if (parallelMapper.isParallel(features.size())) {
+      // mapping only reads ids of project and milestone proxies, which doesn't initialize them,
+      // but other threads still must not share the persistence context
+      features.forEach(entityManager::detach);
+    }
+
+    return parallelMapper.map("featureDto", features,
+        feature -> featureMapper.toFeatureDto(feature,
+            priceService.computePriceInRubles(teamCostSnapshot, feature.getEstimateInDays())));
+  }
 }
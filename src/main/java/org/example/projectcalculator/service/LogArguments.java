@@ -0,0 +1,51 @@
+package org.example.projectcalculator.service;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Log arguments that are formatted only if the log statement is enabled (their
+ * {@link Object#toString()} is called by the logger after the level check).
+ */
+final class LogArguments {
+
+  // number of ids that are formatted, the rest are only counted
+  static final int MAX_IDS = 20;
+
+  private LogArguments() {
+  }
+
+  /**
+   * Returns argument that is formatted as ids of at most {@value #MAX_IDS} first
+   * {@code entities}, e.g. {@code [1, 2, 3]} or {@code [1, 2, ... (998 more)]}.
+   *
+   * @param entities must be not {@code null}
+   * @param id       must be not {@code null}
+   * @param <T>      type of entities
+   * @return argument for a log statement
+   */
+  static <T> Object ids(final List<T> entities, final ToLongFunction<? super T> id) {
+    return new Object() {
+
+      @Override
+      public String toString() {
+        final var ids = new StringBuilder("[");
+        final var size = entities.size();
+
+        for (var i = 0; i < Math.min(size, MAX_IDS); ++i) {
+          if (i > 0) {
+            ids.append(", ");
+          }
+
+          ids.append(id.applyAsLong(entities.get(i)));
+        }
+
+        if (size > MAX_IDS) {
+          ids.append(", ... (").append(size - MAX_IDS).append(" more)");
+        }
+
+        return ids.append(']').toString();
+      }
+    };
+  }
+}
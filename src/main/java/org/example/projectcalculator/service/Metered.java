@@ -0,0 +1,16 @@
+package org.example.projectcalculator.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean whose every public method is timed in {@code project-calculator.service} metric,
+ * see {@link ServiceMetricsAspect}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Metered {
+
+}
@@ -1,9 +1,15 @@
 package org.example.projectcalculator.service;
 
+import static org.example.projectcalculator.service.LogArguments.ids;
+
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.projectcalculator.dto.MilestoneDto;
@@ -15,6 +21,7 @@ import org.example.projectcalculator.model.Milestone;
 import org.example.projectcalculator.model.Project;
 import org.example.projectcalculator.repository.MilestoneRepository;
 import org.example.projectcalculator.repository.ProjectRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,12 +29,12 @@ import org.springframework.transaction.annotation.Transactional;
  * A {@link Service} that provides CRUD operations on {@link Milestone}.
  */
 @Service
+@Metered
 @AllArgsConstructor
 @Slf4j
 public class MilestoneService {
 
-  private final UserService userService;
-  private final ProjectService projectService;
+  private final ProjectOwnershipGuard projectOwnershipGuard;
   private final PriceService priceService;
 
   private final MilestoneRepository milestoneRepository;
@@ -50,13 +57,11 @@ public class MilestoneService {
    * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
    *                                    found in {@link ProjectRepository}
    */
+  @RetryOnConflict
   @Transactional
   public MilestoneDto createMilestone(
       final CreateUpdateMilestoneDtoRequest request, final long projectId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var now = LocalDateTime.now(clock);
 
@@ -81,18 +86,50 @@ public class MilestoneService {
    */
   @Transactional(readOnly = true)
   public List<MilestoneDto> getAllMilestones(final long projectId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var milestones = milestoneRepository.findAllByProjectId(projectId);
 
-    log.info("Get List<Milestone> by projectId = {}: {}", projectId, milestones);
+    log.info("Get {} Milestones by projectId = {}: ids = {}", milestones.size(), projectId,
+        ids(milestones, Milestone::getId));
+    log.debug("Get List<Milestone> by projectId = {}: {}", projectId, milestones);
+
+    final var teamCostSnapshot = priceService.getTeamCostSnapshot(project);
 
     return milestones.stream()
         .map(milestone -> milestoneMapper.toMilestoneDto(milestone,
-            priceService.computePriceInRubles(project, milestone.getEstimateInDays())))
+            priceService.computePriceInRubles(teamCostSnapshot, milestone.getEstimateInDays())))
+        .toList();
+  }
+
+  /**
+   * Returns page of {@link MilestoneDto}s of {@link Project} ordered by {@code id}. It is a keyset
+   * pagination: next page starts after the {@code id} of the last {@link MilestoneDto} of the
+   * previous one.
+   *
+   * @param projectId must be {@code > 0}
+   * @param afterId   must be {@code >= 0}; {@code 0} means the first page
+   * @param limit     must be {@code > 0}
+   * @return {@link List} of at most {@code limit} {@link MilestoneDto}s
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository}
+   */
+  @Transactional(readOnly = true)
+  public List<MilestoneDto> getMilestonePage(final long projectId, final long afterId,
+      final int limit) {
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+
+    final var milestones = milestoneRepository.findAllByProjectIdAndIdGreaterThanOrderById(
+        projectId, afterId, PageRequest.ofSize(limit));
+
+    log.info("Get {} Milestones by projectId = {}, afterId = {}, limit = {}", milestones.size(),
+        projectId, afterId, limit);
+
+    final var teamCostSnapshot = priceService.getTeamCostSnapshot(project);
+
+    return milestones.stream()
+        .map(milestone -> milestoneMapper.toMilestoneDto(milestone,
+            priceService.computePriceInRubles(teamCostSnapshot, milestone.getEstimateInDays())))
         .toList();
   }
 
@@ -109,13 +146,11 @@ public class MilestoneService {
    *                                    with specified {@code projectId} and {@code milestoneId} is
    *                                    not found in {@link MilestoneRepository}
    */
+  @RetryOnConflict
   @Transactional
   public MilestoneDto updateMilestone(
       final CreateUpdateMilestoneDtoRequest request, final long projectId, final long milestoneId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var milestone = getMilestone(projectId, milestoneId);
     final var now = LocalDateTime.now(clock);
@@ -145,12 +180,10 @@ public class MilestoneService {
    *                                    with specified {@code projectId} and {@code milestoneId} is
    *                                    not found in {@link MilestoneRepository}
    */
+  @RetryOnConflict
   @Transactional
   public void deleteMilestone(final long projectId, final long milestoneId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var milestone = getMilestone(projectId, milestoneId);
 
@@ -185,4 +218,32 @@ public class MilestoneService {
                 new ProjectCalculatorException(
                     ProjectCalculatorError.MILESTONE_IS_NOT_FOUND_BY_ID, "milestoneId"));
   }
+
+  /**
+   * Fetches {@link Milestone}s from {@link MilestoneRepository} by {@code projectId} and
+   * {@code milestoneIds} in a single query.
+   *
+   * @param projectId    must be {@code > 0}
+   * @param milestoneIds must be not {@code null}; all ids must be {@code > 0}
+   * @return {@link Map} of {@link Milestone}s by {@code id}
+   * @throws ProjectCalculatorException if any {@link Milestone} with specified {@code projectId}
+   *                                    and {@code milestoneIds} is not found in
+   *                                    {@link MilestoneRepository}
+   */
+  public Map<Long, Milestone> getMilestones(final long projectId, final Set<Long> milestoneIds) {
+    if (milestoneIds.isEmpty()) {
+      return Map.of();
+    }
+
+    final var milestones = milestoneRepository.findAllByProjectIdAndIdIn(projectId, milestoneIds)
+        .stream()
+        .collect(Collectors.toMap(Milestone::getId, Function.identity()));
+
+    if (milestones.size() != milestoneIds.size()) {
+      throw new ProjectCalculatorException(ProjectCalculatorError.MILESTONE_IS_NOT_FOUND_BY_ID,
+          "milestoneId");
+    }
+
+    return milestones;
+  }
 }
@@ -0,0 +1,153 @@
+package org.example.projectcalculator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps (e.g. prices and converts to DTOs) elements of a {@link List} preserving their order. Lists
+ * of at least {@code threshold} elements are mapped in parallel on a dedicated bounded
+ * {@link ForkJoinPool} (not the common one, so that it is not shared with parallel streams and
+ * {@link RiskSimulator}), smaller lists are mapped sequentially in the calling thread.
+ *
+ * <p>Mapping function is called from other threads, so it must not touch a persistence context:
+ * mapped entities must be detached and their needed associations must be loaded.
+ *
+ * <p>Every mapping is timed in {@code project-calculator.parallel-mapping} metric with
+ * {@code mapping}, {@code mode} ({@code sequential} or {@code parallel}) and {@code size} (order
+ * of magnitude of the number of elements, e.g. {@code 10^3}) tags, so the time of both modes for
+ * the same sizes shows the point where parallelism pays off.
+ */
+@Component
+@Slf4j
+public class ParallelMapper {
+
+  // number of elements that are mapped sequentially by a single task
+  static final int LEAF_SIZE = 512;
+
+  private final ForkJoinPool forkJoinPool;
+
+  private final int threshold;
+
+  private final MeterRegistry meterRegistry;
+
+  public ParallelMapper(
+      @Value("${project-calculator.parallel-mapping.parallelism:0}") final int parallelism,
+      @Value("${project-calculator.parallel-mapping.threshold:10000}") final int threshold,
+      final MeterRegistry meterRegistry) {
+    forkJoinPool = new ForkJoinPool(
+        (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors(),
+        pool -> {
+          final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("parallel-mapping-" + thread.getPoolIndex());
+
+          return thread;
+        },
+        null,
+        false);
+
+    this.threshold = threshold;
+    this.meterRegistry = meterRegistry;
+
+    log.info("Lists of at least {} elements are mapped by {} threads", threshold,
+        forkJoinPool.getParallelism());
+  }
+
+  /**
+   * Returns whether {@link List} of {@code size} elements is mapped in parallel.
+   *
+   * @param size must be {@code >= 0}
+   * @return {@code true} if it is mapped in parallel
+   */
+  public boolean isParallel(final int size) {
+    return size >= threshold;
+  }
+
+  /**
+   * Maps every element of {@code source} with {@code mapper}.
+   *
+   * @param mapping name of mapping for metrics, must be not {@code null}
+   * @param source  must be not {@code null} and have fast random access; it must not be
+   *                changed during mapping
+   * @param mapper  must be not {@code null}; if {@link #isParallel(int)} is {@code true} for
+   *                size of {@code source}, then it is called from other threads
+   * @param <T>     type of elements of {@code source}
+   * @param <R>     type of elements of the result
+   * @return unmodifiable {@link List} of mapped elements in the same order as in {@code source}
+   */
+  @SuppressWarnings("unchecked")
+  public <T, R> List<R> map(final String mapping, final List<T> source,
+      final Function<? super T, ? extends R> mapper) {
+    final var parallel = isParallel(source.size());
+    final var sample = Timer.start(meterRegistry);
+    final var result = new Object[source.size()];
+
+    if (parallel) {
+      forkJoinPool.invoke(new MappingTask<>(source, mapper, result, 0, source.size()));
+    } else {
+      for (var i = 0; i < result.length; ++i) {
+        result[i] = mapper.apply(source.get(i));
+      }
+    }
+
+    sample.stop(meterRegistry.timer("project-calculator.parallel-mapping",
+        "mapping", mapping,
+        "mode", parallel ? "parallel" : "sequential",
+        "size", "10^" + (Integer.toString(Math.max(source.size(), 1)).length() - 1)));
+
+    return (List<R>) Collections.unmodifiableList(Arrays.asList(result));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    forkJoinPool.shutdown();
+  }
+
+  private static final class MappingTask<T, R> extends RecursiveAction {
+
+    private final List<T> source;
+    private final Function<? super T, ? extends R> mapper;
+
+    private final Object[] result;
+
+    private final int from;
+    private final int to;
+
+    private MappingTask(final List<T> source, final Function<? super T, ? extends R> mapper,
+        final Object[] result, final int from, final int to) {
+      this.source = source;
+      this.mapper = mapper;
+      this.result = result;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > LEAF_SIZE) {
+        final var middle = (from + to) >>> 1;
+
+        invokeAll(
+            new MappingTask<>(source, mapper, result, from, middle),
+            new MappingTask<>(source, mapper, result, middle, to));
+
+        return;
+      }
+
+      // every element is written by exactly one task and invoke() waits for all of them, so the
+      // result is fully visible to the caller
+      for (var i = from; i < to; ++i) {
+        result[i] = mapper.apply(source.get(i));
+      }
+    }
+  }
+}
@@ -4,6 +4,8 @@ import java.util.Arrays;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
 import org.example.projectcalculator.model.Position;
 import org.springframework.stereotype.Service;
 
@@ -29,4 +31,21 @@ public class PositionService {
 
     return POSITIONS;
   }
+
+  /**
+   * Converts {@code position} to {@link Position} by its name.
+   *
+   * @param position must be not {@code null}
+   * @param field    name of request field which contains {@code position}, it is reported in
+   *                 error
+   * @return {@link Position}
+   * @throws ProjectCalculatorException if {@link Position} with such name does not exist
+   */
+  public Position toPosition(final String position, final String field) {
+    return Arrays.stream(Position.values())
+        .filter(positionLambda -> positionLambda.name().equals(position))
+        .findAny()
+        .orElseThrow(
+            () -> new ProjectCalculatorException(ProjectCalculatorError.WRONG_POSITION, field));
+  }
 }
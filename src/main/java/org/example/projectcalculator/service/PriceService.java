@@ -1,74 +1,140 @@
 package org.example.projectcalculator.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.math.BigDecimal;
-import java.util.Arrays;
-import java.util.List;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.projectcalculator.model.Position;
 import org.example.projectcalculator.model.Project;
-import org.example.projectcalculator.model.Rate;
-import org.example.projectcalculator.model.TeamMember;
 import org.springframework.stereotype.Service;
 
 /**
  * A {@link Service} that computes prices.
+ *
+ * <p>It is called for every priced entity, so it is not timed, but {@link TeamCostSnapshot}s
+ * (one per listing or report) and computed prices are counted in {@code project-calculator.price}
+ * metric with {@code operation} ({@code snapshot} or {@code price}) tag.
  */
 @Service
-@AllArgsConstructor
 @Slf4j
 public class PriceService {
 
-  private static final BigDecimal HOURS_IN_DAY = BigDecimal.valueOf(8);
+  private final TeamCostCache teamCostCache;
+
+  private final Counter snapshotCounter;
+  private final Counter priceCounter;
+
+  public PriceService(final TeamCostCache teamCostCache, final MeterRegistry meterRegistry) {
+    this.teamCostCache = teamCostCache;
+
+    snapshotCounter = meterRegistry.counter("project-calculator.price", "operation", "snapshot");
+    priceCounter = meterRegistry.counter("project-calculator.price", "operation", "price");
+  }
 
   /**
    * Computes price in RUB based on {@code teamMembers} of given {@link Project} and
    * {@code estimateInDays} for all {@link Position}s.
    *
+   * <p>If many prices of the same {@link Project} are needed, then it's better to get
+   * {@link TeamCostSnapshot} once and use {@link #computePriceInRubles(TeamCostSnapshot,
+   * BigDecimal)}.
+   *
    * @param project        must be not {@code null}
    * @param estimateInDays must be not {@code null}
    * @return {@link BigDecimal}
    */
   public BigDecimal computePriceInRubles(final Project project, final BigDecimal estimateInDays) {
-    final var rates = project.getRates();
-    final var teamMembers = project.getTeamMembers();
+    return computePriceInRubles(getTeamCostSnapshot(project), estimateInDays);
+  }
 
-    final var teamPrice = Arrays.stream(Position.values())
-        .map(position -> getPositionPrice(rates, teamMembers, position))
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  /**
+   * Computes price in RUB based on precomputed {@link TeamCostSnapshot} and
+   * {@code estimateInDays}.
+   *
+   * <p>It is {@code estimateInDays * teamPriceInRublesPerHour * 8}, but team price per day is
+   * precomputed in {@link TeamCostSnapshot}, so it is a single multiplication (the result is
+   * exactly the same, including scale).
+   *
+   * @param teamCostSnapshot must be not {@code null}
+   * @param estimateInDays   must be not {@code null}
+   * @return {@link BigDecimal}
+   */
+  public BigDecimal computePriceInRubles(final TeamCostSnapshot teamCostSnapshot,
+      final BigDecimal estimateInDays) {
+    priceCounter.increment();
 
-    return estimateInDays.multiply(teamPrice).multiply(HOURS_IN_DAY);
+    return estimateInDays.multiply(teamCostSnapshot.getTeamPriceInRublesPerDay());
   }
 
   /**
-   * Computes price in RUB for given {@link Position} based on {@code rates} and
-   * {@code teamMembers}.
+   * Computes price in RUB of team members on given {@link Position} based on precomputed
+   * {@link TeamCostSnapshot} and {@code estimateInDays}. Sum of these prices for all
+   * {@link Position}s is equal to {@link #computePriceInRubles(TeamCostSnapshot, BigDecimal)}.
    *
-   * @param rates       must be not {@code null}
-   * @param teamMembers must be not {@code null}
-   * @param position    must be not {@code null}
+   * @param teamCostSnapshot must be not {@code null}
+   * @param position         must be not {@code null}
+   * @param estimateInDays   must be not {@code null}
    * @return {@link BigDecimal}
    */
-  private BigDecimal getPositionPrice(final List<Rate> rates, final List<TeamMember> teamMembers,
-      final Position position) {
-    return getRateInRublesPerHour(rates, position).multiply(
-        getDegreeOfInvolvement(teamMembers, position));
+  public BigDecimal computePositionPriceInRubles(final TeamCostSnapshot teamCostSnapshot,
+      final Position position, final BigDecimal estimateInDays) {
+    priceCounter.increment();
+
+    return estimateInDays.multiply(teamCostSnapshot.getPositionPriceInRublesPerDay(position));
   }
 
-  private BigDecimal getRateInRublesPerHour(final List<Rate> rates, final Position position) {
-    return rates.stream()
-        .filter(rate -> rate.getPosition() == position)
-        .map(Rate::getRublesPerHour)
-        .findAny()
-        .orElseThrow(() -> new AssertionError("there must be " + position));
+  /**
+   * Returns {@link TeamCostSnapshot} of given {@link Project} from {@link TeamCostCache} (it is
+   * created with {@link #createTeamCostSnapshot(Project)} on cache miss).
+   *
+   * @param project must be not {@code null}
+   * @return {@link TeamCostSnapshot}
+   */
+  public TeamCostSnapshot getTeamCostSnapshot(final Project project) {
+    snapshotCounter.increment();
+
+    return teamCostCache.get(project.getId(), () -> createTeamCostSnapshot(project));
   }
 
-  private BigDecimal getDegreeOfInvolvement(final List<TeamMember> teamMembers,
-      final Position position) {
-    return teamMembers.stream()
-        .filter(rate -> rate.getPosition() == position)
-        .map(TeamMember::getNumberOfTeamMembers)
-        .findAny()
-        .orElse(BigDecimal.ZERO);
+  /**
+   * Creates {@link TeamCostSnapshot} of given {@link Project} in a single pass over it's
+   * {@code rates} and {@code teamMembers}.
+   *
+   * @param project must be not {@code null}; it must have {@code rates} for all
+   *                {@link Position}s
+   * @return {@link TeamCostSnapshot}
+   */
+  public TeamCostSnapshot createTeamCostSnapshot(final Project project) {
+    final var positions = Position.values();
+    final var ratesInRublesPerHour = new BigDecimal[positions.length];
+    final var numbersOfTeamMembers = new BigDecimal[positions.length];
+
+    for (final var rate : project.getRates()) {
+      ratesInRublesPerHour[rate.getPosition().ordinal()] = rate.getRublesPerHour();
+    }
+
+    for (final var teamMember : project.getTeamMembers()) {
+      numbersOfTeamMembers[teamMember.getPosition().ordinal()] =
+          teamMember.getNumberOfTeamMembers();
+    }
+
+    final var positionPrices = new BigDecimal[positions.length];
+    var teamPrice = BigDecimal.ZERO;
+
+    for (final var position : positions) {
+      final var i = position.ordinal();
+
+      if (ratesInRublesPerHour[i] == null) {
+        throw new AssertionError("there must be " + position);
+      }
+
+      final var numberOfTeamMembers =
+          (numbersOfTeamMembers[i] != null) ? numbersOfTeamMembers[i] : BigDecimal.ZERO;
+
+      positionPrices[i] = ratesInRublesPerHour[i].multiply(numberOfTeamMembers);
+      teamPrice = teamPrice.add(positionPrices[i]);
+    }
+
+    return new TeamCostSnapshot(positionPrices, teamPrice);
   }
 }
@@ -0,0 +1,66 @@
+package org.example.projectcalculator.service;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.ProjectRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks that {@link Project} is created by currently authenticated {@link User}.
+ *
+ * <p>Ownership is checked in the same query that looks up {@link Project} by primary key, so
+ * neither {@link User} nor lazy {@code creator} of {@link Project} is loaded. {@link Project} of
+ * another {@link User} is indistinguishable from a missing one.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class ProjectOwnershipGuard {
+
+  private final UserService userService;
+
+  private final ProjectRepository projectRepository;
+
+  /**
+   * Fetches {@link Project} by {@code projectId} if it is created by currently authenticated
+   * {@link User}.
+   *
+   * @param projectId must be {@code > 0}
+   * @return {@link Project}
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository} or it is created by
+   *                                    another {@link User}
+   */
+  public Project getOwnedProject(final long projectId) {
+    final var userId = userService.getCurrentlyAuthenticatedUserId();
+
+    return projectRepository
+        .findByIdAndCreatorId(projectId, userId)
+        .orElseThrow(
+            () ->
+                new ProjectCalculatorException(
+                    ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID, "projectId"));
+  }
+
+  /**
+   * Checks that {@link Project} with {@code projectId} is created by currently authenticated
+   * {@link User} without loading it.
+   *
+   * @param projectId must be {@code > 0}
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository} or it is created by
+   *                                    another {@link User}
+   */
+  public void checkIfUserOwnsProject(final long projectId) {
+    final var userId = userService.getCurrentlyAuthenticatedUserId();
+
+    if (!projectRepository.existsByIdAndCreatorId(projectId, userId)) {
+      throw new ProjectCalculatorException(ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID,
+          "projectId");
+    }
+  }
+}
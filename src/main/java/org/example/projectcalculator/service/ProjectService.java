@@ -1,5 +1,7 @@
 package org.example.projectcalculator.service;
 
+import static org.example.projectcalculator.service.LogArguments.ids;
+
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDateTime;
@@ -12,6 +14,8 @@ import org.example.projectcalculator.dto.request.CreateUpdateProjectDtoRequest;
 import org.example.projectcalculator.error.ProjectCalculatorError;
 import org.example.projectcalculator.error.ProjectCalculatorException;
 import org.example.projectcalculator.mapper.ProjectMapper;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Milestone;
 import org.example.projectcalculator.model.Position;
 import org.example.projectcalculator.model.Project;
 import org.example.projectcalculator.model.Rate;
@@ -20,6 +24,7 @@ import org.example.projectcalculator.model.User;
 import org.example.projectcalculator.repository.ProjectRepository;
 import org.example.projectcalculator.repository.RateRepository;
 import org.example.projectcalculator.repository.TeamMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,12 +32,16 @@ import org.springframework.transaction.annotation.Transactional;
  * A {@link Service} that provides operations on {@link Project}.
  */
 @Service
+@Metered
 @AllArgsConstructor
 @Slf4j
 public class ProjectService {
 
   private final UserService userService;
   private final PriceService priceService;
+  private final ProjectOwnershipGuard projectOwnershipGuard;
+
+  private final TeamCostCache teamCostCache;
 
   private final ProjectRepository projectRepository;
   private final RateRepository rateRepository;
@@ -42,6 +51,9 @@ public class ProjectService {
 
   private final ProjectMapper projectMapper;
 
+  @Value("${project-calculator.project-listing.price-in-sql:true}")
+  private final boolean priceInSql;
+
   /**
    * Creates {@link Project} and saves it in {@link ProjectRepository}.
    *
@@ -86,21 +98,102 @@ public class ProjectService {
   /**
    * Returns all {@link ProjectDto}s  from {@link ProjectRepository}.
    *
+   * <p>By default prices are computed by database in the same query, otherwise (if
+   * {@code project-calculator.project-listing.price-in-sql} is {@code false}) {@link Project}s are
+   * loaded with their {@link Rate}s and {@link TeamMember}s and priced by {@link PriceService}.
+   * Both ways return the same result.
+   *
    * @return {@link List} of {@link ProjectDto}s
    */
   @Transactional(readOnly = true)
   public List<ProjectDto> getAllProjects() {
-    final var user = userService.getCurrentlyAuthenticatedUser();
-    final var projects = getAllProjectsWithRatesAndTeamMembers(user.getId());
+    final var userId = userService.getCurrentlyAuthenticatedUserId();
+
+    if (priceInSql) {
+      final var projects = projectRepository.findAllWithPrice(userId);
+
+      log.info("Get {} Projects with price by creatorId = {}", projects.size(), userId);
+
+      return projects.stream()
+          .map(projectMapper::toProjectDto)
+          .toList();
+    }
 
-    log.info("Get List<Project> by creatorId = {}: {}", user.getId(), projects);
+    final var projects = getAllProjectsWithRatesAndTeamMembers(userId);
 
+    log.info("Get {} Projects by creatorId = {}: ids = {}", projects.size(), userId,
+        ids(projects, Project::getId));
+    log.debug("Get List<Project> by creatorId = {}: {}", userId, projects);
+
+    // rates and team members are already fetched, so TeamCostCache would check invalidations
+    // that happened after they were read; snapshots are computed from them without the cache
     return projects.stream()
         .map(project -> projectMapper.toProjectDto(project,
-            priceService.computePriceInRubles(project, project.getEstimateInDays())))
+            priceService.computePriceInRubles(priceService.createTeamCostSnapshot(project),
+                project.getEstimateInDays())))
         .toList();
   }
 
+  /**
+   * Returns page of {@link ProjectDto}s ordered by {@code id} that are priced by database. It is a
+   * keyset pagination: next page starts after the {@code id} of the last {@link ProjectDto} of the
+   * previous one.
+   *
+   * @param afterId must be {@code >= 0}; {@code 0} means the first page
+   * @param limit   must be {@code > 0}
+   * @return {@link List} of at most {@code limit} {@link ProjectDto}s
+   */
+  @Transactional(readOnly = true)
+  public List<ProjectDto> getProjectPage(final long afterId, final int limit) {
+    final var userId = userService.getCurrentlyAuthenticatedUserId();
+    final var projects = projectRepository.findAllWithPrice(userId, afterId, limit);
+
+    log.info("Get {} Projects with price by creatorId = {}, afterId = {}, limit = {}",
+        projects.size(), userId, afterId, limit);
+
+    return projects.stream()
+        .map(projectMapper::toProjectDto)
+        .toList();
+  }
+
+  /**
+   * Returns strong ETag of all {@link ProjectDto}s of currently authenticated {@link User} (see
+   * {@link #getAllProjects()}). It is computed by database without loading {@link Project}s and
+   * changes if any of them (or their {@link Rate}s, {@link TeamMember}s, {@link Milestone}s and
+   * {@link Feature}s) is created, updated or deleted.
+   *
+   * @return ETag without quotes
+   */
+  @Transactional(readOnly = true)
+  public String getProjectsETag() {
+    final var userId = userService.getCurrentlyAuthenticatedUserId();
+
+    return projectRepository.findStateOfAllByCreatorId(userId);
+  }
+
+  /**
+   * Returns strong ETag of {@link Project} and all of it's {@link Milestone}s and
+   * {@link Feature}s. It is computed by database without loading {@link Project}, it changes if
+   * any of them is created, updated or deleted.
+   *
+   * @param projectId must be {@code > 0}
+   * @return ETag without quotes
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository} or it is created by
+   *                                    another {@link User}
+   */
+  @Transactional(readOnly = true)
+  public String getProjectETag(final long projectId) {
+    final var userId = userService.getCurrentlyAuthenticatedUserId();
+
+    return projectId + "-" + projectRepository
+        .findStateByIdAndCreatorId(projectId, userId)
+        .orElseThrow(
+            () ->
+                new ProjectCalculatorException(
+                    ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID, "projectId"));
+  }
+
   /**
    * Updates {@link Project} in {@link ProjectRepository} with data from {@code request}.
    *
@@ -110,13 +203,11 @@ public class ProjectService {
    * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
    *                                    found in {@link ProjectRepository}
    */
+  @RetryOnConflict
   @Transactional
   public ProjectDto updateProject(final CreateUpdateProjectDtoRequest request,
       final long projectId) {
-    final var project = getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     log.info("Before update {}", project);
 
@@ -137,42 +228,18 @@ public class ProjectService {
    * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
    *                                    found in {@link ProjectRepository}
    */
+  @RetryOnConflict
   @Transactional
   public void deleteProject(final long projectId) {
-    final var project = getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     log.info("Trying to delete {}", project);
 
     projectRepository.delete(project);
 
-    log.info("Deleted {}", project);
-  }
-
-  /**
-   * Fetches {@link Project} from {@link ProjectRepository} by {@code projectId}.
-   *
-   * @param projectId must be {@code > 0}
-   * @return {@link Project}
-   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
-   *                                    found in {@link ProjectRepository}
-   */
-  public Project getProject(final long projectId) {
-    return projectRepository
-        .findById(projectId)
-        .orElseThrow(
-            () ->
-                new ProjectCalculatorException(
-                    ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID, "projectId"));
-  }
+    teamCostCache.invalidate(projectId);
 
-  public void checkIfUserOwnsProject(final User user, final Project project) {
-    if (project.getCreator().getId() != user.getId()) {
-      throw new ProjectCalculatorException(ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID,
-          "projectId");
-    }
+    log.info("Deleted {}", project);
   }
 
   private List<Project> getAllProjectsWithRatesAndTeamMembers(final long creatorId) {
@@ -0,0 +1,130 @@
+package org.example.projectcalculator.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.dto.FeatureGroupSummaryDto;
+import org.example.projectcalculator.dto.PositionPriceDto;
+import org.example.projectcalculator.dto.ProjectSummaryDto;
+import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Milestone;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.repository.FeatureRepository;
+import org.example.projectcalculator.repository.MilestoneRepository;
+import org.example.projectcalculator.repository.ProjectRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A {@link Service} that summarizes estimate and price of {@link Project}.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ProjectSummaryService {
+
+  private final ProjectOwnershipGuard projectOwnershipGuard;
+  private final PriceService priceService;
+
+  private final MilestoneRepository milestoneRepository;
+  private final FeatureRepository featureRepository;
+
+  /**
+   * Returns total, per {@link Position}, per {@link Milestone} and not assigned to any
+   * {@link Milestone} estimate and price of {@link Project}.
+   *
+   * <p>Estimates of {@link Feature}s are loaded once and summed by {@link Milestone} in a single
+   * pass, then every sum is priced with the same {@link TeamCostSnapshot}. Both queries read the
+   * same snapshot of database, so every {@link Feature} belongs to a loaded {@link Milestone}.
+   *
+   * @param projectId must be {@code > 0}
+   * @return {@link ProjectSummaryDto}
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository}
+   */
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  public ProjectSummaryDto getProjectSummary(final long projectId) {
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+
+    final var milestones = milestoneRepository.findAllByProjectId(projectId);
+    final var featureEstimates = featureRepository.findAllEstimatesByProjectId(projectId);
+
+    // groups are keyed by id, because Milestone has constant hashCode
+    final var milestoneGroups = new LinkedHashMap<Long, FeatureGroup>();
+
+    milestones.stream()
+        .sorted(Comparator.comparingLong(Milestone::getId))
+        .forEach(milestone -> milestoneGroups.put(milestone.getId(),
+            new FeatureGroup(milestone.getId(), milestone.getTitle())));
+
+    final var unassignedGroup = new FeatureGroup(null, null);
+
+    for (final var featureEstimate : featureEstimates) {
+      final var milestoneId = featureEstimate.getMilestoneId();
+
+      ((milestoneId != null) ? milestoneGroups.get(milestoneId) : unassignedGroup)
+          .add(featureEstimate.getEstimateInDays());
+    }
+
+    var estimateInDays = unassignedGroup.estimateInDays;
+
+    for (final var milestoneGroup : milestoneGroups.values()) {
+      estimateInDays = estimateInDays.add(milestoneGroup.estimateInDays);
+    }
+
+    final var teamCostSnapshot = priceService.getTeamCostSnapshot(project);
+    final var totalEstimateInDays = estimateInDays;
+
+    final var projectSummary = new ProjectSummaryDto(
+        projectId,
+        featureEstimates.size(),
+        milestones.size(),
+        totalEstimateInDays,
+        priceService.computePriceInRubles(teamCostSnapshot, totalEstimateInDays),
+        Arrays.stream(Position.values())
+            .map(position -> new PositionPriceDto(position.name(),
+                priceService.computePositionPriceInRubles(teamCostSnapshot, position,
+                    totalEstimateInDays)))
+            .toList(),
+        milestoneGroups.values().stream()
+            .map(milestoneGroup -> milestoneGroup.toFeatureGroupSummaryDto(teamCostSnapshot))
+            .toList(),
+        unassignedGroup.toFeatureGroupSummaryDto(teamCostSnapshot));
+
+    log.info("Get summary of Project by projectId = {}: {} Features, {} Milestones",
+        projectId, projectSummary.numberOfFeatures(), projectSummary.numberOfMilestones());
+
+    return projectSummary;
+  }
+
+  private final class FeatureGroup {
+
+    private final Long milestoneId;
+    private final String title;
+
+    private int numberOfFeatures;
+    private BigDecimal estimateInDays = BigDecimal.ZERO;
+
+    private FeatureGroup(final Long milestoneId, final String title) {
+      this.milestoneId = milestoneId;
+      this.title = title;
+    }
+
+    private void add(final BigDecimal featureEstimateInDays) {
+      ++numberOfFeatures;
+      estimateInDays = estimateInDays.add(featureEstimateInDays);
+    }
+
+    private FeatureGroupSummaryDto toFeatureGroupSummaryDto(
+        final TeamCostSnapshot teamCostSnapshot) {
+      return new FeatureGroupSummaryDto(milestoneId, title, numberOfFeatures, estimateInDays,
+          priceService.computePriceInRubles(teamCostSnapshot, estimateInDays));
+    }
+  }
+}
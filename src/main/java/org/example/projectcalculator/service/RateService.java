@@ -1,15 +1,23 @@
 package org.example.projectcalculator.service;
 
+import static org.example.projectcalculator.service.LogArguments.ids;
+
+import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.projectcalculator.dto.RateDto;
 import org.example.projectcalculator.dto.request.UpdateRateDtoRequest;
+import org.example.projectcalculator.dto.request.UpdateRatesDtoRequest;
 import org.example.projectcalculator.error.ProjectCalculatorError;
 import org.example.projectcalculator.error.ProjectCalculatorException;
 import org.example.projectcalculator.mapper.RateMapper;
+import org.example.projectcalculator.model.Position;
 import org.example.projectcalculator.model.Project;
 import org.example.projectcalculator.model.Rate;
 import org.example.projectcalculator.repository.ProjectRepository;
@@ -22,11 +30,15 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Slf4j
 @Service
+@Metered
 @AllArgsConstructor
 public class RateService {
 
-  private final UserService userService;
-  private final ProjectService projectService;
+  private final ProjectOwnershipGuard projectOwnershipGuard;
+
+  private final PositionService positionService;
+
+  private final TeamCostCache teamCostCache;
 
   private final RateRepository rateRepository;
 
@@ -44,14 +56,13 @@ public class RateService {
    */
   @Transactional(readOnly = true)
   public List<RateDto> getAllRates(final long projectId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    projectOwnershipGuard.checkIfUserOwnsProject(projectId);
 
     final var rates = rateRepository.findAllByProjectId(projectId);
 
-    log.info("Get List<Rate> by projectId = {}: {}", projectId, rates);
+    log.info("Get {} Rates by projectId = {}: ids = {}", rates.size(), projectId,
+        ids(rates, Rate::getId));
+    log.debug("Get List<Rate> by projectId = {}: {}", projectId, rates);
 
     return rates.stream()
         .map(rateMapper::toRateDto)
@@ -71,25 +82,98 @@ public class RateService {
    *                                    specified {@code projectId} and {@code rateId} is not found
    *                                    in {@link RateRepository}
    */
+  @RetryOnConflict
   @Transactional
   public RateDto updateRate(final UpdateRateDtoRequest request, final long projectId,
       final long rateId) {
+    projectOwnershipGuard.checkIfUserOwnsProject(projectId);
+
     final var rate = getRate(projectId, rateId);
     final var project = rate.getProject();
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
 
     log.info("Before update {}", rate);
 
     rate.setRublesPerHour(request.rublesPerHour());
     project.setLastUpdatedAt(LocalDateTime.now(clock));
 
+    teamCostCache.invalidate(projectId);
+
     log.info("Updated {}", rate);
 
     return rateMapper.toRateDto(rate);
   }
 
+  /**
+   * Replaces the whole rate card of {@link Project}: sets {@code rublesPerHour} of every
+   * {@link Rate} at once and invalidates team cost of {@link Project} only once.
+   *
+   * @param request   must be not {@code null}; it's {@code rates} must contain exactly one rate for
+   *                  every {@link Position}; every {@code rublesPerHour} must be not null and it
+   *                  must be {@code > 0}
+   * @param projectId must be {@code > 0}
+   * @return {@link List} of {@link RateDto}s
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository}; if {@link Position} with
+   *                                    such name does not exist; if {@link Position} is specified
+   *                                    more than once; if rate is missing for any
+   *                                    {@link Position}
+   */
+  @RetryOnConflict
+  @Transactional
+  public List<RateDto> updateRates(final UpdateRatesDtoRequest request, final long projectId) {
+    final var rublesPerHourByPosition = new EnumMap<Position, BigDecimal>(Position.class);
+
+    for (final var rateRequest : request.rates()) {
+      final var position = positionService.toPosition(rateRequest.position(), "rates");
+
+      if (rublesPerHourByPosition.containsKey(position)) {
+        throw new ProjectCalculatorException(ProjectCalculatorError.DUPLICATE_POSITION, "rates");
+      }
+
+      rublesPerHourByPosition.put(position, rateRequest.rublesPerHour());
+    }
+
+    if (rublesPerHourByPosition.size() != Position.values().length) {
+      throw new ProjectCalculatorException(ProjectCalculatorError.RATE_IS_MISSING_FOR_POSITION,
+          "rates");
+    }
+
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+
+    final var rates = new ArrayList<>(rateRepository.findAllByProjectId(projectId));
+
+    log.info("Before update List<Rate> by projectId = {}: {}", projectId, rates);
+
+    // all rates are created with project, but anyway create missing ones instead of failing
+
+    final var missingPositions = EnumSet.allOf(Position.class);
+
+    for (final var rate : rates) {
+      rate.setRublesPerHour(rublesPerHourByPosition.get(rate.getPosition()));
+      missingPositions.remove(rate.getPosition());
+    }
+
+    if (!missingPositions.isEmpty()) {
+      final var missingRates = missingPositions.stream()
+          .map(position ->
+              new Rate(0L, position, rublesPerHourByPosition.get(position), project))
+          .toList();
+
+      rateRepository.saveAll(missingRates);
+      rates.addAll(missingRates);
+    }
+
+    project.setLastUpdatedAt(LocalDateTime.now(clock));
+
+    teamCostCache.invalidate(projectId);
+
+    log.info("Updated List<Rate> by projectId = {}: {}", projectId, rates);
+
+    return rates.stream()
+        .map(rateMapper::toRateDto)
+        .toList();
+  }
+
   /**
    * Fetches {@link Rate} from {@link RateRepository} by {@code projectId} and {@code rateId}.
    *
@@ -0,0 +1,17 @@
+package org.example.projectcalculator.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Marks {@code @Transactional} method of a bean that is re-invoked (in a new transaction) if it
+ * fails with {@link OptimisticLockingFailureException}, see {@link ConflictRetryAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+}
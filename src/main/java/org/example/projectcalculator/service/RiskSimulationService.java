@@ -0,0 +1,203 @@
+package org.example.projectcalculator.service;
+
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.ESTIMATE_FRACTIONAL_PART;
+import static org.example.projectcalculator.configuration.ApplicationConfiguration.ESTIMATE_ROUNDING_MODE;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.dto.FeatureGroupRiskDto;
+import org.example.projectcalculator.dto.PercentilesDto;
+import org.example.projectcalculator.dto.ProjectRiskDto;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Milestone;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.repository.FeatureRepository;
+import org.example.projectcalculator.repository.MilestoneRepository;
+import org.example.projectcalculator.repository.ProjectRepository;
+import org.example.projectcalculator.repository.projection.FeatureThreePointEstimate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A {@link Service} that estimates schedule and cost risk of {@link Project} with Monte Carlo
+ * simulation of three-point estimates of it's {@link Feature}s (see {@link RiskSimulator}).
+ *
+ * <p>CPU time of simulation is proportional to {@code features * iterations} and it's memory to
+ * {@code (milestones + 2) * iterations}, so both are limited by budgets and larger simulations
+ * are rejected.
+ */
+@Service
+@Slf4j
+public class RiskSimulationService {
+
+  private static final int[] PERCENTILES = {50, 80, 95};
+
+  private final ProjectOwnershipGuard projectOwnershipGuard;
+  private final PriceService priceService;
+  private final RiskSimulator riskSimulator;
+
+  private final MilestoneRepository milestoneRepository;
+  private final FeatureRepository featureRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final long maxSamples;
+  private final long maxSums;
+
+  public RiskSimulationService(
+      final ProjectOwnershipGuard projectOwnershipGuard,
+      final PriceService priceService,
+      final RiskSimulator riskSimulator,
+      final MilestoneRepository milestoneRepository,
+      final FeatureRepository featureRepository,
+      final PlatformTransactionManager transactionManager,
+      @Value("${project-calculator.risk-simulation.max-samples:50000000}") final long maxSamples,
+      @Value("${project-calculator.risk-simulation.max-sums:5000000}") final long maxSums) {
+    this.projectOwnershipGuard = projectOwnershipGuard;
+    this.priceService = priceService;
+    this.riskSimulator = riskSimulator;
+    this.milestoneRepository = milestoneRepository;
+    this.featureRepository = featureRepository;
+    this.maxSamples = maxSamples;
+    this.maxSums = maxSums;
+
+    // both queries read the same snapshot of database, so every Feature belongs to a loaded
+    // Milestone; simulation itself is run after commit, so it doesn't hold a connection
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+  }
+
+  /**
+   * Returns P50, P80 and P95 of estimate and price of {@link Project}, of every it's
+   * {@link Milestone} and of {@link Feature}s without {@link Milestone}. Estimate of every
+   * {@link Feature} is sampled from PERT distribution of it's three-point estimate in every
+   * iteration. The result is the same for the same {@code seed} and data.
+   *
+   * @param projectId  must be {@code > 0}
+   * @param iterations must be {@code > 0}
+   * @param seed       seed of random generator
+   * @return {@link ProjectRiskDto}
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository} or if simulation
+   *                                    exceeds the budget of samples or sums
+   */
+  public ProjectRiskDto simulateProjectRisk(final long projectId, final int iterations,
+      final long seed) {
+    final var input = transactionTemplate.execute(status -> loadInput(projectId));
+
+    final var milestones = input.milestones();
+    final var featureEstimates = input.featureEstimates();
+
+    checkBudget(featureEstimates.size(), milestones.size() + 2, iterations);
+
+    // groups are milestones in order of ids and then features without milestone; they are
+    // keyed by id, because Milestone has constant hashCode
+    final var groupsByMilestoneId = new HashMap<Long, Integer>();
+
+    for (var group = 0; group < milestones.size(); ++group) {
+      groupsByMilestoneId.put(milestones.get(group).getId(), group);
+    }
+
+    final var unassignedGroup = milestones.size();
+    final var featureCount = featureEstimates.size();
+    final var bestCases = new double[featureCount];
+    final var mostLikelys = new double[featureCount];
+    final var worstCases = new double[featureCount];
+    final var groups = new int[featureCount];
+
+    for (var i = 0; i < featureCount; ++i) {
+      final var featureEstimate = featureEstimates.get(i);
+      final var milestoneId = featureEstimate.getMilestoneId();
+
+      bestCases[i] = featureEstimate.getBestCaseEstimateInDays().doubleValue();
+      mostLikelys[i] = featureEstimate.getMostLikelyEstimateInDays().doubleValue();
+      worstCases[i] = featureEstimate.getWorstCaseEstimateInDays().doubleValue();
+      groups[i] = (milestoneId != null) ? groupsByMilestoneId.get(milestoneId) : unassignedGroup;
+    }
+
+    final var sums = riskSimulator.simulate(bestCases, mostLikelys, worstCases, groups,
+        unassignedGroup + 1, iterations, seed);
+
+    log.info("Simulate risk of Project by projectId = {}: {} Features, {} iterations, seed = {}",
+        projectId, featureCount, iterations, seed);
+
+    final var teamCostSnapshot = input.teamCostSnapshot();
+    final var milestoneRisks = new ArrayList<FeatureGroupRiskDto>(milestones.size());
+
+    for (var group = 0; group < milestones.size(); ++group) {
+      final var milestone = milestones.get(group);
+
+      milestoneRisks.add(toFeatureGroupRiskDto(milestone.getId(), milestone.getTitle(),
+          sums[group], teamCostSnapshot));
+    }
+
+    final var projectRisk = toFeatureGroupRiskDto(null, null, sums[sums.length - 1],
+        teamCostSnapshot);
+
+    return new ProjectRiskDto(
+        projectId,
+        iterations,
+        seed,
+        projectRisk.estimateInDays(),
+        projectRisk.priceInRubles(),
+        milestoneRisks,
+        toFeatureGroupRiskDto(null, null, sums[unassignedGroup], teamCostSnapshot));
+  }
+
+  private void checkBudget(final long featureCount, final long sumCount, final long iterations) {
+    if (featureCount * iterations > maxSamples || sumCount * iterations > maxSums) {
+      log.info("Reject risk simulation: {} Features, {} sums, {} iterations", featureCount,
+          sumCount, iterations);
+
+      throw new ProjectCalculatorException(ProjectCalculatorError.RISK_SIMULATION_IS_TOO_LARGE,
+          "iterations");
+    }
+  }
+
+  private SimulationInput loadInput(final long projectId) {
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+
+    final var milestones = milestoneRepository.findAllByProjectId(projectId).stream()
+        .sorted(Comparator.comparingLong(Milestone::getId))
+        .toList();
+    final var featureEstimates = featureRepository.findAllThreePointEstimatesByProjectId(
+        projectId);
+
+    return new SimulationInput(priceService.getTeamCostSnapshot(project), milestones,
+        featureEstimates);
+  }
+
+  private FeatureGroupRiskDto toFeatureGroupRiskDto(final Long milestoneId, final String title,
+      final double[] sortedSums, final TeamCostSnapshot teamCostSnapshot) {
+    final var estimates = new BigDecimal[PERCENTILES.length];
+    final var prices = new BigDecimal[PERCENTILES.length];
+
+    for (var i = 0; i < PERCENTILES.length; ++i) {
+      // price is linear in estimate, so percentile of price is price of percentile of estimate
+      estimates[i] = BigDecimal.valueOf(RiskSimulator.percentile(sortedSums, PERCENTILES[i]))
+          .setScale(ESTIMATE_FRACTIONAL_PART, ESTIMATE_ROUNDING_MODE);
+      prices[i] = priceService.computePriceInRubles(teamCostSnapshot, estimates[i]);
+    }
+
+    return new FeatureGroupRiskDto(milestoneId, title,
+        new PercentilesDto(estimates[0], estimates[1], estimates[2]),
+        new PercentilesDto(prices[0], prices[1], prices[2]));
+  }
+
+  private record SimulationInput(
+      TeamCostSnapshot teamCostSnapshot,
+      List<Milestone> milestones,
+      List<FeatureThreePointEstimate> featureEstimates) {
+
+  }
+}
@@ -0,0 +1,225 @@
+package org.example.projectcalculator.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.model.Feature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monte Carlo simulation of sums of three-point estimates of {@link Feature}s.
+ *
+ * <p>Estimate of every {@link Feature} is sampled from PERT distribution (beta distribution
+ * scaled to {@code [bestCase, worstCase]} with mode {@code mostLikely} and mean
+ * {@code (bestCase + 4 * mostLikely + worstCase) / 6}). Samples are summed by group (e.g.
+ * {@link org.example.projectcalculator.model.Milestone}) and for all {@link Feature}s.
+ *
+ * <p>Iterations are split into chunks of {@value #CHUNK_SIZE} that are simulated in parallel on a
+ * dedicated bounded {@link ForkJoinPool} (not the common one, so that simulations don't starve
+ * parallel streams and {@link ParallelMapper}, and vice versa). Every chunk has it's own
+ * {@link SplittableRandom} that is split from the one created with seed before simulation, so the
+ * result depends only on the seed and not on the number of cores or on scheduling.
+ */
+@Component
+@Slf4j
+public class RiskSimulator {
+
+  static final int CHUNK_SIZE = 256;
+
+  private final ForkJoinPool forkJoinPool;
+
+  public RiskSimulator(
+      @Value("${project-calculator.risk-simulation.parallelism:0}") final int parallelism) {
+    forkJoinPool = new ForkJoinPool(
+        (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors(),
+        pool -> {
+          final var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("risk-simulation-" + thread.getPoolIndex());
+
+          return thread;
+        },
+        null,
+        false);
+
+    log.info("Risk is simulated by {} threads", forkJoinPool.getParallelism());
+  }
+
+  /**
+   * Simulates sums of estimates of {@link Feature}s.
+   *
+   * @param bestCases   best case estimates of {@link Feature}s, must be not {@code null}
+   * @param mostLikelys most likely estimates of {@link Feature}s, must be not {@code null} and
+   *                    have the same length as {@code bestCases}
+   * @param worstCases  worst case estimates of {@link Feature}s, must be not {@code null} and
+   *                    have the same length as {@code bestCases};
+   *                    {@code bestCase <= mostLikely <= worstCase} for every {@link Feature}
+   * @param groups      index of group of every {@link Feature}, must be not {@code null} and have
+   *                    the same length as {@code bestCases}; {@code 0 <= group < groupCount}
+   * @param groupCount  must be {@code >= 0}
+   * @param iterations  must be {@code > 0}
+   * @param seed        seed of random generator
+   * @return {@code groupCount + 1} arrays of {@code iterations} sums sorted in ascending order:
+   *     sums of every group and then sums of all {@link Feature}s
+   */
+  public double[][] simulate(final double[] bestCases, final double[] mostLikelys,
+      final double[] worstCases, final int[] groups, final int groupCount, final int iterations,
+      final long seed) {
+    final var featureCount = bestCases.length;
+
+    // PERT shapes and constants of gamma sampling are computed once for all iterations
+    final var ranges = new double[featureCount];
+    final var alphaGammas = new double[featureCount];
+    final var betaGammas = new double[featureCount];
+
+    for (var i = 0; i < featureCount; ++i) {
+      ranges[i] = worstCases[i] - bestCases[i];
+
+      if (ranges[i] > 0.0) {
+        alphaGammas[i] = 1.0 + 4.0 * (mostLikelys[i] - bestCases[i]) / ranges[i] - 1.0 / 3.0;
+        betaGammas[i] = 1.0 + 4.0 * (worstCases[i] - mostLikelys[i]) / ranges[i] - 1.0 / 3.0;
+      }
+    }
+
+    final var sums = new double[groupCount + 1][iterations];
+    final var chunkCount = (iterations + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final var randoms = new SplittableRandom[chunkCount];
+    final var random = new SplittableRandom(seed);
+
+    for (var chunk = 0; chunk < chunkCount; ++chunk) {
+      randoms[chunk] = random.split();
+    }
+
+    forkJoinPool.invoke(new SimulationTask(bestCases, ranges, alphaGammas, betaGammas, groups,
+        randoms, sums, 0, chunkCount));
+
+    for (final var groupSums : sums) {
+      Arrays.sort(groupSums);
+    }
+
+    return sums;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    forkJoinPool.shutdown();
+  }
+
+  /**
+   * Returns percentile of sorted samples (nearest-rank method).
+   *
+   * @param sortedSamples must be not empty and sorted in ascending order
+   * @param percentile    must be {@code > 0} and {@code <= 100}
+   * @return sample
+   */
+  public static double percentile(final double[] sortedSamples, final int percentile) {
+    final var rank = (int) Math.ceil(percentile / 100.0 * sortedSamples.length);
+
+    return sortedSamples[Math.max(rank, 1) - 1];
+  }
+
+  // gamma distribution with shape d + 1/3 >= 1 (Marsaglia and Tsang method)
+  private static double sampleGamma(final SplittableRandom random, final double d) {
+    final var c = 1.0 / Math.sqrt(9.0 * d);
+
+    while (true) {
+      final var x = random.nextGaussian();
+      var v = 1.0 + c * x;
+
+      if (v <= 0.0) {
+        continue;
+      }
+
+      v = v * v * v;
+
+      final var u = random.nextDouble();
+      final var xx = x * x;
+
+      if (u < 1.0 - 0.0331 * xx * xx
+          || Math.log(u) < 0.5 * xx + d * (1.0 - v + Math.log(v))) {
+        return d * v;
+      }
+    }
+  }
+
+  private static final class SimulationTask extends RecursiveAction {
+
+    private final double[] bestCases;
+    private final double[] ranges;
+    private final double[] alphaGammas;
+    private final double[] betaGammas;
+    private final int[] groups;
+
+    private final SplittableRandom[] randoms;
+
+    private final double[][] sums;
+
+    private final int fromChunk;
+    private final int toChunk;
+
+    private SimulationTask(final double[] bestCases, final double[] ranges,
+        final double[] alphaGammas, final double[] betaGammas, final int[] groups,
+        final SplittableRandom[] randoms, final double[][] sums, final int fromChunk,
+        final int toChunk) {
+      this.bestCases = bestCases;
+      this.ranges = ranges;
+      this.alphaGammas = alphaGammas;
+      this.betaGammas = betaGammas;
+      this.groups = groups;
+      this.randoms = randoms;
+      this.sums = sums;
+      this.fromChunk = fromChunk;
+      this.toChunk = toChunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (toChunk - fromChunk > 1) {
+        final var middleChunk = (fromChunk + toChunk) >>> 1;
+
+        invokeAll(
+            new SimulationTask(bestCases, ranges, alphaGammas, betaGammas, groups, randoms, sums,
+                fromChunk, middleChunk),
+            new SimulationTask(bestCases, ranges, alphaGammas, betaGammas, groups, randoms, sums,
+                middleChunk, toChunk));
+
+        return;
+      }
+
+      final var random = randoms[fromChunk];
+      final var totalSums = sums[sums.length - 1];
+      final var groupSums = new double[sums.length - 1];
+      final var fromIteration = fromChunk * CHUNK_SIZE;
+      final var toIteration = Math.min(fromIteration + CHUNK_SIZE, totalSums.length);
+
+      for (var iteration = fromIteration; iteration < toIteration; ++iteration) {
+        Arrays.fill(groupSums, 0.0);
+
+        var totalSum = 0.0;
+
+        for (var i = 0; i < bestCases.length; ++i) {
+          var sample = bestCases[i];
+
+          if (ranges[i] > 0.0) {
+            final var x = sampleGamma(random, alphaGammas[i]);
+            final var y = sampleGamma(random, betaGammas[i]);
+
+            sample += ranges[i] * x / (x + y);
+          }
+
+          groupSums[groups[i]] += sample;
+          totalSum += sample;
+        }
+
+        for (var group = 0; group < groupSums.length; ++group) {
+          sums[group][iteration] = groupSums[group];
+        }
+
+        totalSums[iteration] = totalSum;
+      }
+    }
+  }
+}
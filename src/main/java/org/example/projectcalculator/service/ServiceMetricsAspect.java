@@ -0,0 +1,70 @@
+package org.example.projectcalculator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of beans annotated with {@link Metered} in
+ * {@code project-calculator.service} metric with {@code class}, {@code method} and
+ * {@code exception} ({@code none} if the method returned normally) tags, so count of calls and
+ * failures is also recorded.
+ *
+ * <p>{@link PriceService} is not {@link Metered}, because it is called for every priced entity;
+ * instead it counts it's calls in {@code project-calculator.price} metric, and pricing of
+ * {@link org.example.projectcalculator.model.Feature} listings is timed once per listing by
+ * {@link ParallelMapper}.
+ *
+ * <p>It is applied right after {@link ConflictRetryAspect}, so every attempt is timed separately
+ * and the time includes commit of the transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceMetricsAspect {
+
+  private static final String NO_EXCEPTION = "none";
+
+  private final MeterRegistry meterRegistry;
+
+  // timers of successful calls are cached, so that tags are not built on every call
+  private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+  public ServiceMetricsAspect(final MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Around("@within(org.example.projectcalculator.service.Metered) && execution(public * *(..))")
+  public Object time(final ProceedingJoinPoint joinPoint) throws Throwable {
+    final var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    final var sample = Timer.start(meterRegistry);
+
+    try {
+      final var result = joinPoint.proceed();
+
+      sample.stop(timers.computeIfAbsent(method, key -> timer(joinPoint, NO_EXCEPTION)));
+
+      return result;
+    } catch (final Throwable e) {
+      sample.stop(timer(joinPoint, e.getClass().getSimpleName()));
+
+      throw e;
+    }
+  }
+
+  private Timer timer(final ProceedingJoinPoint joinPoint, final String exception) {
+    return meterRegistry.timer("project-calculator.service",
+        "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+        "method", joinPoint.getSignature().getName(),
+        "exception", exception);
+  }
+}
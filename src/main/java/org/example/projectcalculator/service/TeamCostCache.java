@@ -0,0 +1,110 @@
+package org.example.projectcalculator.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.configuration.ReplicaRoutingDataSource;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.TeamMember;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A bounded short-lived cache of {@link TeamCostSnapshot}s by {@link Project} id that is shared between
+ * requests.
+ *
+ * <p>{@link TeamCostSnapshot} depends only on {@link Rate}s and {@link TeamMember}s of a
+ * {@link Project}, so every operation that changes them must call {@link #invalidate(long)}.
+ * {@link TeamCostSnapshot} that was computed in a transaction that reads from the replica is not
+ * cached, because the replica may not have the latest changes yet (and the invalidation has
+ * already happened).
+ * Hit/miss/eviction counters are exposed through actuator metrics with {@code cache=teamCost}
+ * tag.
+ */
+@Component
+@Slf4j
+public class TeamCostCache {
+
+  private final Cache<Long, TeamCostSnapshot> cache;
+
+  // is incremented on every invalidation, so that a snapshot that was being computed from
+  // (possibly) stale data during invalidation is not put in the cache; it is read right before
+  // load, so rows that the transaction has read before may be older than it (callers that fetch
+  // rates and team members in advance compute snapshots without the cache), time to live bounds
+  // staleness of snapshots that are cached anyway
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  public TeamCostCache(
+      @Value("${project-calculator.team-cost-cache.time-to-live:1m}") final Duration timeToLive,
+      @Value("${project-calculator.team-cost-cache.maximum-size:10000}") final long maximumSize,
+      final MeterRegistry meterRegistry) {
+    cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(timeToLive)
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+
+    GuavaCacheMetrics.monitor(meterRegistry, cache, "teamCost");
+  }
+
+  /**
+   * Returns cached {@link TeamCostSnapshot} of {@link Project} or computes it with {@code loader}
+   * and caches it.
+   *
+   * @param projectId must be {@code > 0}
+   * @param loader    must be not {@code null}
+   * @return {@link TeamCostSnapshot}
+   */
+  public TeamCostSnapshot get(final long projectId, final Supplier<TeamCostSnapshot> loader) {
+    final var cachedTeamCostSnapshot = cache.getIfPresent(projectId);
+
+    if (cachedTeamCostSnapshot != null) {
+      return cachedTeamCostSnapshot;
+    }
+
+    final var invalidationCountBeforeLoad = invalidationCount.get();
+    final var teamCostSnapshot = loader.get();
+
+    if (invalidationCount.get() == invalidationCountBeforeLoad
+        && !ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica()) {
+      cache.put(projectId, teamCostSnapshot);
+    }
+
+    return teamCostSnapshot;
+  }
+
+  /**
+   * Removes {@link TeamCostSnapshot} of {@link Project} from the cache. If there is an active
+   * transaction, then it is removed once again after commit, because concurrent readers may have
+   * cached the state before commit.
+   *
+   * @param projectId must be {@code > 0}
+   */
+  public void invalidate(final long projectId) {
+    evict(projectId);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict(projectId);
+        }
+      });
+    }
+  }
+
+  private void evict(final long projectId) {
+    invalidationCount.incrementAndGet();
+    cache.invalidate(projectId);
+
+    log.debug("Invalidate TeamCostSnapshot by projectId = {}", projectId);
+  }
+}
@@ -0,0 +1,59 @@
+package org.example.projectcalculator.service;
+
+import java.math.BigDecimal;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+
+/**
+ * Immutable hourly cost of the team of a {@link Project}. For every {@link Position} it holds rate
+ * in RUB per hour multiplied by the number of team members on this position (indexed by
+ * {@link Position#ordinal()}) and the sum of these values for the whole team.
+ *
+ * <p>It is computed by {@link PriceService#createTeamCostSnapshot(Project)} once and then reused
+ * to price any number of features/milestones of the same {@link Project}.
+ */
+public final class TeamCostSnapshot {
+
+  private static final BigDecimal HOURS_IN_DAY = BigDecimal.valueOf(8);
+
+  private final BigDecimal[] positionPricesInRublesPerHour;
+
+  private final BigDecimal[] positionPricesInRublesPerDay;
+
+  @Getter
+  private final BigDecimal teamPriceInRublesPerHour;
+
+  // scale of HOURS_IN_DAY is 0, so estimate * teamPriceInRublesPerDay is exactly the same as
+  // estimate * teamPriceInRublesPerHour * HOURS_IN_DAY (including scale)
+  @Getter(AccessLevel.PACKAGE)
+  private final BigDecimal teamPriceInRublesPerDay;
+
+  TeamCostSnapshot(final BigDecimal[] positionPricesInRublesPerHour,
+      final BigDecimal teamPriceInRublesPerHour) {
+    this.positionPricesInRublesPerHour = positionPricesInRublesPerHour;
+    this.teamPriceInRublesPerHour = teamPriceInRublesPerHour;
+    this.teamPriceInRublesPerDay = teamPriceInRublesPerHour.multiply(HOURS_IN_DAY);
+
+    positionPricesInRublesPerDay = new BigDecimal[positionPricesInRublesPerHour.length];
+
+    for (var i = 0; i < positionPricesInRublesPerHour.length; ++i) {
+      positionPricesInRublesPerDay[i] = positionPricesInRublesPerHour[i].multiply(HOURS_IN_DAY);
+    }
+  }
+
+  /**
+   * Returns hourly price in RUB of all team members on given {@link Position}.
+   *
+   * @param position must be not {@code null}
+   * @return {@link BigDecimal}
+   */
+  public BigDecimal getPositionPriceInRublesPerHour(final Position position) {
+    return positionPricesInRublesPerHour[position.ordinal()];
+  }
+
+  BigDecimal getPositionPriceInRublesPerDay(final Position position) {
+    return positionPricesInRublesPerDay[position.ordinal()];
+  }
+}
@@ -1,13 +1,18 @@
 package org.example.projectcalculator.service;
 
+import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.projectcalculator.dto.TeamMemberDto;
 import org.example.projectcalculator.dto.request.CreateUpdateTeamMemberDtoRequest;
+import org.example.projectcalculator.dto.request.UpdateTeamMembersDtoRequest;
 import org.example.projectcalculator.error.ProjectCalculatorError;
 import org.example.projectcalculator.error.ProjectCalculatorException;
 import org.example.projectcalculator.mapper.TeamMemberMapper;
@@ -24,11 +29,15 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Slf4j
 @Service
+@Metered
 @AllArgsConstructor
 public class TeamMemberService {
 
-  private final UserService userService;
-  private final ProjectService projectService;
+  private final ProjectOwnershipGuard projectOwnershipGuard;
+
+  private final PositionService positionService;
+
+  private final TeamCostCache teamCostCache;
 
   private final TeamMemberRepository teamMemberRepository;
 
@@ -48,15 +57,13 @@ public class TeamMemberService {
    *                                    with specified {@link Position} already exists; if
    *                                    {@link Position} with such name does not exist
    */
+  @RetryOnConflict
   @Transactional
   public TeamMemberDto createTeamMember(final CreateUpdateTeamMemberDtoRequest request,
       final long projectId) {
     checkIfStringIsValidPosition(request.position());
 
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var teamMembers = teamMemberRepository.findAllByProjectId(projectId);
 
@@ -67,6 +74,8 @@ public class TeamMemberService {
 
     project.setLastUpdatedAt(LocalDateTime.now(clock));
 
+    teamCostCache.invalidate(projectId);
+
     log.info("Created {}", teamMember);
 
     return teamMemberMapper.toTeamMemberDto(teamMember);
@@ -82,10 +91,7 @@ public class TeamMemberService {
    */
   @Transactional(readOnly = true)
   public List<TeamMemberDto> getAllTeamMembers(final long projectId) {
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    projectOwnershipGuard.checkIfUserOwnsProject(projectId);
 
     final var teamMembers = teamMemberRepository.findAllByProjectId(projectId);
 
@@ -107,15 +113,13 @@ public class TeamMemberService {
    * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
    *                                    found in {@link ProjectRepository}
    */
+  @RetryOnConflict
   @Transactional
   public TeamMemberDto updateTeamMember(final CreateUpdateTeamMemberDtoRequest request,
       final long projectId, final long teamMemberId) {
     checkIfStringIsValidPosition(request.position());
 
-    final var project = projectService.getProject(projectId);
-    final var user = userService.getCurrentlyAuthenticatedUser();
-
-    projectService.checkIfUserOwnsProject(user, project);
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
 
     final var teamMembers = teamMemberRepository.findAllByProjectId(projectId);
 
@@ -134,11 +138,88 @@ public class TeamMemberService {
 
     project.setLastUpdatedAt(LocalDateTime.now(clock));
 
+    teamCostCache.invalidate(projectId);
+
     log.info("Updated {}", teamMember);
 
     return teamMemberMapper.toTeamMemberDto(teamMember);
   }
 
+  /**
+   * Replaces the whole team composition of {@link Project}: {@link TeamMember}s with the same
+   * {@link Position} are updated, new ones are created and the rest are deleted at once, team cost
+   * of {@link Project} is invalidated only once.
+   *
+   * @param request   must be not {@code null}; it's {@code teamMembers} may be empty, every team
+   *                  member has the same requirements as in
+   *                  {@link #createTeamMember(CreateUpdateTeamMemberDtoRequest, long)} and every
+   *                  {@link Position} may be specified only once
+   * @param projectId must be {@code > 0}
+   * @return {@link List} of {@link TeamMemberDto}s in the same order as in {@code request}
+   * @throws ProjectCalculatorException if {@link Project} with specified {@code projectId} is not
+   *                                    found in {@link ProjectRepository}; if {@link Position} with
+   *                                    such name does not exist; if {@link Position} is specified
+   *                                    more than once
+   */
+  @RetryOnConflict
+  @Transactional
+  public List<TeamMemberDto> updateTeamMembers(final UpdateTeamMembersDtoRequest request,
+      final long projectId) {
+    final var numberOfTeamMembersByPosition = new LinkedHashMap<Position, BigDecimal>();
+
+    for (final var teamMemberRequest : request.teamMembers()) {
+      final var position = positionService.toPosition(teamMemberRequest.position(), "teamMembers");
+
+      if (numberOfTeamMembersByPosition.containsKey(position)) {
+        throw new ProjectCalculatorException(ProjectCalculatorError.DUPLICATE_POSITION,
+            "teamMembers");
+      }
+
+      numberOfTeamMembersByPosition.put(position, teamMemberRequest.numberOfTeamMembers());
+    }
+
+    final var project = projectOwnershipGuard.getOwnedProject(projectId);
+
+    // existing rows are matched by position, so (project_id, position) stays unique within the
+    // flush whatever order Hibernate executes inserts and deletes in
+
+    final var existingTeamMembers = new EnumMap<Position, TeamMember>(Position.class);
+    teamMemberRepository.findAllByProjectId(projectId)
+        .forEach(teamMember -> existingTeamMembers.put(teamMember.getPosition(), teamMember));
+
+    log.info("Before update List<TeamMember> by projectId = {}: {}", projectId,
+        existingTeamMembers.values());
+
+    final var teamMembers = new ArrayList<TeamMember>(numberOfTeamMembersByPosition.size());
+    final var newTeamMembers = new ArrayList<TeamMember>();
+
+    numberOfTeamMembersByPosition.forEach((position, numberOfTeamMembers) -> {
+      var teamMember = existingTeamMembers.remove(position);
+
+      if (teamMember != null) {
+        teamMember.setNumberOfTeamMembers(numberOfTeamMembers);
+      } else {
+        teamMember = new TeamMember(0L, position, numberOfTeamMembers, project);
+        newTeamMembers.add(teamMember);
+      }
+
+      teamMembers.add(teamMember);
+    });
+
+    teamMemberRepository.saveAll(newTeamMembers);
+    teamMemberRepository.deleteAll(existingTeamMembers.values());
+
+    project.setLastUpdatedAt(LocalDateTime.now(clock));
+
+    teamCostCache.invalidate(projectId);
+
+    log.info("Updated List<TeamMember> by projectId = {}: {}", projectId, teamMembers);
+
+    return teamMembers.stream()
+        .map(teamMemberMapper::toTeamMemberDto)
+        .toList();
+  }
+
   /**
    * Deletes {@link TeamMember} from {@link TeamMemberRepository}.
    *
@@ -149,8 +230,11 @@ public class TeamMemberService {
    *                                    with specified {@code teamMemberId} is not found in
    *                                    {@link TeamMemberRepository}
    */
+  @RetryOnConflict
   @Transactional
   public void deleteTeamMember(final long projectId, final long teamMemberId) {
+    projectOwnershipGuard.checkIfUserOwnsProject(projectId);
+
     final var teamMember = getTeamMember(projectId, teamMemberId);
 
     log.info("Trying to delete {}", teamMember);
@@ -159,6 +243,8 @@ public class TeamMemberService {
 
     teamMemberRepository.delete(teamMember);
 
+    teamCostCache.invalidate(projectId);
+
     log.info("Deleted {}", teamMember);
   }
 
@@ -0,0 +1,125 @@
+package org.example.projectcalculator.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.example.projectcalculator.configuration.ReplicaRoutingDataSource;
+import org.example.projectcalculator.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * A short-lived cache of {@link User}s by {@code login} that is shared between requests.
+ *
+ * <p>It returns detached copies of {@link User}s, so they must not be modified in order to
+ * update {@link User} in database. Every operation that changes {@link User} must call
+ * {@link #invalidate(String)}.
+ *
+ * <p>{@link User} may be loaded concurrently with invalidation, so it is cached only if its
+ * {@code login} was not invalidated while loading (the same way as in
+ * {@link org.example.projectcalculator.security.CredentialCache}). {@link User} that was loaded
+ * in a transaction that reads from the replica is not cached, because it may be stale.
+ */
+@Component
+@Slf4j
+public class UserCache {
+
+  // logins share generations by hash, collision only makes get() skip caching
+  private static final int GENERATION_STRIPES = 1024;
+
+  private final Cache<String, User> cache;
+
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+  public UserCache(
+      @Value("${project-calculator.user-cache.time-to-live:30s}") final Duration timeToLive,
+      @Value("${project-calculator.user-cache.maximum-size:10000}") final long maximumSize,
+      final MeterRegistry meterRegistry) {
+    cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(timeToLive)
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+
+    GuavaCacheMetrics.monitor(meterRegistry, cache, "user");
+  }
+
+  /**
+   * Returns copy of cached {@link User} or loads it with {@code loader} and caches it.
+   *
+   * @param login  must be not {@code null}
+   * @param loader must be not {@code null}; it may throw exception if {@link User} is not found,
+   *               then nothing is cached
+   * @return {@link User}
+   */
+  public User get(final String login, final Supplier<User> loader) {
+    var user = cache.getIfPresent(login);
+
+    if (user == null) {
+      final var stripe = stripeOf(login);
+      final var generation = generations.get(stripe);
+
+      user = copyOf(loader.get());
+
+      if (generations.get(stripe) == generation
+          && !ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica()) {
+        cache.put(login, user);
+
+        // invalidate() bumps generation before eviction, so if it has run concurrently, then
+        // either its eviction or this removal happens after put()
+        if (generations.get(stripe) != generation) {
+          cache.asMap().remove(login, user);
+        }
+      }
+    }
+
+    return copyOf(user);
+  }
+
+  /**
+   * Removes {@link User} from the cache. If there is an active transaction, then it is removed
+   * once again after commit, because concurrent readers may have cached the state before commit.
+   *
+   * @param login must be not {@code null}
+   */
+  public void invalidate(final String login) {
+    evict(login);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict(login);
+        }
+      });
+    }
+  }
+
+  private void evict(final String login) {
+    generations.incrementAndGet(stripeOf(login));
+    cache.invalidate(login);
+
+    log.debug("Invalidate User by login = {}", login);
+  }
+
+  private static int stripeOf(final String login) {
+    return Math.floorMod(login.hashCode(), GENERATION_STRIPES);
+  }
+
+  private static User copyOf(final User user) {
+    return new User(
+        user.getId(),
+        user.getLogin(),
+        user.getPasswordHash(),
+        user.getEmail(),
+        user.getCreatedAt(),
+        user.getLastUpdatedAt());
+  }
+}
@@ -12,6 +12,8 @@ import org.example.projectcalculator.error.ProjectCalculatorException;
 import org.example.projectcalculator.mapper.UserMapper;
 import org.example.projectcalculator.model.User;
 import org.example.projectcalculator.repository.UserRepository;
+import org.example.projectcalculator.security.AuthenticatedUser;
+import org.example.projectcalculator.security.CredentialCache;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,10 +24,15 @@ import org.springframework.transaction.annotation.Transactional;
  * A {@link Service} that saves {@link User}.
  */
 @Service
+@Metered
 @AllArgsConstructor
 @Slf4j
 public class UserService {
 
+  private final UserCache userCache;
+
+  private final CredentialCache credentialCache;
+
   private final UserRepository userRepository;
 
   private final PasswordEncoder passwordEncoder;
@@ -85,39 +92,71 @@ public class UserService {
    */
   @Transactional
   public UserDto updateUser(final UpdateUserDtoRequest request, final long userId) {
-    final var user = getCurrentlyAuthenticatedUser();
-
-    if (user.getId() != userId) {
+    if (getCurrentlyAuthenticatedUserId() != userId) {
       throw new ProjectCalculatorException(ProjectCalculatorError.USER_IS_NOT_FOUND_BY_ID,
           "userId");
     }
 
+    // UserCache returns detached copies, so managed User is needed here
+    final var user = userRepository
+        .findById(userId)
+        .orElseThrow(
+            () -> new ProjectCalculatorException(ProjectCalculatorError.USER_IS_NOT_FOUND_BY_ID,
+                "userId"));
+
     log.info("Before update {}", user);
 
     user.setPasswordHash(passwordEncoder.encode(request.password()));
     user.setEmail(request.email());
     user.setLastUpdatedAt(LocalDateTime.now(clock));
 
+    userCache.invalidate(user.getLogin());
+    credentialCache.invalidate(user.getLogin());
+
     log.info("Updated {}", user);
 
     return userMapper.toUserDto(user);
   }
 
   /**
-   * Fetches currently authenticated {@link User} from {@link UserRepository} using
-   * {@link SecurityContextHolder}.
+   * Returns {@code id} of currently authenticated {@link User} from {@link SecurityContextHolder}.
+   * If principal is {@link AuthenticatedUser} (it is after authentication with
+   * {@link org.example.projectcalculator.security.AuthenticationUserDetailsService}), then
+   * database is not queried.
+   *
+   * @return {@code id} of current authenticated {@link User}
+   * @throws ProjectCalculatorException if {@link User} from {@link SecurityContextHolder} is not
+   *                                    found in {@link UserRepository}
+   */
+  public long getCurrentlyAuthenticatedUserId() {
+    if (getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+      return authenticatedUser.getId();
+    }
+
+    return getCurrentlyAuthenticatedUser().getId();
+  }
+
+  /**
+   * Fetches currently authenticated {@link User} from {@link UserCache} (or from
+   * {@link UserRepository} on cache miss) using {@link SecurityContextHolder}.
+   *
+   * <p>Returned {@link User} is detached, so it's changes are not saved in
+   * {@link UserRepository}.
    *
    * @return current authenticated {@link User}
    * @throws ProjectCalculatorException if {@link User} from {@link SecurityContextHolder} is not
    *                                    found in {@link UserRepository}
    */
   public User getCurrentlyAuthenticatedUser() {
-    final var userDetails =
-        (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    final var login = getPrincipal().getUsername();
 
-    return userRepository
-        .findByLogin(userDetails.getUsername())
+    return userCache.get(login, () -> userRepository
+        .findByLogin(login)
         .orElseThrow(
-            () -> new ProjectCalculatorException(ProjectCalculatorError.WRONG_LOGIN_OR_PASSWORD));
+            () -> new ProjectCalculatorException(ProjectCalculatorError.WRONG_LOGIN_OR_PASSWORD)));
+  }
+
+  private static UserDetails getPrincipal() {
+    return (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
   }
 }
@@ -0,0 +1,9 @@
+-- ids are allocated by Hibernate in blocks (pooled-lo optimizer), so every sequence must be
+-- incremented by ApplicationConfiguration.ID_ALLOCATION_SIZE
+
+ALTER SEQUENCE user_id_sequence INCREMENT BY 50;
+ALTER SEQUENCE project_id_sequence INCREMENT BY 50;
+ALTER SEQUENCE milestone_id_sequence INCREMENT BY 50;
+ALTER SEQUENCE feature_id_sequence INCREMENT BY 50;
+ALTER SEQUENCE rate_id_sequence INCREMENT BY 50;
+ALTER SEQUENCE team_member_id_sequence INCREMENT BY 50;
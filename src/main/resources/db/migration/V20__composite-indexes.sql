@@ -0,0 +1,41 @@
+-- feature
+-- V6 project_id_index was never created on feature, because milestone already had index
+-- with the same name
+
+CREATE INDEX IF NOT EXISTS feature_project_id_id_index
+ON feature (project_id, id);
+
+CREATE INDEX IF NOT EXISTS feature_project_id_milestone_id_id_index
+ON feature (project_id, milestone_id, id);
+
+-- milestone
+
+DROP INDEX IF EXISTS project_id_index;
+
+CREATE INDEX IF NOT EXISTS milestone_project_id_id_index
+ON milestone (project_id, id);
+
+-- project
+
+DROP INDEX IF EXISTS creator_id_index;
+
+CREATE INDEX IF NOT EXISTS project_creator_id_id_index
+ON project (creator_id, id);
+
+-- project_rate (team cost is computed by index only scan)
+
+ALTER TABLE project_rate
+DROP CONSTRAINT unique_project_id_team_member_position1;
+
+ALTER TABLE project_rate
+ADD CONSTRAINT unique_project_id_team_member_position1
+UNIQUE (project_id, team_member_position) INCLUDE (rubles_per_hour);
+
+-- team_member (team cost is computed by index only scan)
+
+ALTER TABLE team_member
+DROP CONSTRAINT unique_project_id_team_member_position2;
+
+ALTER TABLE team_member
+ADD CONSTRAINT unique_project_id_team_member_position2
+UNIQUE (project_id, team_member_position) INCLUDE (number_of_team_members);
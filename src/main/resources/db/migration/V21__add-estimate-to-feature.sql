@@ -0,0 +1,23 @@
+-- feature estimate_in_days = (a + 4m + b) / 6 rounded UP to 2 significant digits, exactly as
+-- Feature computes it (MathContext(2, UP)), e.g. 4.666... -> 4.7, 123.3... -> 130
+
+ALTER TABLE IF EXISTS feature
+ADD COLUMN estimate_in_days DECIMAL;
+
+UPDATE feature
+SET estimate_in_days = trim_scale(
+  ceil(estimate.sum_of_estimates * power(10::NUMERIC, 1 - estimate.exponent) / 6)
+  / power(10::NUMERIC, 1 - estimate.exponent))
+FROM (
+  SELECT
+    id,
+    best_case_estimate_in_days + 4 * most_likely_estimate_in_days
+      + worst_case_estimate_in_days AS sum_of_estimates,
+    floor(log((best_case_estimate_in_days + 4 * most_likely_estimate_in_days
+      + worst_case_estimate_in_days) / 6)) AS exponent
+  FROM feature
+) estimate
+WHERE feature.id = estimate.id;
+
+ALTER TABLE IF EXISTS feature
+ALTER COLUMN estimate_in_days SET NOT NULL;
@@ -0,0 +1,21 @@
+-- changes of project and milestone estimate_in_days that are not yet added to them: feature
+-- writers only insert rows here (so they don't contend on project row), rows are periodically
+-- compacted into project and milestone by EstimateAggregateService
+
+CREATE TABLE IF NOT EXISTS estimate_delta (
+    id BIGINT PRIMARY KEY,
+    project_id BIGINT NOT NULL REFERENCES project (id) ON DELETE CASCADE ON UPDATE CASCADE,
+    -- NULL if the delta changes only project estimate
+    milestone_id BIGINT REFERENCES milestone (id) ON DELETE CASCADE ON UPDATE CASCADE,
+    estimate_in_days_delta DECIMAL NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- see V19 migration
+CREATE SEQUENCE IF NOT EXISTS estimate_delta_id_sequence AS BIGINT INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS estimate_delta_project_id_index
+ON estimate_delta (project_id);
+
+CREATE INDEX IF NOT EXISTS estimate_delta_milestone_id_index
+ON estimate_delta (milestone_id);
@@ -0,0 +1,11 @@
+-- version of row for optimistic locking (JPA @Version), it is incremented on every update by
+-- Hibernate, so concurrent update of the same row based on stale state fails
+
+ALTER TABLE IF EXISTS project
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE IF EXISTS milestone
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE IF EXISTS feature
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- deleting milestone must not delete it's not yet compacted deltas: they also change project
+-- estimate and features of the milestone stay in the project (feature milestone_id is SET NULL,
+-- see V11), so deltas become project-only ones
+
+ALTER TABLE IF EXISTS estimate_delta
+DROP CONSTRAINT estimate_delta_milestone_id_fkey,
+ADD CONSTRAINT estimate_delta_milestone_id_fkey
+FOREIGN KEY (milestone_id) REFERENCES milestone (id)
+ON DELETE SET NULL
+ON UPDATE CASCADE;
@@ -0,0 +1,7 @@
+-- compaction only moves not yet compacted deltas into estimate_in_days, so it must not
+-- increment version (concurrent writes of project would fail optimistic locking); instead it
+-- increments this counter, which is not mapped to entity and keeps project state (ETag)
+-- changing when the number of not compacted deltas decreases
+
+ALTER TABLE IF EXISTS project
+ADD COLUMN estimate_compaction_count BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- feature estimate_in_days that was computed by the application before V26 may have trailing
+-- zeros (e.g. 4.0), while V21 has computed it without them (e.g. 4), as the application does now;
+-- they are stripped, so the same estimate is serialized in the same way
+
+UPDATE feature
+SET estimate_in_days = trim_scale(estimate_in_days)
+WHERE scale(estimate_in_days) <> scale(trim_scale(estimate_in_days));
@@ -0,0 +1,86 @@
+package org.example.projectcalculator.configuration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionLimitingDataSourceTest {
+
+  private DataSource targetDataSourceMock;
+
+  private ConnectionLimitingDataSource connectionLimitingDataSource;
+
+  @BeforeEach
+  public void initMocks() throws SQLException {
+    targetDataSourceMock = mock(DataSource.class);
+
+    when(targetDataSourceMock.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+    connectionLimitingDataSource = new ConnectionLimitingDataSource(targetDataSourceMock, 2, 10);
+  }
+
+  @Test
+  void testGetConnection_allConnectionsAreHeld_throwAfterTimeout() throws SQLException {
+    connectionLimitingDataSource.getConnection();
+    connectionLimitingDataSource.getConnection();
+
+    Assertions.assertThrows(SQLTransientConnectionException.class,
+        () -> connectionLimitingDataSource.getConnection());
+
+    verify(targetDataSourceMock, times(2)).getConnection();
+  }
+
+  @Test
+  void testGetConnection_connectionIsClosedTwice_releaseOnePermit() throws SQLException {
+    final var connection = connectionLimitingDataSource.getConnection();
+
+    connectionLimitingDataSource.getConnection();
+
+    connection.close();
+    connection.close();
+
+    connectionLimitingDataSource.getConnection();
+
+    Assertions.assertThrows(SQLTransientConnectionException.class,
+        () -> connectionLimitingDataSource.getConnection());
+  }
+
+  @Test
+  void testGetConnection_targetThrows_releasePermit() throws SQLException {
+    when(targetDataSourceMock.getConnection())
+        .thenThrow(new SQLException("connection refused"))
+        .thenThrow(new SQLException("connection refused"))
+        .thenAnswer(invocation -> mock(Connection.class));
+
+    Assertions.assertThrows(SQLException.class, () -> connectionLimitingDataSource.getConnection());
+    Assertions.assertThrows(SQLException.class, () -> connectionLimitingDataSource.getConnection());
+
+    connectionLimitingDataSource.getConnection();
+    connectionLimitingDataSource.getConnection();
+  }
+
+  @Test
+  void testGetConnection_anyMethod_delegateToTargetConnection() throws SQLException {
+    final var targetConnection = mock(Connection.class);
+
+    when(targetDataSourceMock.getConnection()).thenReturn(targetConnection);
+    when(targetConnection.getAutoCommit()).thenReturn(true);
+
+    final var connection = connectionLimitingDataSource.getConnection();
+
+    Assertions.assertTrue(connection.getAutoCommit());
+
+    connection.close();
+
+    verify(targetConnection).close();
+  }
+}
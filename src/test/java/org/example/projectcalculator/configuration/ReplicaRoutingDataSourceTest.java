@@ -0,0 +1,107 @@
+package org.example.projectcalculator.configuration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.sql.DataSource;
+import org.example.projectcalculator.configuration.ReplicaRoutingDataSource.Target;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+
+  private ReplicaLagMonitor replicaLagMonitorMock;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+  @BeforeEach
+  public void initMocks() {
+    replicaLagMonitorMock = mock(ReplicaLagMonitor.class);
+    meterRegistry = new SimpleMeterRegistry();
+
+    replicaRoutingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class),
+        mock(DataSource.class), replicaLagMonitorMock);
+    replicaRoutingDataSource.bindTo(meterRegistry);
+  }
+
+  @AfterEach
+  public void resetTransaction() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(
+              TransactionSynchronization.STATUS_COMMITTED));
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void testDetermineCurrentLookupKey_readOnlyAndReplicaUsable_replica() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(replicaLagMonitorMock.isReplicaUsable()).thenReturn(true);
+
+    Assertions.assertEquals(Target.REPLICA, replicaRoutingDataSource.determineCurrentLookupKey());
+    Assertions.assertEquals(1, meterRegistry.get("project-calculator.replica.routing")
+        .tags("target", "replica", "read-only", "true")
+        .functionCounter()
+        .count());
+  }
+
+  @Test
+  void testDetermineCurrentLookupKey_readOnlyAndReplicaLags_primary() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(replicaLagMonitorMock.isReplicaUsable()).thenReturn(false);
+
+    Assertions.assertEquals(Target.PRIMARY, replicaRoutingDataSource.determineCurrentLookupKey());
+    Assertions.assertEquals(1, meterRegistry.get("project-calculator.replica.routing")
+        .tags("target", "primary", "read-only", "true")
+        .functionCounter()
+        .count());
+  }
+
+  @Test
+  void testDetermineCurrentLookupKey_readWrite_primary() {
+    when(replicaLagMonitorMock.isReplicaUsable()).thenReturn(true);
+
+    Assertions.assertEquals(Target.PRIMARY, replicaRoutingDataSource.determineCurrentLookupKey());
+  }
+
+  @Test
+  void testDetermineCurrentLookupKey_replica_transactionMarkedUntilCompletion() {
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(replicaLagMonitorMock.isReplicaUsable()).thenReturn(true);
+
+    Assertions.assertFalse(ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica());
+
+    replicaRoutingDataSource.determineCurrentLookupKey();
+
+    Assertions.assertTrue(ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica());
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(synchronization -> synchronization.afterCompletion(
+            TransactionSynchronization.STATUS_COMMITTED));
+    TransactionSynchronizationManager.clearSynchronization();
+
+    Assertions.assertFalse(ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica());
+  }
+
+  @Test
+  void testDetermineCurrentLookupKey_readOnlyAndReplicaLags_transactionNotMarked() {
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    when(replicaLagMonitorMock.isReplicaUsable()).thenReturn(false);
+
+    replicaRoutingDataSource.determineCurrentLookupKey();
+
+    Assertions.assertFalse(ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica());
+  }
+}
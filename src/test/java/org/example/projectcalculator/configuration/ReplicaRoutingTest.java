@@ -0,0 +1,213 @@
+package org.example.projectcalculator.configuration;
+
+import static org.example.projectcalculator.TestingData.NOW;
+import static org.example.projectcalculator.TestingData.createProject;
+import static org.example.projectcalculator.TestingData.createUser;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.UserRepository;
+import org.example.projectcalculator.service.PriceService;
+import org.example.projectcalculator.service.TeamCostCache;
+import org.example.projectcalculator.service.TeamCostSnapshot;
+import org.example.projectcalculator.service.UserCache;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs against two independent PostgreSQL instances as primary and replica (they don't replicate,
+ * so every row exists only where it was written) and checks where transactions are routed. The
+ * replica never catches up, so it is an infinitely lagging one for reads that follow writes. It is
+ * skipped if Docker is not available.
+ */
+// mock web environment, because WebSecurityConfiguration needs Spring MVC
+@SpringBootTest(
+    properties = {
+        "project-calculator.replica.enabled=true",
+        "project-calculator.replica.lag-check-interval=PT0.1S"})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Container
+  private static final PostgreSQLContainer<?> REPLICA = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ReplicaLagMonitor replicaLagMonitor;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private PriceService priceService;
+
+  @Autowired
+  private TeamCostCache teamCostCache;
+
+  @Autowired
+  private UserCache userCache;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @DynamicPropertySource
+  static void postgresProperties(final DynamicPropertyRegistry registry) {
+    // same as in PostgresContainerTest
+    registry.add("spring.datasource.url", () -> jdbcUrl(PRIMARY));
+    registry.add("spring.datasource.username", PRIMARY::getUsername);
+    registry.add("spring.datasource.password", PRIMARY::getPassword);
+
+    registry.add("project-calculator.replica.datasource.jdbc-url", () -> jdbcUrl(REPLICA));
+    registry.add("project-calculator.replica.datasource.username", REPLICA::getUsername);
+    registry.add("project-calculator.replica.datasource.password", REPLICA::getPassword);
+  }
+
+  // Flyway migrates only the primary, schema of a real replica is replicated
+  @BeforeAll
+  static void migrateReplica() {
+    Flyway.configure()
+        .dataSource(jdbcUrl(REPLICA), REPLICA.getUsername(), REPLICA.getPassword())
+        .load()
+        .migrate();
+  }
+
+  @Test
+  void testRouting_readOnlyTransaction_replica() throws Exception {
+    userRepository.save(
+        new User(0L, "primary-only", "{noop}qwerty123", "primary@example.com", NOW, NOW));
+
+    insertIntoReplica(1000000, "replica-only", "{noop}qwerty123");
+
+    awaitReplicaUsable();
+
+    Assertions.assertEquals(Boolean.TRUE, readOnlyTransaction().execute(status ->
+        userRepository.findByLogin("replica-only").isPresent()
+            && userRepository.findByLogin("primary-only").isEmpty()));
+
+    Assertions.assertEquals(Boolean.TRUE, new TransactionTemplate(transactionManager)
+        .execute(status -> userRepository.findByLogin("primary-only").isPresent()
+            && userRepository.findByLogin("replica-only").isEmpty()));
+
+    // without transaction
+    Assertions.assertTrue(userRepository.findById(1000000L).isPresent());
+  }
+
+  @Test
+  void testAuthentication_passwordChangedButNotReplicated_newPasswordOnly() throws Exception {
+    final var user = userRepository.save(
+        new User(0L, "changing", "{noop}oldPassword", "changing@example.com", NOW, NOW));
+    // the replica has received the user, but not the change of it's password
+    insertIntoReplica(user.getId(), "changing", "{noop}oldPassword");
+
+    awaitReplicaUsable();
+
+    mockMvc.perform(get("/projects").with(httpBasic("changing", "oldPassword")))
+        .andExpect(status().isOk());
+
+    user.setPasswordHash("{noop}newPassword");
+    userRepository.save(user);
+    userCache.invalidate("changing");
+
+    mockMvc.perform(get("/projects").with(httpBasic("changing", "oldPassword")))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/projects").with(httpBasic("changing", "newPassword")))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void testCaches_loadedFromReplica_notCached() throws InterruptedException {
+    insertIntoReplica(1000001, "replica-user", "{noop}qwerty123");
+
+    awaitReplicaUsable();
+
+    final var staleSnapshot = createTeamCostSnapshot();
+    final var freshSnapshot = createTeamCostSnapshot();
+
+    readOnlyTransaction().executeWithoutResult(status -> {
+      userRepository.findById(1000001L).orElseThrow();
+
+      Assertions.assertTrue(ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica());
+      Assertions.assertSame(staleSnapshot, teamCostCache.get(1000001L, () -> staleSnapshot));
+      Assertions.assertEquals("replica-user", userCache.get("replica-user",
+          () -> userRepository.findByLogin("replica-user").orElseThrow()).getLogin());
+    });
+
+    Assertions.assertFalse(ReplicaRoutingDataSource.isCurrentTransactionRoutedToReplica());
+    // nothing was cached, so loaders are called again
+    Assertions.assertSame(freshSnapshot, teamCostCache.get(1000001L, () -> freshSnapshot));
+    Assertions.assertThrows(IllegalStateException.class, () -> userCache.get("replica-user",
+        () -> {
+          throw new IllegalStateException("not cached");
+        }));
+
+    // read-write transaction reads from the primary, so it's result is cached
+    Assertions.assertSame(freshSnapshot, teamCostCache.get(1000001L, () -> staleSnapshot));
+  }
+
+  private TransactionTemplate readOnlyTransaction() {
+    final var readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+
+    return readOnlyTransaction;
+  }
+
+  private TeamCostSnapshot createTeamCostSnapshot() {
+    final var project = createProject(createUser());
+
+    Arrays.stream(Position.values())
+        .map(position -> new Rate(0L, position, position.getDefaultRateInRublesPerHour(), project))
+        .forEach(project.getRates()::add);
+
+    return priceService.createTeamCostSnapshot(project);
+  }
+
+  private static void insertIntoReplica(final long id, final String login,
+      final String passwordHash) {
+    new JdbcTemplate(new DriverManagerDataSource(jdbcUrl(REPLICA), REPLICA.getUsername(),
+        REPLICA.getPassword())).update("""
+        INSERT INTO "user" (id, login, password_hash, email, created_at, last_updated_at)
+        VALUES (?, ?, ?, ?, now(), now())
+        """, id, login, passwordHash, login + "@example.com");
+  }
+
+  private void awaitReplicaUsable() throws InterruptedException {
+    final var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+    while (!replicaLagMonitor.isReplicaUsable()) {
+      Assertions.assertTrue(System.nanoTime() < deadline, "replica is not usable");
+
+      Thread.sleep(50);
+    }
+  }
+
+  private static String jdbcUrl(final PostgreSQLContainer<?> postgres) {
+    return postgres.getJdbcUrl() + "&stringtype=unspecified";
+  }
+}
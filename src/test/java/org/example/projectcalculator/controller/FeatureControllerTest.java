@@ -9,6 +9,13 @@ import static org.example.projectcalculator.TestingData.createMilestone1;
 import static org.example.projectcalculator.TestingData.createMilestone2;
 import static org.example.projectcalculator.TestingData.createProject;
 import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -19,18 +26,25 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import org.example.projectcalculator.controller.utility.JsonConverter;
 import org.example.projectcalculator.dto.FeatureDto;
 import org.example.projectcalculator.dto.error.ErrorDtoResponse;
 import org.example.projectcalculator.dto.request.CreateFeatureDtoRequest;
+import org.example.projectcalculator.dto.request.CreateFeaturesDtoRequest;
+import org.example.projectcalculator.error.ConcurrentUpdateException;
+import org.example.projectcalculator.error.ProjectCalculatorError;
 import org.example.projectcalculator.model.Feature;
 import org.example.projectcalculator.service.FeatureService;
+import org.example.projectcalculator.service.ProjectService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -39,6 +53,7 @@ import org.springframework.test.web.servlet.MockMvc;
 class FeatureControllerTest {
 
   private static final String FEATURES_API_URL = "/projects/{projectId}/features";
+  private static final String FEATURES_BATCH_API_URL = FEATURES_API_URL + "/batch";
   private static final String SPECIFIC_FEATURE_API_URL = FEATURES_API_URL + "/{featureId}";
 
   @Autowired
@@ -47,6 +62,9 @@ class FeatureControllerTest {
   @MockBean
   private FeatureService featureServiceMock;
 
+  @MockBean
+  private ProjectService projectServiceMock;
+
   @Test
   void testCreateFeatureWithMilestone_validFeature_returnFeatureDto() throws Exception {
     final var creator = createUser();
@@ -145,6 +163,74 @@ class FeatureControllerTest {
     assertFeatureEstimatesValidationFail(createFeatureDtoRequest);
   }
 
+  @Test
+  void testCreateFeatures_validFeatures_returnFeatureDtos() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var milestone = createMilestone1(project);
+    final var feature1 = createFeature1(project, milestone);
+    final var feature2 = createFeature2(project, null);
+    final var request = new CreateFeaturesDtoRequest(List.of(
+        FEATURE_MAPPER.toCreateFeatureDtoRequest(feature1),
+        FEATURE_MAPPER.toCreateFeatureDtoRequest(feature2)));
+    final var expectedFeatureDtos = List.of(FEATURE_MAPPER.toFeatureDto(feature1),
+        FEATURE_MAPPER.toFeatureDto(feature2));
+
+    when(featureServiceMock.saveFeatures(request, project.getId())).thenReturn(
+        expectedFeatureDtos);
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                post(FEATURES_BATCH_API_URL, project.getId())
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonConverter.objectToJson(request)))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+
+    final var actualFeatureDtos = JsonConverter.jsonToObject(response.getContentAsString(),
+        FeatureDto[].class);
+
+    Assertions.assertEquals(expectedFeatureDtos.size(), actualFeatureDtos.length);
+
+    for (int i = 0; i < actualFeatureDtos.length; ++i) {
+      assertFeaturesAreEqual(expectedFeatureDtos.get(i), actualFeatureDtos[i]);
+    }
+  }
+
+  @Test
+  void testCreateFeatures_emptyFeatures_returnErrorDtoResponse() throws Exception {
+    final var request = new CreateFeaturesDtoRequest(List.of());
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                post(FEATURES_BATCH_API_URL, 1L)
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonConverter.objectToJson(request)))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(400, response.getStatus());
+
+    final var errorDtoResponse =
+        JsonConverter.jsonToObject(response.getContentAsString(), ErrorDtoResponse.class);
+
+    // Must be 1 validation error
+    Assertions.assertEquals(1, errorDtoResponse.errors().size());
+
+    assertValidationError(errorDtoResponse.errors(), "features", "NotEmpty",
+        "must not be empty");
+  }
+
   @Test
   void testGetAllFeaturesWithMilestoneId_validArguments_returnList() throws Exception {
     final var creator = createUser();
@@ -206,6 +292,82 @@ class FeatureControllerTest {
     Assertions.assertEquals(2, actualFeatureDtos.size());
   }
 
+  @Test
+  void testGetAllFeatures_noIfNoneMatch_returnListWithETag() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+
+    when(projectServiceMock.getProjectETag(project.getId())).thenReturn("1-3-0");
+    when(featureServiceMock.getAllFeatures(project.getId(), null)).thenReturn(
+        List.of(FEATURE_MAPPER.toFeatureDto(createFeature1(project, null))));
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(FEATURES_API_URL, project.getId())
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals("\"1-3-0\"", response.getHeader(HttpHeaders.ETAG));
+    Assertions.assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    Assertions.assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+  }
+
+  @Test
+  void testGetAllFeatures_matchingIfNoneMatch_status304WithoutLoadingFeatures()
+      throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+
+    when(projectServiceMock.getProjectETag(project.getId())).thenReturn("1-3-0");
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(FEATURES_API_URL, project.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-3-0\"")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(304, response.getStatus());
+    Assertions.assertEquals("", response.getContentAsString());
+    Assertions.assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+    verify(featureServiceMock, never()).getAllFeatures(anyLong(), any());
+  }
+
+  @Test
+  void testGetAllFeatures_staleIfNoneMatch_returnList() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+
+    when(projectServiceMock.getProjectETag(project.getId())).thenReturn("1-4-0");
+    when(featureServiceMock.getAllFeatures(project.getId(), null)).thenReturn(
+        List.of(FEATURE_MAPPER.toFeatureDto(createFeature1(project, null))));
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(FEATURES_API_URL, project.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-3-0\"")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals("\"1-4-0\"", response.getHeader(HttpHeaders.ETAG));
+    Assertions.assertEquals(1, JsonConverter.jsonToListOfObjects(response.getContentAsString(),
+        FeatureDto.class).size());
+  }
+
   @Test
   void testUpdateFeature_validFeature_returnFeatureDto() throws Exception {
     final var creator = createUser();
@@ -239,6 +401,40 @@ class FeatureControllerTest {
     assertFeaturesAreEqual(expectedFeatureDto, actualFeatureDto);
   }
 
+  @Test
+  void testUpdateFeature_concurrentUpdate_status409() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var feature = createFeature1(project, null);
+    final var updateFeatureDtoRequest = FEATURE_MAPPER.toUpdateFeatureDtoRequest(
+        createUpdatedFeature(feature), null);
+
+    when(featureServiceMock.updateFeature(updateFeatureDtoRequest, project.getId(),
+        feature.getId())).thenThrow(new ConcurrentUpdateException(
+        new ObjectOptimisticLockingFailureException(Feature.class, feature.getId())));
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                put(SPECIFIC_FEATURE_API_URL, project.getId(), feature.getId())
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonConverter.objectToJson(updateFeatureDtoRequest)))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(409, response.getStatus());
+
+    final var errorDtoResponse =
+        JsonConverter.jsonToObject(response.getContentAsString(), ErrorDtoResponse.class);
+
+    Assertions.assertEquals(1, errorDtoResponse.errors().size());
+    Assertions.assertEquals(ProjectCalculatorError.CONCURRENT_UPDATE.name(),
+        errorDtoResponse.errors().get(0).errorCode());
+  }
+
   @Test
   void testUpdateFeatureUpdateMilestone_validFeature_returnFeatureDto() throws Exception {
     final var creator = createUser();
@@ -318,4 +514,121 @@ class FeatureControllerTest {
         feature.getCreatedAt(),
         feature.getLastUpdatedAt().plusHours(5));
   }
+
+  @Test
+  void testGetAllFeatures_fullPage_returnPageWithNextCursor() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var feature2 = createFeature2(project, null);
+    final var expectedFeatureDtos = List.of(FEATURE_MAPPER.toFeatureDto(feature2));
+
+    when(featureServiceMock.getFeaturePage(project.getId(), null, 1L, 1)).thenReturn(
+        expectedFeatureDtos);
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(FEATURES_API_URL, project.getId())
+                    .param("afterId", "1")
+                    .param("limit", "1")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals(String.valueOf(feature2.getId()),
+        response.getHeader("X-Next-Cursor"));
+
+    final var actualFeatureDtos = JsonConverter.jsonToListOfObjects(response.getContentAsString(),
+        FeatureDto.class);
+
+    Assertions.assertEquals(1, actualFeatureDtos.size());
+  }
+
+  @Test
+  void testGetAllFeatures_lastPage_returnPageWithoutNextCursor() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var feature2 = createFeature2(project, null);
+
+    when(featureServiceMock.getFeaturePage(project.getId(), null, 1L, 100)).thenReturn(
+        List.of(FEATURE_MAPPER.toFeatureDto(feature2)));
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(FEATURES_API_URL, project.getId())
+                    .param("afterId", "1")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertNull(response.getHeader("X-Next-Cursor"));
+  }
+
+  @Test
+  void testGetAllFeatures_tooBigLimit_returnErrorDtoResponse() throws Exception {
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(FEATURES_API_URL, 1L)
+                    .param("limit", "1001")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(400, response.getStatus());
+
+    final var errorDtoResponse =
+        JsonConverter.jsonToObject(response.getContentAsString(), ErrorDtoResponse.class);
+
+    assertValidationError(errorDtoResponse.errors(), "limit", "Max",
+        "must be less than or equal to 1000");
+  }
+
+  @Test
+  void testStreamAllFeatures_validArguments_returnNdjson() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var expectedFeatureDtos = List.of(
+        FEATURE_MAPPER.toFeatureDto(createFeature1(project, null)),
+        FEATURE_MAPPER.toFeatureDto(createFeature2(project, null)));
+
+    doAnswer(invocation -> {
+      final Consumer<FeatureDto> consumer = invocation.getArgument(2);
+      expectedFeatureDtos.forEach(consumer);
+      return null;
+    }).when(featureServiceMock).streamAllFeatures(eq(project.getId()), isNull(), any());
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(FEATURES_API_URL, project.getId())
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals(MediaType.APPLICATION_NDJSON_VALUE + ";charset=UTF-8",
+        response.getContentType());
+
+    final var lines = response.getContentAsString().split("\n");
+
+    Assertions.assertEquals(2, lines.length);
+
+    for (var i = 0; i < lines.length; ++i) {
+      assertFeaturesAreEqual(expectedFeatureDtos.get(i),
+          JsonConverter.jsonToObject(lines[i], FeatureDto.class));
+    }
+  }
 }
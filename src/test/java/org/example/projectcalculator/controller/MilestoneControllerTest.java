@@ -8,6 +8,9 @@ import static org.example.projectcalculator.TestingData.createMilestone1;
 import static org.example.projectcalculator.TestingData.createMilestone2;
 import static org.example.projectcalculator.TestingData.createProject;
 import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -24,11 +27,13 @@ import org.example.projectcalculator.dto.error.ErrorDtoResponse;
 import org.example.projectcalculator.dto.request.CreateUpdateMilestoneDtoRequest;
 import org.example.projectcalculator.dto.request.validation.annotation.MilestoneDates;
 import org.example.projectcalculator.service.MilestoneService;
+import org.example.projectcalculator.service.ProjectService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -46,6 +51,9 @@ class MilestoneControllerTest {
   @MockBean
   private MilestoneService milestoneServiceMock;
 
+  @MockBean
+  private ProjectService projectServiceMock;
+
   @Test
   void testCreateMilestone_validMilestone_returnMilestoneDto() throws Exception {
     final var creator = createUser();
@@ -178,6 +186,30 @@ class MilestoneControllerTest {
     Assertions.assertEquals(2, actualMilestoneDtos.size());
   }
 
+  @Test
+  void testGetAllMilestones_matchingIfNoneMatch_status304WithoutLoadingMilestones()
+      throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+
+    when(projectServiceMock.getProjectETag(project.getId())).thenReturn("1-3-0");
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(MILESTONES_API_URL, project.getId())
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-3-0\"")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(304, response.getStatus());
+    Assertions.assertEquals("\"1-3-0\"", response.getHeader(HttpHeaders.ETAG));
+    verify(milestoneServiceMock, never()).getAllMilestones(anyLong());
+  }
+
   @Test
   void testUpdateMilestone_validMilestone_returnMilestoneDto() throws Exception {
     final var creator = createUser();
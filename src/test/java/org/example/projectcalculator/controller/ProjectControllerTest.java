@@ -5,22 +5,38 @@ import static org.example.projectcalculator.Asserter.assertValidationError;
 import static org.example.projectcalculator.TestingData.PROJECT_MAPPER;
 import static org.example.projectcalculator.TestingData.createProject;
 import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import javax.validation.constraints.NotBlank;
 import org.example.projectcalculator.controller.utility.JsonConverter;
+import org.example.projectcalculator.dto.FeatureGroupRiskDto;
+import org.example.projectcalculator.dto.FeatureGroupSummaryDto;
+import org.example.projectcalculator.dto.PercentilesDto;
+import org.example.projectcalculator.dto.PositionPriceDto;
 import org.example.projectcalculator.dto.ProjectDto;
+import org.example.projectcalculator.dto.ProjectRiskDto;
+import org.example.projectcalculator.dto.ProjectSummaryDto;
 import org.example.projectcalculator.dto.error.ErrorDtoResponse;
 import org.example.projectcalculator.dto.request.CreateUpdateProjectDtoRequest;
 import org.example.projectcalculator.service.ProjectService;
+import org.example.projectcalculator.service.ProjectSummaryService;
+import org.example.projectcalculator.service.RiskSimulationService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -37,6 +53,12 @@ class ProjectControllerTest {
   @MockBean
   private ProjectService projectServiceMock;
 
+  @MockBean
+  private ProjectSummaryService projectSummaryServiceMock;
+
+  @MockBean
+  private RiskSimulationService riskSimulationServiceMock;
+
   @Test
   void testCreateProject_validProject_returnProjectDto() throws Exception {
     final var creator = createUser();
@@ -64,6 +86,122 @@ class ProjectControllerTest {
     assertProjectsAreEqual(expectedProjectDto, actualProjectDto);
   }
 
+  @Test
+  void testGetAllProjects_matchingIfNoneMatch_status304WithoutLoadingProjects()
+      throws Exception {
+    when(projectServiceMock.getProjectsETag()).thenReturn("d41d8cd98f00b204e9800998ecf8427e");
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(PROJECTS_API_URL)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"d41d8cd98f00b204e9800998ecf8427e\"")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    Assertions.assertEquals(304, mvcResult.getResponse().getStatus());
+    verify(projectServiceMock, never()).getAllProjects();
+  }
+
+  @Test
+  void testGetAllProjects_staleIfNoneMatch_returnListWithETag() throws Exception {
+    final var project = createProject(createUser());
+
+    when(projectServiceMock.getProjectsETag()).thenReturn("9e107d9d372bb6826bd81d3542a419d6");
+    when(projectServiceMock.getAllProjects()).thenReturn(
+        List.of(PROJECT_MAPPER.toProjectDto(project)));
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(PROJECTS_API_URL)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"d41d8cd98f00b204e9800998ecf8427e\"")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals("\"9e107d9d372bb6826bd81d3542a419d6\"",
+        response.getHeader(HttpHeaders.ETAG));
+    Assertions.assertEquals(1, JsonConverter.jsonToListOfObjects(response.getContentAsString(),
+        ProjectDto.class).size());
+  }
+
+  @Test
+  void testGetProjectSummary_validProjectId_returnProjectSummaryDto() throws Exception {
+    final var expectedProjectSummaryDto = new ProjectSummaryDto(1L, 1, 1, new BigDecimal("4.4"),
+        new BigDecimal("89408.0"),
+        List.of(new PositionPriceDto("REGULAR_DEVELOPER", new BigDecimal("89408.0"))),
+        List.of(new FeatureGroupSummaryDto(1L, "Basic API", 1, new BigDecimal("4.4"),
+            new BigDecimal("89408.0"))),
+        new FeatureGroupSummaryDto(null, null, 0, BigDecimal.ZERO, BigDecimal.ZERO));
+
+    when(projectServiceMock.getProjectETag(1L)).thenReturn("1-0-0");
+    when(projectSummaryServiceMock.getProjectSummary(1L)).thenReturn(expectedProjectSummaryDto);
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(PROJECTS_API_URL + "/{projectId}/summary", 1L)
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals("\"1-0-0\"", response.getHeader(HttpHeaders.ETAG));
+    Assertions.assertEquals(expectedProjectSummaryDto, JsonConverter.jsonToObject(
+        response.getContentAsString(), ProjectSummaryDto.class));
+  }
+
+  @Test
+  void testSimulateProjectRisk_noParameters_useDefaultIterationsAndSeed() throws Exception {
+    final var percentiles = new PercentilesDto(new BigDecimal("4.40"), new BigDecimal("5.10"),
+        new BigDecimal("5.60"));
+    final var expectedProjectRiskDto = new ProjectRiskDto(1L, 10_000, 0L, percentiles,
+        percentiles, List.of(), new FeatureGroupRiskDto(null, null, percentiles, percentiles));
+
+    when(projectServiceMock.getProjectETag(1L)).thenReturn("1-0-0");
+    when(riskSimulationServiceMock.simulateProjectRisk(1L, 10_000, 0L)).thenReturn(
+        expectedProjectRiskDto);
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(PROJECTS_API_URL + "/{projectId}/risk", 1L)
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals(expectedProjectRiskDto, JsonConverter.jsonToObject(
+        response.getContentAsString(), ProjectRiskDto.class));
+  }
+
+  @Test
+  void testSimulateProjectRisk_tooManyIterations_returnErrorDtoResponse() throws Exception {
+    final var mvcResult =
+        mockMvc
+            .perform(
+                get(PROJECTS_API_URL + "/{projectId}/risk", 1L)
+                    .param("iterations", "100001")
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(400, response.getStatus());
+    verify(riskSimulationServiceMock, never()).simulateProjectRisk(anyLong(), anyInt(),
+        anyLong());
+  }
+
   @Test
   void testCreateProject_invalidProject_returnErrorDtoResponse() throws Exception {
     final var invalidCreateProjectDtoRequest = new CreateUpdateProjectDtoRequest(null, null, null);
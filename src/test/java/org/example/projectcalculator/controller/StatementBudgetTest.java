@@ -0,0 +1,151 @@
+package org.example.projectcalculator.controller;
+
+import static org.example.projectcalculator.TestingData.NOW;
+import static org.example.projectcalculator.service.utility.ServiceTestHelper.setSecurityContext;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import org.example.projectcalculator.dto.request.CreateFeatureDtoRequest;
+import org.example.projectcalculator.dto.request.CreateUpdateMilestoneDtoRequest;
+import org.example.projectcalculator.dto.request.CreateUpdateProjectDtoRequest;
+import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.UserRepository;
+import org.example.projectcalculator.service.FeatureService;
+import org.example.projectcalculator.service.MilestoneService;
+import org.example.projectcalculator.service.ProjectService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Checks that listings and reports execute a bounded number of SQL statements (including
+ * authentication) that doesn't grow with the number of milestones and features, so N+1 queries
+ * fail the build. Budgets are the observed counts, which are the same for twice as many milestones
+ * and features. It is skipped if Docker is not available.
+ */
+@SpringBootTest(properties = "project-calculator.sql-statements.response-header-enabled=true")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class StatementBudgetTest {
+
+  private static final int MILESTONES = 20;
+  private static final int FEATURES = 100;
+
+  private static final String LOGIN = "budget";
+  private static final String PASSWORD = "qwerty123";
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ProjectService projectService;
+  @Autowired
+  private MilestoneService milestoneService;
+  @Autowired
+  private FeatureService featureService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private long projectId;
+
+  @DynamicPropertySource
+  static void postgresProperties(final DynamicPropertyRegistry registry) {
+    // same as in PostgresContainerTest
+    registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&stringtype=unspecified");
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @BeforeEach
+  public void createProject() {
+    final var creator = userRepository.findByLogin(LOGIN).orElseGet(() -> userRepository.save(
+        new User(0L, LOGIN, "{noop}" + PASSWORD, "budget@example.com", NOW, NOW)));
+
+    setSecurityContext(creator);
+
+    projectId = projectService.createProject(
+        new CreateUpdateProjectDtoRequest("title", "description", "client")).id();
+
+    final var milestoneIds = new long[MILESTONES];
+
+    for (var i = 0; i < MILESTONES; ++i) {
+      milestoneIds[i] = milestoneService.createMilestone(
+          new CreateUpdateMilestoneDtoRequest("Milestone " + i, "Blah...", NOW, NOW.plusDays(1)),
+          projectId).id();
+    }
+
+    for (var i = 0; i < FEATURES; ++i) {
+      // every fourth Feature is without Milestone
+      final var milestoneId = (i % 4 != 0) ? milestoneIds[i % MILESTONES] : null;
+
+      featureService.saveFeature(new CreateFeatureDtoRequest("Feature " + i, "Blah...",
+          BigDecimal.ONE, BigDecimal.TWO, BigDecimal.TEN, milestoneId), projectId);
+    }
+  }
+
+  @Test
+  void testGetAllProjects_manyProjects_withinBudget() throws Exception {
+    // authentication, ETag and projects with price in SQL
+    assertWithinBudget("/projects", MediaType.APPLICATION_JSON, 3);
+  }
+
+  @Test
+  void testGetAllMilestones_manyMilestones_withinBudget() throws Exception {
+    assertWithinBudget("/projects/" + projectId + "/milestones", MediaType.APPLICATION_JSON, 6);
+  }
+
+  @Test
+  void testGetAllFeatures_manyFeatures_withinBudget() throws Exception {
+    assertWithinBudget("/projects/" + projectId + "/features", MediaType.APPLICATION_JSON, 6);
+  }
+
+  @Test
+  void testStreamAllFeatures_manyFeatures_withinBudget() throws Exception {
+    assertWithinBudget("/projects/" + projectId + "/features", MediaType.APPLICATION_NDJSON, 6);
+  }
+
+  @Test
+  void testGetProjectSummary_manyFeatures_withinBudget() throws Exception {
+    assertWithinBudget("/projects/" + projectId + "/summary", MediaType.APPLICATION_JSON, 7);
+  }
+
+  @Test
+  void testGetProjectRisk_manyFeatures_withinBudget() throws Exception {
+    assertWithinBudget("/projects/" + projectId + "/risk?iterations=100",
+        MediaType.APPLICATION_JSON, 7);
+  }
+
+  private void assertWithinBudget(final String url, final MediaType mediaType,
+      final int statementBudget) throws Exception {
+    final var response = mockMvc
+        .perform(get(url)
+            .accept(mediaType)
+            .with(httpBasic(LOGIN, PASSWORD)))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+
+    final var statements =
+        Integer.parseInt(response.getHeader(StatementCountFilter.STATEMENT_COUNT_HEADER));
+
+    Assertions.assertTrue(statements <= statementBudget,
+        () -> "GET " + url + " executed " + statements + " SQL statements, budget is "
+            + statementBudget);
+  }
+}
@@ -0,0 +1,76 @@
+package org.example.projectcalculator.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.example.projectcalculator.configuration.StatementCounter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class StatementCountFilterTest {
+
+  private final StatementCounter statementCounter = new StatementCounter();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void testDoFilter_headerEnabled_recordAndReturnStatementsOfRequest() throws Exception {
+    final var response = new MockHttpServletResponse();
+
+    // statements before the request are not counted
+    statementCounter.inspect("select 1");
+
+    filter(true, response, 3);
+
+    Assertions.assertEquals("3", response.getHeader(StatementCountFilter.STATEMENT_COUNT_HEADER));
+    Assertions.assertEquals("body", response.getContentAsString());
+
+    final var summary = meterRegistry.get("project-calculator.sql.statements")
+        .tags("method", "GET", "uri", "/projects/{projectId}/features")
+        .summary();
+
+    Assertions.assertEquals(1, summary.count());
+    Assertions.assertEquals(3.0, summary.totalAmount());
+  }
+
+  @Test
+  void testDoFilter_headerDisabled_onlyRecord() throws Exception {
+    final var response = new MockHttpServletResponse();
+
+    filter(false, response, 2);
+
+    Assertions.assertNull(response.getHeader(StatementCountFilter.STATEMENT_COUNT_HEADER));
+    Assertions.assertEquals(2.0, meterRegistry.get("project-calculator.sql.statements")
+        .summary()
+        .totalAmount());
+  }
+
+  private void filter(final boolean responseHeaderEnabled, final MockHttpServletResponse response,
+      final int statements) throws Exception {
+    final var request = new MockHttpServletRequest("GET", "/projects/1/features");
+
+    new StatementCountFilter(statementCounter, meterRegistry, responseHeaderEnabled).doFilter(
+        request, response, new MockFilterChain(new HttpServlet() {
+
+          @Override
+          protected void service(final HttpServletRequest req,
+              final HttpServletResponse resp)
+              throws ServletException, IOException {
+            for (var i = 0; i < statements; ++i) {
+              statementCounter.inspect("select " + i);
+            }
+
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                "/projects/{projectId}/features");
+            resp.getWriter().write("body");
+          }
+        }));
+  }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 import org.example.projectcalculator.controller.utility.JsonConverter;
 import org.example.projectcalculator.dto.MilestoneDto;
 import org.example.projectcalculator.dto.TeamMemberDto;
+import org.example.projectcalculator.dto.request.UpdateTeamMembersDtoRequest;
 import org.example.projectcalculator.service.TeamMemberService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -108,6 +109,39 @@ class TeamMemberControllerTest {
     assertTeamMembersAreEqual(expectedTeamMemberDto, actualTeamMemberDto);
   }
 
+  @Test
+  void testUpdateTeamMembers_validTeam_returnList() throws Exception {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var teamMember = createTeamMember(project);
+    final var request = new UpdateTeamMembersDtoRequest(List.of(
+        TEAM_MEMBER_MAPPER.toCreateUpdateTeamMemberDtoRequest(teamMember)));
+    final var expectedTeamMemberDto = TEAM_MEMBER_MAPPER.toTeamMemberDto(teamMember);
+
+    when(teamMemberServiceMock.updateTeamMembers(request, project.getId())).thenReturn(
+        List.of(expectedTeamMemberDto));
+
+    final var mvcResult =
+        mockMvc
+            .perform(
+                put(TEAM_MEMBERS_API_URL, project.getId())
+                    .with(csrf())
+                    .characterEncoding(StandardCharsets.UTF_8)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonConverter.objectToJson(request)))
+            .andReturn();
+
+    final var response = mvcResult.getResponse();
+
+    Assertions.assertEquals(200, response.getStatus());
+
+    final var actualTeamMemberDtos = JsonConverter.jsonToListOfObjects(
+        response.getContentAsString(), TeamMemberDto.class);
+
+    Assertions.assertEquals(1, actualTeamMemberDtos.size());
+    assertTeamMembersAreEqual(expectedTeamMemberDto, actualTeamMemberDtos.get(0));
+  }
+
   @Test
   void testGetAllTeamMembers_validArguments_returnList() throws Exception {
     final var creator = createUser();
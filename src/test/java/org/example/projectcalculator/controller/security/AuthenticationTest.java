@@ -1,5 +1,6 @@
 package org.example.projectcalculator.controller.security;
 
+import static org.example.projectcalculator.TestingData.NOW;
 import static org.example.projectcalculator.TestingData.PROJECT_MAPPER;
 import static org.example.projectcalculator.TestingData.USER_MAPPER;
 import static org.example.projectcalculator.TestingData.createProject;
@@ -8,31 +9,42 @@ import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import org.example.projectcalculator.controller.ProjectController;
 import org.example.projectcalculator.controller.UserController;
 import org.example.projectcalculator.controller.utility.JsonConverter;
+import org.example.projectcalculator.model.User;
 import org.example.projectcalculator.repository.UserRepository;
 import org.example.projectcalculator.security.WebSecurityConfiguration;
 import org.example.projectcalculator.service.ProjectService;
+import org.example.projectcalculator.service.ProjectSummaryService;
+import org.example.projectcalculator.service.RiskSimulationService;
 import org.example.projectcalculator.service.UserService;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
-@WebMvcTest(controllers = {UserController.class, ProjectController.class})
+@WebMvcTest(
+    controllers = {UserController.class, ProjectController.class},
+    properties = "project-calculator.actuator.logins=prometheus,someAdmin")
 @ComponentScan(basePackageClasses = {WebSecurityConfiguration.class})
+@Import(SimpleMeterRegistry.class)
 class AuthenticationTest {
 
   private static final String USERS_API_URL = "/users";
@@ -41,10 +53,17 @@ class AuthenticationTest {
   @Autowired
   private WebApplicationContext context;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @MockBean
   private UserService userServiceMock;
   @MockBean
   private ProjectService projectServiceMock;
+  @MockBean
+  private ProjectSummaryService projectSummaryServiceMock;
+  @MockBean
+  private RiskSimulationService riskSimulationServiceMock;
 
   @MockBean
   private UserRepository userRepositoryMock;
@@ -56,6 +75,9 @@ class AuthenticationTest {
     mockMvc = MockMvcBuilders.webAppContextSetup(context)
         .apply(springSecurity())
         .build();
+
+    // context (and it's MeterRegistry) is shared by all tests
+    meterRegistry.clear();
   }
 
   @Test
@@ -87,6 +109,11 @@ class AuthenticationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(JsonConverter.objectToJson(createProjectDtoRequest)))
         .andExpect(status().is2xxSuccessful());
+
+    Assertions.assertEquals(1, meterRegistry.get("project-calculator.authentication")
+        .tag("result", "success")
+        .timer()
+        .count());
   }
 
   @Test
@@ -102,6 +129,11 @@ class AuthenticationTest {
                 .with(httpBasic(creator.getLogin(), "BLAH-BLAH"))
                 .characterEncoding(StandardCharsets.UTF_8))
         .andExpect(status().isUnauthorized());
+
+    Assertions.assertEquals(1, meterRegistry.get("project-calculator.authentication")
+        .tag("result", "failure")
+        .timer()
+        .count());
   }
 
   @Test
@@ -121,4 +153,43 @@ class AuthenticationTest {
                 .content(JsonConverter.objectToJson(createUserDtoRequest)))
         .andExpect(status().is2xxSuccessful());
   }
+
+  @Test
+  void testGetPrometheusMetrics_noBasicAuth_status401() throws Exception {
+    mockMvc
+        .perform(get("/actuator/prometheus"))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void testGetPrometheusMetrics_userWithoutActuatorAuthority_status403() throws Exception {
+    final var user = createUser();
+
+    when(userRepositoryMock.findByLogin(user.getLogin())).thenReturn(Optional.of(user));
+
+    mockMvc
+        .perform(get("/actuator/prometheus").with(httpBasic(user.getLogin(), "qwerty123")))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void testGetPrometheusMetrics_actuatorLogin_notStatus401Or403() throws Exception {
+    final var user = new User(2L, "prometheus", "{noop}qwerty123", "prometheus@example.com",
+        NOW, NOW);
+
+    when(userRepositoryMock.findByLogin(user.getLogin())).thenReturn(Optional.of(user));
+
+    // actuator isn't a part of @WebMvcTest, so request passes security and isn't handled
+    mockMvc
+        .perform(get("/actuator/prometheus").with(httpBasic(user.getLogin(), "qwerty123")))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testGetHealth_noBasicAuth_notStatus401() throws Exception {
+    // actuator isn't a part of @WebMvcTest, so request passes security and isn't handled
+    mockMvc
+        .perform(get("/actuator/health"))
+        .andExpect(status().isNotFound());
+  }
 }
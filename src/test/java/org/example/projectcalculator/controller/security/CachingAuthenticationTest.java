@@ -0,0 +1,113 @@
+package org.example.projectcalculator.controller.security;
+
+import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
+import org.example.projectcalculator.controller.ProjectController;
+import org.example.projectcalculator.repository.UserRepository;
+import org.example.projectcalculator.security.WebSecurityConfiguration;
+import org.example.projectcalculator.service.ProjectService;
+import org.example.projectcalculator.service.ProjectSummaryService;
+import org.example.projectcalculator.service.RiskSimulationService;
+import org.example.projectcalculator.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@WebMvcTest(
+    controllers = ProjectController.class,
+    properties = "project-calculator.credential-cache.enabled=true")
+@ComponentScan(basePackageClasses = {WebSecurityConfiguration.class})
+@Import(SimpleMeterRegistry.class)
+class CachingAuthenticationTest {
+
+  private static final String PROJECTS_API_URL = "/projects";
+
+  @Autowired
+  private WebApplicationContext context;
+
+  @MockBean
+  private UserService userServiceMock;
+  @MockBean
+  private ProjectService projectServiceMock;
+  @MockBean
+  private ProjectSummaryService projectSummaryServiceMock;
+  @MockBean
+  private RiskSimulationService riskSimulationServiceMock;
+
+  @MockBean
+  private UserRepository userRepositoryMock;
+
+  @SpyBean
+  private PasswordEncoder passwordEncoderSpy;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  public void setup() {
+    mockMvc = MockMvcBuilders.webAppContextSetup(context)
+        .apply(springSecurity())
+        .build();
+  }
+
+  @Test
+  void testGetAllProjects_sameCredentialsTwice_verifyPasswordOnce() throws Exception {
+    final var creator = createUser();
+
+    when(userRepositoryMock.findByLogin(creator.getLogin())).thenReturn(Optional.of(creator));
+    when(projectServiceMock.getAllProjects()).thenReturn(Collections.emptyList());
+
+    for (var i = 0; i < 2; ++i) {
+      mockMvc
+          .perform(
+              get(PROJECTS_API_URL)
+                  .with(httpBasic(creator.getLogin(), "qwerty123"))
+                  .characterEncoding(StandardCharsets.UTF_8))
+          .andExpect(status().is2xxSuccessful());
+    }
+
+    verify(userRepositoryMock, times(1)).findByLogin(creator.getLogin());
+    verify(passwordEncoderSpy, times(1)).matches("qwerty123", creator.getPasswordHash());
+  }
+
+  @Test
+  void testGetAllProjects_wrongPasswordAfterCached_status401() throws Exception {
+    final var creator = createUser();
+
+    when(userRepositoryMock.findByLogin(creator.getLogin())).thenReturn(Optional.of(creator));
+    when(projectServiceMock.getAllProjects()).thenReturn(Collections.emptyList());
+
+    mockMvc
+        .perform(
+            get(PROJECTS_API_URL)
+                .with(httpBasic(creator.getLogin(), "qwerty123"))
+                .characterEncoding(StandardCharsets.UTF_8))
+        .andExpect(status().is2xxSuccessful());
+
+    mockMvc
+        .perform(
+            get(PROJECTS_API_URL)
+                .with(httpBasic(creator.getLogin(), "BLAH-BLAH"))
+                .characterEncoding(StandardCharsets.UTF_8))
+        .andExpect(status().isUnauthorized());
+  }
+}
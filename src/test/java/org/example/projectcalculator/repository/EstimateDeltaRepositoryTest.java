@@ -0,0 +1,192 @@
+package org.example.projectcalculator.repository;
+
+import static org.example.projectcalculator.TestingData.NOW;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import org.example.projectcalculator.model.EstimateDelta;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Milestone;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.projection.EstimateDrift;
+import org.example.projectcalculator.repository.utility.PostgresContainerTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+class EstimateDeltaRepositoryTest extends PostgresContainerTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EstimateDeltaRepository estimateDeltaRepository;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  private Project project;
+  private Milestone milestone;
+
+  @BeforeEach
+  public void persistProjectAndMilestone() {
+    final var creator = entityManager.persist(
+        new User(0L, "someUser", "{noop}qwerty123", "blah@example.com", NOW, NOW));
+
+    project = entityManager.persist(
+        new Project(0L, "title", "description", "client", creator, BigDecimal.ZERO,
+            new ArrayList<>(), new ArrayList<>(), NOW, NOW));
+    milestone = entityManager.persist(
+        new Milestone(0L, project, "title", "description", NOW, NOW, BigDecimal.ZERO, NOW, NOW));
+  }
+
+  @Test
+  void testCompact_pendingDeltas_addedToProjectAndMilestone() {
+    // estimates are 4.4 and 2
+    persistFeatureWithDelta(milestone, "2", "4", "8");
+    persistFeatureWithDelta(null, "1", "2", "3");
+    // PostgreSQL TIMESTAMP has microsecond precision
+    final var later = NOW.plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    entityManager.persist(new EstimateDelta(0L, project, milestone, new BigDecimal("-0.4"),
+        later));
+
+    entityManager.flush();
+    entityManager.clear();
+
+    // pending deltas are added on read before compaction
+    assertEstimates("6.0", "4.0");
+
+    final var compacted = estimateDeltaRepository.compact(2);
+
+    entityManager.clear();
+
+    Assertions.assertEquals(2, compacted);
+    Assertions.assertEquals(1, estimateDeltaRepository.count());
+    assertEstimates("6.0", "4.0");
+
+    estimateDeltaRepository.compact(2);
+
+    entityManager.clear();
+
+    Assertions.assertEquals(0, estimateDeltaRepository.count());
+    assertEstimates("6.0", "4.0");
+    Assertions.assertEquals(later,
+        entityManager.find(Project.class, project.getId()).getLastUpdatedAt());
+  }
+
+  @Test
+  void testCompact_pendingDeltas_stateChangedButVersionNot() {
+    persistFeatureWithDelta(milestone, "2", "4", "8");
+
+    entityManager.flush();
+    entityManager.clear();
+
+    final var loadedProject = entityManager.find(Project.class, project.getId());
+    final var creatorId = loadedProject.getCreator().getId();
+    final var stateBeforeCompaction =
+        projectRepository.findStateByIdAndCreatorId(project.getId(), creatorId).orElseThrow();
+    entityManager.detach(loadedProject);
+
+    estimateDeltaRepository.compact(10);
+
+    entityManager.clear();
+
+    Assertions.assertNotEquals(stateBeforeCompaction,
+        projectRepository.findStateByIdAndCreatorId(project.getId(), creatorId).orElseThrow());
+    Assertions.assertEquals(loadedProject.getVersion(),
+        entityManager.find(Project.class, project.getId()).getVersion());
+
+    // project loaded before compaction is written without optimistic locking failure
+    loadedProject.setTitle("new title");
+    entityManager.merge(loadedProject);
+    entityManager.flush();
+  }
+
+  @Test
+  void testCompact_milestoneDeletedWithPendingDeltas_addedToProject() {
+    // estimates are 4.4 and 2
+    persistFeatureWithDelta(milestone, "2", "4", "8");
+    persistFeatureWithDelta(null, "1", "2", "3");
+
+    entityManager.flush();
+    entityManager.clear();
+
+    entityManager.remove(entityManager.find(Milestone.class, milestone.getId()));
+    entityManager.flush();
+    entityManager.clear();
+
+    // deltas of the deleted milestone become project-only ones
+    Assertions.assertEquals(2, estimateDeltaRepository.count());
+    estimateDeltaRepository.findAll()
+        .forEach(estimateDelta -> Assertions.assertNull(estimateDelta.getMilestone()));
+
+    estimateDeltaRepository.compact(10);
+
+    entityManager.clear();
+
+    Assertions.assertEquals(0, estimateDeltaRepository.count());
+    Assertions.assertEquals(0, new BigDecimal("6.4").compareTo(
+        entityManager.find(Project.class, project.getId()).getEstimateInDays()));
+    Assertions.assertTrue(estimateDeltaRepository.findAllDrifts().isEmpty());
+  }
+
+  @Test
+  void testFindAllDrifts_featureWithoutDelta_returnDriftedProjectAndMilestone() {
+    persistFeatureWithDelta(null, "1", "2", "3");
+    // written bypassing EstimateAggregateService
+    entityManager.persist(new Feature(0L, project, milestone, "title", "description",
+        new BigDecimal(2), new BigDecimal(4), new BigDecimal(8), NOW, NOW));
+
+    entityManager.flush();
+    entityManager.clear();
+
+    final var drifts = estimateDeltaRepository.findAllDrifts();
+
+    Assertions.assertEquals(2, drifts.size());
+
+    final var projectDrift = drifts.stream()
+        .filter(drift -> drift.getMilestoneId() == null)
+        .findAny()
+        .orElseThrow();
+    final var milestoneDrift = drifts.stream()
+        .filter(drift -> drift.getMilestoneId() != null)
+        .findAny()
+        .orElseThrow();
+
+    assertDrift(project.getId(), "2", "6.4", projectDrift);
+    assertDrift(project.getId(), "0", "4.4", milestoneDrift);
+    Assertions.assertEquals(milestone.getId(), milestoneDrift.getMilestoneId());
+  }
+
+  private void persistFeatureWithDelta(final Milestone milestone, final String bestCase,
+      final String mostLikely, final String worstCase) {
+    final var feature = entityManager.persist(new Feature(0L, project, milestone, "title",
+        "description", new BigDecimal(bestCase), new BigDecimal(mostLikely),
+        new BigDecimal(worstCase), NOW, NOW));
+
+    entityManager.persist(
+        new EstimateDelta(0L, project, milestone, feature.getEstimateInDays(), NOW));
+  }
+
+  private void assertEstimates(final String expectedProjectEstimate,
+      final String expectedMilestoneEstimate) {
+    Assertions.assertEquals(0, new BigDecimal(expectedProjectEstimate).compareTo(
+        entityManager.find(Project.class, project.getId()).getEstimateInDays()));
+    Assertions.assertEquals(0, new BigDecimal(expectedMilestoneEstimate).compareTo(
+        entityManager.find(Milestone.class, milestone.getId()).getEstimateInDays()));
+  }
+
+  private static void assertDrift(final long expectedProjectId,
+      final String expectedMaintainedEstimate, final String expectedActualEstimate,
+      final EstimateDrift drift) {
+    Assertions.assertEquals(expectedProjectId, drift.getProjectId());
+    Assertions.assertEquals(0,
+        new BigDecimal(expectedMaintainedEstimate).compareTo(drift.getMaintainedEstimateInDays()));
+    Assertions.assertEquals(0,
+        new BigDecimal(expectedActualEstimate).compareTo(drift.getActualEstimateInDays()));
+  }
+}
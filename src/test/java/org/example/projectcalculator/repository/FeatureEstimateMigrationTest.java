@@ -0,0 +1,139 @@
+package org.example.projectcalculator.repository;
+
+import static org.example.projectcalculator.TestingData.NOW;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import javax.sql.DataSource;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.repository.utility.PostgresContainerTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Checks that V21 migration fills feature estimate_in_days of existing features exactly as
+ * {@link Feature} computes it (including scale) and that V26 strips trailing zeros of the ones
+ * that were computed before it.
+ */
+class FeatureEstimateMigrationTest extends PostgresContainerTest {
+
+  private static final String SCHEMA = "feature_estimate_migration";
+
+  @Autowired
+  private DataSource dataSource;
+
+  @AfterEach
+  public void dropSchema() {
+    new JdbcTemplate(dataSource).execute("DROP SCHEMA IF EXISTS %s CASCADE".formatted(SCHEMA));
+  }
+
+  // Flyway uses its own connection, so the data must be committed before migration
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void testMigration_existingFeatures_sameEstimateAsFeature() {
+    migrate("20");
+
+    final var jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("""
+        INSERT INTO %1$s."user" VALUES (1, 'someUser', '{noop}qwerty123', 'blah@example.com',
+          now(), now());
+        INSERT INTO %1$s.project (id, title, description, client, creator_id, estimate_in_days,
+          created_at, last_updated_at)
+        VALUES (1, 'Project', 'Blah...', 'Anonym', 1, 0, now(), now());
+        """.formatted(SCHEMA));
+
+    final var random = new Random(42L);
+    final var features = new Feature[1000];
+
+    for (var i = 0; i < features.length; i++) {
+      // from 0.01 to thousands, so estimates have various number of digits
+      final var bestCase = BigDecimal.valueOf(1 + random.nextInt(1 + random.nextInt(500_000)), 2);
+      final var mostLikely = bestCase.add(BigDecimal.valueOf(random.nextInt(10_000), 2));
+      final var worstCase = mostLikely.add(BigDecimal.valueOf(random.nextInt(10_000), 2));
+
+      features[i] = new Feature(i + 1L, null, null, "Feature", "Blah...", bestCase, mostLikely,
+          worstCase, NOW, NOW);
+
+      jdbcTemplate.update("""
+          INSERT INTO %s.feature (id, project_id, title, description, best_case_estimate_in_days,
+            most_likely_estimate_in_days, worst_case_estimate_in_days, created_at, last_updated_at)
+          VALUES (?, 1, 'Feature', 'Blah...', ?, ?, ?, now(), now())
+          """.formatted(SCHEMA), i + 1L, bestCase, mostLikely, worstCase);
+    }
+
+    migrate("21");
+
+    for (final var feature : features) {
+      final var estimateInDays = jdbcTemplate.queryForObject(
+          "SELECT estimate_in_days FROM %s.feature WHERE id = ?".formatted(SCHEMA),
+          BigDecimal.class, feature.getId());
+
+      Assertions.assertEquals(0, feature.getEstimateInDays().compareTo(estimateInDays),
+          () -> feature + ": " + estimateInDays);
+      // the same scale too, so that the estimate is serialized in the same way (e.g. 130)
+      Assertions.assertEquals(feature.getEstimateInDays(), estimateInDays,
+          () -> feature + ": " + estimateInDays);
+    }
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void testMigration_estimatesWithTrailingZeros_stripped() {
+    migrate("25");
+
+    final var jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("""
+        INSERT INTO %1$s."user" VALUES (1, 'someUser', '{noop}qwerty123', 'blah@example.com',
+          now(), now());
+        INSERT INTO %1$s.project (id, title, description, client, creator_id, estimate_in_days,
+          created_at, last_updated_at)
+        VALUES (1, 'Project', 'Blah...', 'Anonym', 1, 0, now(), now());
+        """.formatted(SCHEMA));
+
+    // as the application computed them before V26: 24.00 / 6 = 4.0, 15 / 6 = 2.5
+    final var features = new Feature[] {
+        new Feature(1L, null, null, "Feature", "Blah...", new BigDecimal("2.00"),
+            new BigDecimal("4.00"), new BigDecimal("6.00"), NOW, NOW),
+        new Feature(2L, null, null, "Feature", "Blah...", new BigDecimal("1"),
+            new BigDecimal("2"), new BigDecimal("6"), NOW, NOW)};
+    final var estimatesBeforeMigration = new String[] {"4.0", "2.5"};
+
+    for (var i = 0; i < features.length; i++) {
+      final var feature = features[i];
+
+      jdbcTemplate.update("""
+          INSERT INTO %s.feature (id, project_id, title, description, best_case_estimate_in_days,
+            most_likely_estimate_in_days, worst_case_estimate_in_days, estimate_in_days,
+            created_at, last_updated_at)
+          VALUES (?, 1, 'Feature', 'Blah...', ?, ?, ?, ?, now(), now())
+          """.formatted(SCHEMA), feature.getId(), feature.getBestCaseEstimateInDays(),
+          feature.getMostLikelyEstimateInDays(), feature.getWorstCaseEstimateInDays(),
+          new BigDecimal(estimatesBeforeMigration[i]));
+    }
+
+    migrate("26");
+
+    for (final var feature : features) {
+      Assertions.assertEquals(feature.getEstimateInDays(), jdbcTemplate.queryForObject(
+          "SELECT estimate_in_days FROM %s.feature WHERE id = ?".formatted(SCHEMA),
+          BigDecimal.class, feature.getId()));
+    }
+
+    Assertions.assertEquals("4", features[0].getEstimateInDays().toString());
+  }
+
+  private void migrate(final String target) {
+    Flyway.configure()
+        .dataSource(dataSource)
+        .schemas(SCHEMA)
+        .target(target)
+        .load()
+        .migrate();
+  }
+}
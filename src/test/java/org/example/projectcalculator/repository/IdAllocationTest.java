@@ -0,0 +1,78 @@
+package org.example.projectcalculator.repository;
+
+import static org.example.projectcalculator.TestingData.CLOCK;
+import static org.example.projectcalculator.TestingData.NOW;
+import static org.example.projectcalculator.TestingData.PROJECT_MAPPER;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.example.projectcalculator.dto.request.CreateUpdateProjectDtoRequest;
+import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.utility.PostgresContainerTest;
+import org.example.projectcalculator.service.PriceService;
+import org.example.projectcalculator.service.ProjectOwnershipGuard;
+import org.example.projectcalculator.service.ProjectService;
+import org.example.projectcalculator.service.TeamCostCache;
+import org.example.projectcalculator.service.UserService;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class IdAllocationTest extends PostgresContainerTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+  @Autowired
+  private RateRepository rateRepository;
+  @Autowired
+  private TeamMemberRepository teamMemberRepository;
+
+  @Test
+  void testCreateProject_pooledIds_fewStatements() {
+    final var creator = entityManager.persist(
+        new User(0L, "someUser", "{noop}qwerty123", "blah@example.com", NOW, NOW));
+    entityManager.flush();
+
+    final var userServiceMock = mock(UserService.class);
+    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
+
+    final var teamCostCache =
+        new TeamCostCache(Duration.ofMinutes(1), 10, new SimpleMeterRegistry());
+    final var projectService =
+        new ProjectService(
+            userServiceMock,
+            new PriceService(teamCostCache, new SimpleMeterRegistry()),
+            mock(ProjectOwnershipGuard.class),
+            teamCostCache,
+            projectRepository,
+            rateRepository,
+            teamMemberRepository,
+            CLOCK,
+            PROJECT_MAPPER,
+            true);
+
+    final var statistics = entityManager.getEntityManager().getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    projectService.createProject(
+        new CreateUpdateProjectDtoRequest("Weather Telegram bot", "Blah...", "Anonym"));
+    entityManager.flush();
+
+    // 1 project + 6 rates + 3 team members: with allocationSize = 1 there were 10 nextval calls
+    // and 3 insert statements, now it is 1 nextval per sequence and 1 (batched) insert per table
+    Assertions.assertEquals(10, statistics.getEntityInsertCount());
+    Assertions.assertTrue(statistics.getPrepareStatementCount() <= 6,
+        "prepared statements: " + statistics.getPrepareStatementCount());
+  }
+}
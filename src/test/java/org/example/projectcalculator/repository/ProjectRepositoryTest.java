@@ -0,0 +1,188 @@
+package org.example.projectcalculator.repository;
+
+import static org.example.projectcalculator.TestingData.NOW;
+import static org.example.projectcalculator.TestingData.PROJECT_MAPPER;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.example.projectcalculator.dto.ProjectDto;
+import org.example.projectcalculator.model.EstimateDelta;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.TeamMember;
+import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.projection.ProjectWithPrice;
+import org.example.projectcalculator.repository.utility.PostgresContainerTest;
+import org.example.projectcalculator.service.PriceService;
+import org.example.projectcalculator.service.TeamCostCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+class ProjectRepositoryTest extends PostgresContainerTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private EstimateDeltaRepository estimateDeltaRepository;
+
+  private final PriceService priceService =
+      new PriceService(
+          new TeamCostCache(Duration.ofMinutes(1), 10, new SimpleMeterRegistry()),
+          new SimpleMeterRegistry());
+
+  @Test
+  void testFindAllWithPrice_variousTeams_sameAsPriceService() {
+    final var creator = entityManager.persist(
+        new User(0L, "someUser", "{noop}qwerty123", "blah@example.com", NOW, NOW));
+    final var anotherUser = entityManager.persist(
+        new User(0L, "anotherUser", "{noop}qwerty123", "another@example.com", NOW, NOW));
+
+    // default team
+    persistProject(creator, "4.4", "0", List.of(
+        new TeamMember(0L, Position.REGULAR_DEVELOPER, new BigDecimal("1"), null),
+        new TeamMember(0L, Position.QA_ENGINEER, new BigDecimal("0.25"), null),
+        new TeamMember(0L, Position.PROJECT_MANAGER, new BigDecimal("0.25"), null)));
+    // rates with fractional part and no team members on some positions
+    final var projectWithDeltas = persistProject(creator, "1.3E+2", "0.75", List.of(
+        new TeamMember(0L, Position.SENIOR_DEVELOPER, new BigDecimal("2.50"), null),
+        new TeamMember(0L, Position.ARCHITECT, new BigDecimal("0.10"), null)));
+    // not yet compacted estimate deltas are a part of estimate and price
+    entityManager.persist(
+        new EstimateDelta(0L, projectWithDeltas, null, new BigDecimal("2.5"), NOW));
+    entityManager.persist(
+        new EstimateDelta(0L, projectWithDeltas, null, new BigDecimal("-0.25"), NOW));
+    // empty team
+    persistProject(creator, "0", "0.01", List.of());
+    // another creator
+    persistProject(anotherUser, "13", "0", List.of(
+        new TeamMember(0L, Position.DEVOPS_ENGINEER, new BigDecimal("1"), null)));
+
+    entityManager.flush();
+    entityManager.clear();
+
+    final var actualProjectDtos = projectRepository.findAllWithPrice(creator.getId()).stream()
+        .map(PROJECT_MAPPER::toProjectDto)
+        .toList();
+
+    entityManager.clear();
+
+    final var expectedProjectDtos = getAllProjectsPricedByPriceService(creator.getId());
+
+    Assertions.assertEquals(3, actualProjectDtos.size());
+    Assertions.assertEquals(expectedProjectDtos, actualProjectDtos);
+  }
+
+  @Test
+  void testFindAllWithPrice_afterIdAndLimit_returnKeysetPages() {
+    final var creator = entityManager.persist(
+        new User(0L, "someUser", "{noop}qwerty123", "blah@example.com", NOW, NOW));
+
+    for (var i = 0; i < 5; ++i) {
+      persistProject(creator, "1", "0", List.of());
+    }
+
+    entityManager.flush();
+    entityManager.clear();
+
+    final var allProjectIds = projectRepository.findAllWithPrice(creator.getId()).stream()
+        .map(ProjectWithPrice::getId)
+        .toList();
+
+    final var firstPage = projectRepository.findAllWithPrice(creator.getId(), 0L, 2);
+    final var secondPage = projectRepository.findAllWithPrice(creator.getId(),
+        firstPage.get(1).getId(), 2);
+    final var lastPage = projectRepository.findAllWithPrice(creator.getId(),
+        allProjectIds.get(3), 2);
+
+    Assertions.assertEquals(allProjectIds.subList(0, 2),
+        firstPage.stream().map(ProjectWithPrice::getId).toList());
+    Assertions.assertEquals(allProjectIds.subList(2, 4),
+        secondPage.stream().map(ProjectWithPrice::getId).toList());
+    Assertions.assertEquals(allProjectIds.subList(4, 5),
+        lastPage.stream().map(ProjectWithPrice::getId).toList());
+  }
+
+  @Test
+  void testFindState_featureWriteAndCompaction_stateChanges() {
+    final var creator = entityManager.persist(
+        new User(0L, "someUser", "{noop}qwerty123", "blah@example.com", NOW, NOW));
+    final var anotherUser = entityManager.persist(
+        new User(0L, "anotherUser", "{noop}qwerty123", "another@example.com", NOW, NOW));
+    final var project = entityManager.persist(
+        new Project(0L, "title", "description", "client", creator, BigDecimal.ZERO,
+            new ArrayList<>(), new ArrayList<>(), NOW, NOW));
+
+    entityManager.flush();
+
+    final var initialState = findState(project, creator);
+    final var initialStateOfAll = projectRepository.findStateOfAllByCreatorId(creator.getId());
+
+    // write of Feature that doesn't change estimate
+    entityManager.persist(new EstimateDelta(0L, project, null, BigDecimal.ZERO, NOW));
+    entityManager.flush();
+
+    final var stateAfterWrite = findState(project, creator);
+
+    estimateDeltaRepository.compact(10);
+    entityManager.clear();
+
+    final var stateAfterCompaction = findState(project, creator);
+
+    Assertions.assertNotEquals(initialState, stateAfterWrite);
+    Assertions.assertNotEquals(initialState, stateAfterCompaction);
+    Assertions.assertNotEquals(stateAfterWrite, stateAfterCompaction);
+    Assertions.assertNotEquals(initialStateOfAll,
+        projectRepository.findStateOfAllByCreatorId(creator.getId()));
+    Assertions.assertTrue(
+        projectRepository.findStateByIdAndCreatorId(project.getId(), anotherUser.getId())
+            .isEmpty());
+  }
+
+  private String findState(final Project project, final User creator) {
+    return projectRepository.findStateByIdAndCreatorId(project.getId(), creator.getId())
+        .orElseThrow();
+  }
+
+  private Project persistProject(final User creator, final String estimateInDays,
+      final String rateFractionalPart, final List<TeamMember> teamMembers) {
+    final var project = entityManager.persist(
+        new Project(0L, "title", "description", "client", creator, new BigDecimal(estimateInDays),
+            new ArrayList<>(), new ArrayList<>(), NOW, NOW));
+
+    for (final var position : Position.values()) {
+      entityManager.persist(new Rate(0L, position,
+          position.getDefaultRateInRublesPerHour().add(new BigDecimal(rateFractionalPart)),
+          project));
+    }
+
+    for (final var teamMember : teamMembers) {
+      teamMember.setProject(project);
+      entityManager.persist(teamMember);
+    }
+
+    return project;
+  }
+
+  // the same way as ProjectService does it if price-in-sql is false
+  private List<ProjectDto> getAllProjectsPricedByPriceService(final long creatorId) {
+    final var projects = projectRepository.findAllWithRates(creatorId);
+    projectRepository.findAllWithTeamMembers(creatorId);
+
+    return projects.stream()
+        .sorted(Comparator.comparingLong(Project::getId))
+        .map(project -> PROJECT_MAPPER.toProjectDto(project,
+            priceService.computePriceInRubles(project, project.getEstimateInDays())))
+        .toList();
+  }
+}
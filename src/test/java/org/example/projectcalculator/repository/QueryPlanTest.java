@@ -0,0 +1,141 @@
+package org.example.projectcalculator.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.example.projectcalculator.repository.utility.PostgresContainerTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/**
+ * Runs EXPLAIN on SQL of repository queries against seeded large data and checks that none of
+ * them reads a whole table.
+ */
+class QueryPlanTest extends PostgresContainerTest {
+
+  private static final int USERS = 100;
+  private static final int PROJECTS = 10_000;
+  private static final int MILESTONES = 50_000;
+  private static final int FEATURES = 200_000;
+  private static final int ESTIMATE_DELTAS = 20_000;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Test
+  void testRepositoryQueries_largeData_noSeqScan() {
+    seed();
+
+    // same SQL as derived queries of repositories (and native queries of ProjectRepository)
+    final var queries = new LinkedHashMap<String, String>();
+    queries.put("FeatureRepository.findByIdAndProjectId",
+        "SELECT * FROM feature WHERE id = 1042 AND project_id = 1043");
+    queries.put("FeatureRepository.findAllByProjectId",
+        "SELECT * FROM feature WHERE project_id = 42");
+    queries.put("FeatureRepository.findAllByProjectIdAndMilestoneId",
+        "SELECT * FROM feature WHERE project_id = 42 AND milestone_id = 10041");
+    queries.put("FeatureRepository.findAllByProjectIdAndIdGreaterThanOrderById",
+        "SELECT * FROM feature WHERE project_id = 42 AND id > 50000 ORDER BY id LIMIT 100");
+    queries.put("FeatureRepository.findAllByProjectIdAndMilestoneIdAndIdGreaterThanOrderById",
+        "SELECT * FROM feature WHERE project_id = 42 AND milestone_id = 10041 AND id > 50000 "
+            + "ORDER BY id LIMIT 100");
+    queries.put("MilestoneRepository.findByIdAndProjectId",
+        "SELECT * FROM milestone WHERE id = 10041 AND project_id = 42");
+    queries.put("MilestoneRepository.findAllByProjectId",
+        "SELECT * FROM milestone WHERE project_id = 42");
+    queries.put("MilestoneRepository.findAllByProjectIdAndIdGreaterThanOrderById",
+        "SELECT * FROM milestone WHERE project_id = 42 AND id > 10041 ORDER BY id LIMIT 100");
+    queries.put("RateRepository.findAllByProjectId",
+        "SELECT * FROM project_rate WHERE project_id = 42");
+    queries.put("TeamMemberRepository.findAllByProjectId",
+        "SELECT * FROM team_member WHERE project_id = 42");
+    queries.put("ProjectRepository.findByIdAndCreatorId",
+        "SELECT * FROM project WHERE id = 42 AND creator_id = 43");
+    queries.put("Project.pendingEstimateInDaysDelta",
+        "SELECT SUM(estimate_in_days_delta) FROM estimate_delta WHERE project_id = 42");
+    queries.put("Milestone.pendingEstimateInDaysDelta",
+        "SELECT SUM(estimate_in_days_delta) FROM estimate_delta WHERE milestone_id = 10041");
+    queries.put("ProjectRepository.findAllWithPrice",
+        ProjectRepository.SELECT_PROJECTS_WITH_PRICE
+            + "WHERE project.creator_id = 42 ORDER BY project.id");
+    queries.put("ProjectRepository.findAllWithPrice (keyset)",
+        ProjectRepository.SELECT_PROJECTS_WITH_PRICE
+            + "WHERE project.creator_id = 42 AND project.id > 5000 ORDER BY project.id LIMIT 100");
+
+    Assertions.assertAll(queries.entrySet().stream()
+        .map(query -> (Executable) () -> {
+          final var plan = explain(query.getValue());
+
+          Assertions.assertFalse(plan.contains("Seq Scan"),
+              () -> query.getKey() + " reads whole table:\n" + plan);
+        }));
+  }
+
+  private void seed() {
+    executeUpdate("""
+        INSERT INTO "user" (id, login, password_hash, email, created_at, last_updated_at)
+        SELECT i, 'user' || i, '{noop}qwerty123', 'user' || i || '@example.com', now(), now()
+        FROM generate_series(1, %d) i
+        """.formatted(USERS));
+    executeUpdate("""
+        INSERT INTO project (id, title, description, client, creator_id, estimate_in_days,
+          created_at, last_updated_at)
+        SELECT i, 'Project ' || i, 'Blah...', 'Anonym', i %% %d + 1, 0, now(), now()
+        FROM generate_series(1, %d) i
+        """.formatted(USERS, PROJECTS));
+    executeUpdate("""
+        INSERT INTO milestone (id, project_id, title, description, start_timestamp, end_timestamp,
+          estimate_in_days, created_at, last_updated_at)
+        SELECT i, i %% %d + 1, 'Milestone ' || i, 'Blah...', now(), now(), 0, now(), now()
+        FROM generate_series(1, %d) i
+        """.formatted(PROJECTS, MILESTONES));
+    // every second feature belongs to milestone (of the same project)
+    executeUpdate("""
+        INSERT INTO feature (id, project_id, milestone_id, title, description,
+          best_case_estimate_in_days, most_likely_estimate_in_days, worst_case_estimate_in_days,
+          estimate_in_days, created_at, last_updated_at)
+        SELECT i, i %% %d + 1, CASE WHEN i %% 2 = 0 THEN %d + i %% %d END, 'Feature ' || i,
+          'Blah...', 1, 2, 3, 2, now(), now()
+        FROM generate_series(1, %d) i
+        """.formatted(PROJECTS, PROJECTS, PROJECTS, FEATURES));
+    executeUpdate("""
+        INSERT INTO project_rate (id, project_id, team_member_position, rubles_per_hour)
+        SELECT row_number() OVER (), project_id, position, 1600
+        FROM generate_series(1, %d) project_id,
+          unnest(enum_range(CAST(NULL AS position_type))) position
+        """.formatted(PROJECTS));
+    executeUpdate("""
+        INSERT INTO team_member (id, project_id, team_member_position, number_of_team_members)
+        SELECT row_number() OVER (), project_id, position, 1
+        FROM generate_series(1, %d) project_id,
+          unnest(enum_range(CAST('REGULAR_DEVELOPER' AS position_type),
+            CAST('PROJECT_MANAGER' AS position_type))) position
+        """.formatted(PROJECTS));
+    // not yet compacted deltas of every second feature
+    executeUpdate("""
+        INSERT INTO estimate_delta (id, project_id, milestone_id, estimate_in_days_delta,
+          created_at)
+        SELECT id, project_id, milestone_id, estimate_in_days, now()
+        FROM feature
+        WHERE id <= %d
+        """.formatted(2 * ESTIMATE_DELTAS));
+    executeUpdate("ANALYZE");
+  }
+
+  // "::" casts are not used, because Hibernate parses ":name" as a parameter of native query
+  private void executeUpdate(final String sql) {
+    entityManager.getEntityManager().createNativeQuery(sql).executeUpdate();
+  }
+
+  private String explain(final String sql) {
+    return ((List<?>) entityManager.getEntityManager()
+        .createNativeQuery("EXPLAIN " + sql)
+        .getResultList())
+        .stream()
+        .map(String::valueOf)
+        .collect(Collectors.joining("\n"));
+  }
+}
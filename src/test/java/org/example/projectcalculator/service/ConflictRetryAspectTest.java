@@ -0,0 +1,91 @@
+package org.example.projectcalculator.service;
+
+import java.time.Duration;
+import org.example.projectcalculator.error.ConcurrentUpdateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ConflictRetryAspectTest {
+
+  private static final int MAX_ATTEMPTS = 3;
+
+  private ConflictingUpdater updater;
+
+  private ConflictingUpdater updaterProxy;
+
+  @BeforeEach
+  public void createProxy() {
+    updater = new ConflictingUpdater();
+
+    final var proxyFactory = new AspectJProxyFactory(updater);
+    proxyFactory.addAspect(new ConflictRetryAspect(MAX_ATTEMPTS, Duration.ofMillis(1)));
+
+    updaterProxy = proxyFactory.getProxy();
+  }
+
+  @AfterEach
+  public void resetTransaction() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  @Test
+  void testRetryOnConflict_conflictsLessThanMaxAttempts_returnResult() {
+    updater.conflicts = MAX_ATTEMPTS - 1;
+
+    Assertions.assertEquals(MAX_ATTEMPTS, updaterProxy.update());
+    Assertions.assertEquals(MAX_ATTEMPTS, updater.invocations);
+  }
+
+  @Test
+  void testRetryOnConflict_conflictsOnEveryAttempt_throwConcurrentUpdateException() {
+    updater.conflicts = Integer.MAX_VALUE;
+
+    final var e = Assertions.assertThrows(ConcurrentUpdateException.class, updaterProxy::update);
+
+    Assertions.assertInstanceOf(OptimisticLockingFailureException.class, e.getCause());
+    Assertions.assertEquals(MAX_ATTEMPTS, updater.invocations);
+  }
+
+  @Test
+  void testRetryOnConflict_outerTransaction_noRetry() {
+    updater.conflicts = 1;
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+
+    Assertions.assertThrows(OptimisticLockingFailureException.class, updaterProxy::update);
+    Assertions.assertEquals(1, updater.invocations);
+  }
+
+  @Test
+  void testRetryOnConflict_notAnnotatedMethod_noRetry() {
+    updater.conflicts = 1;
+
+    Assertions.assertThrows(OptimisticLockingFailureException.class,
+        updaterProxy::updateWithoutRetry);
+    Assertions.assertEquals(1, updater.invocations);
+  }
+
+  static class ConflictingUpdater {
+
+    private int conflicts;
+
+    private int invocations;
+
+    @RetryOnConflict
+    public int update() {
+      return updateWithoutRetry();
+    }
+
+    public int updateWithoutRetry() {
+      if (++invocations <= conflicts) {
+        throw new OptimisticLockingFailureException("Row was updated by another transaction");
+      }
+
+      return invocations;
+    }
+  }
+}
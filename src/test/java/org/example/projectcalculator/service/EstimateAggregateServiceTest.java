@@ -0,0 +1,159 @@
+package org.example.projectcalculator.service;
+
+import static org.example.projectcalculator.TestingData.CLOCK;
+import static org.example.projectcalculator.TestingData.NOW;
+import static org.example.projectcalculator.TestingData.createMilestone1;
+import static org.example.projectcalculator.TestingData.createMilestone2;
+import static org.example.projectcalculator.TestingData.createProject;
+import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import javax.persistence.EntityManager;
+import org.example.projectcalculator.model.EstimateDelta;
+import org.example.projectcalculator.model.Milestone;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.repository.EstimateDeltaRepository;
+import org.example.projectcalculator.repository.projection.EstimateDrift;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EstimateAggregateServiceTest {
+
+  private EstimateDeltaRepository estimateDeltaRepositoryMock;
+
+  private EntityManager entityManagerMock;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private EstimateAggregateService estimateAggregateService;
+
+  @BeforeEach
+  public void initMocks() {
+    estimateDeltaRepositoryMock = mock(EstimateDeltaRepository.class);
+
+    entityManagerMock = mock(EntityManager.class);
+
+    meterRegistry = new SimpleMeterRegistry();
+
+    estimateAggregateService = new EstimateAggregateService(
+        estimateDeltaRepositoryMock,
+        entityManagerMock,
+        CLOCK,
+        100,
+        meterRegistry);
+  }
+
+  @Test
+  void testAddEstimateDelta_zeroDelta_saveDelta() {
+    final var project = createProject(createUser());
+
+    estimateAggregateService.addEstimateDelta(project, null, new BigDecimal("0.0"), NOW);
+
+    verify(estimateDeltaRepositoryMock).save(argThat(
+        delta -> isDelta(delta, project, null, "0")));
+  }
+
+  @Test
+  void testReplaceEstimate_sameMilestone_saveSingleDelta() {
+    final var project = createProject(createUser());
+    final var milestone = createMilestone1(project);
+
+    estimateAggregateService.replaceEstimate(project, milestone, new BigDecimal("4.4"),
+        createMilestone1(project), new BigDecimal("2"), NOW);
+
+    verify(estimateDeltaRepositoryMock).save(argThat(
+        delta -> isDelta(delta, project, milestone, "-2.4")));
+    verify(estimateDeltaRepositoryMock, times(1)).save(any());
+  }
+
+  @Test
+  void testReplaceEstimate_anotherMilestone_saveDeltaForEachMilestone() {
+    final var project = createProject(createUser());
+    final var oldMilestone = createMilestone1(project);
+    final var newMilestone = createMilestone2(project);
+
+    estimateAggregateService.replaceEstimate(project, oldMilestone, new BigDecimal("4.4"),
+        newMilestone, new BigDecimal("2"), NOW);
+
+    verify(estimateDeltaRepositoryMock).save(argThat(
+        delta -> isDelta(delta, project, oldMilestone, "-4.4")));
+    verify(estimateDeltaRepositoryMock).save(argThat(
+        delta -> isDelta(delta, project, newMilestone, "2")));
+  }
+
+  @Test
+  void testReconcileEstimates_driftedMilestone_compensateProject() {
+    final var project = createProject(createUser());
+    final var milestone = createMilestone1(project);
+
+    when(estimateDeltaRepositoryMock.tryAdvisoryTransactionLock(anyLong())).thenReturn(true);
+    when(estimateDeltaRepositoryMock.findAllDrifts()).thenReturn(List.of(
+        drift(project.getId(), milestone.getId(), "1", "5.4")));
+    when(entityManagerMock.getReference(Project.class, project.getId())).thenReturn(project);
+    when(entityManagerMock.getReference(Milestone.class, milestone.getId())).thenReturn(
+        milestone);
+
+    final var drifts = estimateAggregateService.reconcileEstimates();
+
+    Assertions.assertEquals(1, drifts);
+    Assertions.assertEquals(1.0, meterRegistry.get("project-calculator.estimate.drift")
+        .tag("aggregate", "milestone").counter().count());
+    verify(estimateDeltaRepositoryMock).save(argThat(
+        delta -> isDelta(delta, project, milestone, "4.4")));
+    verify(estimateDeltaRepositoryMock).save(argThat(
+        delta -> isDelta(delta, project, null, "-4.4")));
+  }
+
+  @Test
+  void testReconcileEstimates_lockIsTaken_skip() {
+    when(estimateDeltaRepositoryMock.tryAdvisoryTransactionLock(anyLong())).thenReturn(false);
+
+    Assertions.assertEquals(0, estimateAggregateService.reconcileEstimates());
+
+    verify(estimateDeltaRepositoryMock, never()).findAllDrifts();
+  }
+
+  private static boolean isDelta(final EstimateDelta delta, final Project project,
+      final Milestone milestone, final String estimateInDaysDelta) {
+    return delta.getProject() == project
+        && Objects.equals(delta.getMilestone(), milestone)
+        && new BigDecimal(estimateInDaysDelta).compareTo(delta.getEstimateInDaysDelta()) == 0;
+  }
+
+  private static EstimateDrift drift(final long projectId, final Long milestoneId,
+      final String maintainedEstimateInDays, final String actualEstimateInDays) {
+    return new EstimateDrift() {
+      @Override
+      public long getProjectId() {
+        return projectId;
+      }
+
+      @Override
+      public Long getMilestoneId() {
+        return milestoneId;
+      }
+
+      @Override
+      public BigDecimal getMaintainedEstimateInDays() {
+        return new BigDecimal(maintainedEstimateInDays);
+      }
+
+      @Override
+      public BigDecimal getActualEstimateInDays() {
+        return new BigDecimal(actualEstimateInDays);
+      }
+    };
+  }
+}
@@ -0,0 +1,168 @@
+package org.example.projectcalculator.service;
+
+import static org.example.projectcalculator.TestingData.NOW;
+import static org.example.projectcalculator.service.utility.ServiceTestHelper.setSecurityContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.example.projectcalculator.dto.request.CreateFeatureDtoRequest;
+import org.example.projectcalculator.dto.request.CreateUpdateMilestoneDtoRequest;
+import org.example.projectcalculator.dto.request.CreateUpdateProjectDtoRequest;
+import org.example.projectcalculator.dto.request.UpdateFeatureDtoRequest;
+import org.example.projectcalculator.model.Feature;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.repository.EstimateDeltaRepository;
+import org.example.projectcalculator.repository.FeatureRepository;
+import org.example.projectcalculator.repository.MilestoneRepository;
+import org.example.projectcalculator.repository.ProjectRepository;
+import org.example.projectcalculator.repository.UserRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs 64 parallel writers of {@link Feature}s of the same {@link Project} against real
+ * PostgreSQL and checks that no update of estimate is lost. It is skipped if Docker is not
+ * available.
+ */
+// mock web environment, because WebSecurityConfiguration needs Spring MVC
+@SpringBootTest(
+    // every writer must eventually succeed, it is checked that no update is lost, not latency
+    properties = "project-calculator.conflict-retry.max-attempts=1000")
+@Testcontainers(disabledWithoutDocker = true)
+class FeatureServiceConcurrencyTest {
+
+  private static final int WRITERS = 64;
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired
+  private ProjectService projectService;
+  @Autowired
+  private MilestoneService milestoneService;
+  @Autowired
+  private FeatureService featureService;
+  @Autowired
+  private EstimateAggregateService estimateAggregateService;
+
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private ProjectRepository projectRepository;
+  @Autowired
+  private MilestoneRepository milestoneRepository;
+  @Autowired
+  private FeatureRepository featureRepository;
+  @Autowired
+  private EstimateDeltaRepository estimateDeltaRepository;
+
+  @DynamicPropertySource
+  static void postgresProperties(final DynamicPropertyRegistry registry) {
+    // same as in PostgresContainerTest
+    registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&stringtype=unspecified");
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @Test
+  void testSaveAndUpdateFeature_parallelWriters_noLostUpdates() throws Exception {
+    final var creator = userRepository.save(
+        new User(0L, "writer", "{noop}qwerty123", "writer@example.com", NOW, NOW));
+
+    setSecurityContext(creator);
+
+    final var projectId = projectService.createProject(
+        new CreateUpdateProjectDtoRequest("title", "description", "client")).id();
+    final var milestoneId = milestoneService.createMilestone(
+        new CreateUpdateMilestoneDtoRequest("title", "description", NOW, NOW.plusDays(1)),
+        projectId).id();
+    final var featureId = featureService.saveFeature(
+        createFeatureDtoRequest(0, milestoneId), projectId).id();
+
+    final var executor = Executors.newFixedThreadPool(WRITERS);
+    final var start = new CountDownLatch(1);
+    final var writers = new ArrayList<Future<?>>();
+
+    try {
+      for (var i = 1; i <= WRITERS; ++i) {
+        final var writer = i;
+        // moves Feature between Milestone and no Milestone
+        final var writerMilestoneId = (writer % 4 < 2) ? milestoneId : null;
+
+        writers.add(executor.submit(() -> {
+          setSecurityContext(creator);
+          start.await();
+
+          // half of writers create new Features, another half update the same Feature
+          if (writer % 2 == 0) {
+            featureService.saveFeature(createFeatureDtoRequest(writer, writerMilestoneId),
+                projectId);
+          } else {
+            final var request = createFeatureDtoRequest(writer, null);
+
+            featureService.updateFeature(new UpdateFeatureDtoRequest(request.getTitle(),
+                request.getDescription(), request.getBestCaseEstimateInDays(),
+                request.getMostLikelyEstimateInDays(), request.getWorstCaseEstimateInDays(),
+                writerMilestoneId), projectId, featureId);
+          }
+
+          return null;
+        }));
+      }
+
+      start.countDown();
+
+      for (final var writer : writers) {
+        writer.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    while (estimateAggregateService.compactEstimateDeltas() > 0) {
+      // compact all deltas, so that stored estimates are checked too
+    }
+
+    final var features = featureRepository.findAllByProjectId(projectId);
+    final var milestoneFeatures =
+        featureRepository.findAllByProjectIdAndMilestoneId(projectId, milestoneId);
+
+    Assertions.assertEquals(1 + WRITERS / 2, features.size());
+    Assertions.assertEquals(0, estimateDeltaRepository.count());
+    Assertions.assertEquals(0, sumOfEstimates(features).compareTo(
+        projectRepository.findById(projectId).orElseThrow().getEstimateInDays()));
+    Assertions.assertEquals(0, sumOfEstimates(milestoneFeatures).compareTo(
+        milestoneRepository.findById(milestoneId).orElseThrow().getEstimateInDays()));
+    Assertions.assertTrue(estimateDeltaRepository.findAllDrifts().isEmpty());
+  }
+
+  private static CreateFeatureDtoRequest createFeatureDtoRequest(final int writer,
+      final Long milestoneId) {
+    final var bestCaseEstimate = BigDecimal.valueOf(1 + writer % 5);
+
+    return new CreateFeatureDtoRequest("Feature " + writer, "Blah...", bestCaseEstimate,
+        bestCaseEstimate.add(BigDecimal.ONE), bestCaseEstimate.add(BigDecimal.TEN), milestoneId);
+  }
+
+  private static BigDecimal sumOfEstimates(final Iterable<Feature> features) {
+    var sum = BigDecimal.ZERO;
+
+    for (final var feature : features) {
+      sum = sum.add(feature.getEstimateInDays());
+    }
+
+    return sum;
+  }
+}
@@ -11,49 +11,80 @@ import static org.example.projectcalculator.TestingData.createProject;
 import static org.example.projectcalculator.TestingData.createUser;
 import static org.example.projectcalculator.service.utility.ServiceTestHelper.setSecurityContext;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.example.projectcalculator.dto.FeatureDto;
+import org.example.projectcalculator.dto.request.CreateFeaturesDtoRequest;
 import org.example.projectcalculator.model.Feature;
 import org.example.projectcalculator.repository.FeatureRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
 
 class FeatureServiceTest {
 
-  private UserService userServiceMock;
-  private ProjectService projectServiceMock;
+  private ProjectOwnershipGuard projectOwnershipGuardMock;
   private MilestoneService milestoneServiceMock;
   private PriceService priceServiceMock;
+  private EstimateAggregateService estimateAggregateServiceMock;
+  private ParallelMapper parallelMapper;
 
   private FeatureRepository featureRepositoryMock;
 
+  private EntityManager entityManagerMock;
+
   private FeatureService featureService;
 
   @BeforeEach
   public void initMocks() {
-    userServiceMock = mock(UserService.class);
-    projectServiceMock = mock(ProjectService.class);
+    projectOwnershipGuardMock = mock(ProjectOwnershipGuard.class);
     milestoneServiceMock = mock(MilestoneService.class);
     priceServiceMock = mock(PriceService.class);
+    estimateAggregateServiceMock = mock(EstimateAggregateService.class);
+    // lists of at least 2 Features are mapped in parallel
+    parallelMapper = new ParallelMapper(2, 2, new SimpleMeterRegistry());
 
     featureRepositoryMock = mock(FeatureRepository.class);
 
+    entityManagerMock = mock(EntityManager.class);
+
     featureService =
         new FeatureService(
-            userServiceMock,
-            projectServiceMock,
+            projectOwnershipGuardMock,
             milestoneServiceMock,
             priceServiceMock,
+            estimateAggregateServiceMock,
+            parallelMapper,
             featureRepositoryMock,
+            entityManagerMock,
             CLOCK,
             FEATURE_MAPPER);
   }
 
+  @AfterEach
+  public void shutdownParallelMapper() {
+    parallelMapper.shutdown();
+  }
+
   @Test
   void testCreateFeature_validFeatureWithMilestone_returnCreatedFeature() {
     final var creator = createUser();
@@ -63,8 +94,7 @@ class FeatureServiceTest {
     final var createFeatureDtoRequest = FEATURE_MAPPER.toCreateFeatureDtoRequest(feature);
     final var expectedFeatureDto = FEATURE_MAPPER.toFeatureDto(feature);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
     when(milestoneServiceMock.getMilestone(project.getId(), milestone.getId())).thenReturn(
         milestone);
 
@@ -86,8 +116,7 @@ class FeatureServiceTest {
     final var createFeatureDtoRequest = FEATURE_MAPPER.toCreateFeatureDtoRequest(feature);
     final var expectedFeatureDto = FEATURE_MAPPER.toFeatureDto(feature);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(featureRepositoryMock.save(any(Feature.class))).thenReturn(feature);
 
@@ -99,6 +128,42 @@ class FeatureServiceTest {
     assertFeaturesAreEqual(expectedFeatureDto, actualFeatureDto);
   }
 
+  @Test
+  void testCreateFeatures_validFeatures_applyEstimateDeltaOnce() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var milestone = createMilestone1(project);
+    final var feature1 = createFeature1(project, milestone);
+    final var feature2 = createFeature2(project, milestone);
+    final var feature3 = createFeature1(project, null);
+    final var request = new CreateFeaturesDtoRequest(List.of(
+        FEATURE_MAPPER.toCreateFeatureDtoRequest(feature1),
+        FEATURE_MAPPER.toCreateFeatureDtoRequest(feature2),
+        FEATURE_MAPPER.toCreateFeatureDtoRequest(feature3)));
+    final var expectedMilestoneEstimateDelta = feature1.getEstimateInDays()
+        .add(feature2.getEstimateInDays());
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+    when(milestoneServiceMock.getMilestones(project.getId(), Set.of(milestone.getId())))
+        .thenReturn(Map.of(milestone.getId(), milestone));
+
+    setSecurityContext(creator);
+
+    final var actualFeatureDtos = featureService.saveFeatures(request, project.getId());
+
+    Assertions.assertEquals(3, actualFeatureDtos.size());
+    Assertions.assertEquals(milestone.getId(), actualFeatureDtos.get(0).milestoneId());
+    Assertions.assertNull(actualFeatureDtos.get(2).milestoneId());
+
+    verify(featureRepositoryMock).saveAll(anyList());
+    verify(estimateAggregateServiceMock).addEstimateDelta(eq(project), eq(milestone),
+        eq(expectedMilestoneEstimateDelta), any());
+    verify(estimateAggregateServiceMock).addEstimateDelta(eq(project), isNull(),
+        eq(feature3.getEstimateInDays()), any());
+    verify(estimateAggregateServiceMock, times(2)).addEstimateDelta(any(), any(), any(), any());
+    verify(milestoneServiceMock, never()).getMilestone(anyLong(), anyLong());
+  }
+
   @Test
   void testUpdateFeature_validFeature_returnUpdatedFeature() {
     final var creator = createUser();
@@ -109,8 +174,7 @@ class FeatureServiceTest {
     final var updateFeatureDtoRequest = FEATURE_MAPPER.toUpdateFeatureDtoRequest(newFeature, null);
     final var expectedFeatureDto = FEATURE_MAPPER.toFeatureDto(newFeature);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(featureRepositoryMock.findByIdAndProjectId(feature.getId(), project.getId())).thenReturn(
         Optional.of(feature));
@@ -136,8 +200,7 @@ class FeatureServiceTest {
         newMilestone.getId());
     final var expectedFeatureDto = FEATURE_MAPPER.toFeatureDto(newFeature);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
     when(milestoneServiceMock.getMilestone(project.getId(), newMilestone.getId())).thenReturn(
         newMilestone);
 
@@ -146,10 +209,14 @@ class FeatureServiceTest {
 
     setSecurityContext(creator);
 
+    final var oldEstimate = feature.getEstimateInDays();
+
     final var actualFeatureDto = featureService.updateFeature(updateFeatureDtoRequest,
         project.getId(), feature.getId());
 
     assertFeaturesAreEqual(expectedFeatureDto, actualFeatureDto);
+    verify(estimateAggregateServiceMock).replaceEstimate(eq(project), eq(oldMilestone),
+        eq(oldEstimate), eq(newMilestone), eq(newFeature.getEstimateInDays()), any());
   }
 
   @Test
@@ -164,8 +231,7 @@ class FeatureServiceTest {
         milestone.getId());
     final var expectedFeatureDto = FEATURE_MAPPER.toFeatureDto(newFeature);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
     when(featureRepositoryMock.findByIdAndProjectId(feature.getId(), project.getId())).thenReturn(
         Optional.of(feature));
 
@@ -184,8 +250,7 @@ class FeatureServiceTest {
     final var milestone = createMilestone1(project);
     final var feature = createFeature1(project, milestone);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(featureRepositoryMock.findAllByProjectIdAndMilestoneId(project.getId(),
         milestone.getId())).thenReturn(Collections.singletonList(feature));
@@ -207,8 +272,7 @@ class FeatureServiceTest {
     final var feature2 = createFeature2(project, null);
     final var features = List.of(feature1, feature2);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(featureRepositoryMock.findAllByProjectId(project.getId())).thenReturn(features);
 
@@ -217,6 +281,50 @@ class FeatureServiceTest {
     final var actualFeatureDtos = featureService.getAllFeatures(project.getId(), null);
 
     Assertions.assertNotNull(actualFeatureDtos);
-    Assertions.assertEquals(2, actualFeatureDtos.size());
+    Assertions.assertEquals(List.of(feature1.getId(), feature2.getId()),
+        actualFeatureDtos.stream().map(FeatureDto::id).toList());
+
+    verify(entityManagerMock).detach(feature1);
+    verify(entityManagerMock).detach(feature2);
+  }
+
+  @Test
+  void testGetFeaturePage_validArguments_returnPage() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var feature2 = createFeature2(project, null);
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+
+    when(featureRepositoryMock.findAllByProjectIdAndIdGreaterThanOrderById(project.getId(), 1L,
+        PageRequest.ofSize(1))).thenReturn(List.of(feature2));
+
+    final var actualFeatureDtos = featureService.getFeaturePage(project.getId(), null, 1L, 1);
+
+    Assertions.assertEquals(1, actualFeatureDtos.size());
+    Assertions.assertEquals(feature2.getId(), actualFeatureDtos.get(0).id());
+  }
+
+  @Test
+  void testStreamAllFeatures_validArguments_passAllAndDetach() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var feature1 = createFeature1(project, null);
+    final var feature2 = createFeature2(project, null);
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+
+    when(featureRepositoryMock.streamAllByProjectIdOrderById(project.getId())).thenReturn(
+        Stream.of(feature1, feature2));
+
+    final var actualFeatureIds = new ArrayList<Long>();
+
+    featureService.streamAllFeatures(project.getId(), null,
+        featureDto -> actualFeatureIds.add(featureDto.id()));
+
+    Assertions.assertEquals(List.of(feature1.getId(), feature2.getId()), actualFeatureIds);
+
+    verify(entityManagerMock).detach(feature1);
+    verify(entityManagerMock).detach(feature2);
   }
 }
@@ -0,0 +1,26 @@
+package org.example.projectcalculator.service;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LogArgumentsTest {
+
+  @Test
+  void testIds_fewEntities_formatAllIds() {
+    Assertions.assertEquals("[]", LogArguments.ids(List.<Long>of(), Long::longValue).toString());
+    Assertions.assertEquals("[1, 2, 3]",
+        LogArguments.ids(List.of(1L, 2L, 3L), Long::longValue).toString());
+  }
+
+  @Test
+  void testIds_manyEntities_formatFirstIdsAndCount() {
+    final var entities = LongStream.rangeClosed(1, 1000).boxed().toList();
+
+    final var ids = LogArguments.ids(entities, Long::longValue).toString();
+
+    Assertions.assertTrue(ids.startsWith("[1, 2, "));
+    Assertions.assertTrue(ids.endsWith(", " + LogArguments.MAX_IDS + ", ... (980 more)]"));
+  }
+}
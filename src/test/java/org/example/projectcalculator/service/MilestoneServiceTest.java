@@ -22,8 +22,7 @@ import org.junit.jupiter.api.Test;
 
 class MilestoneServiceTest {
 
-  private UserService userServiceMock;
-  private ProjectService projectServiceMock;
+  private ProjectOwnershipGuard projectOwnershipGuardMock;
   private PriceService priceServiceMock;
 
   private MilestoneRepository milestoneRepositoryMock;
@@ -32,13 +31,12 @@ class MilestoneServiceTest {
 
   @BeforeEach
   public void initMocks() {
-    userServiceMock = mock(UserService.class);
-    projectServiceMock = mock(ProjectService.class);
+    projectOwnershipGuardMock = mock(ProjectOwnershipGuard.class);
     priceServiceMock = mock(PriceService.class);
 
     milestoneRepositoryMock = mock(MilestoneRepository.class);
 
-    milestoneService = new MilestoneService(userServiceMock, projectServiceMock, priceServiceMock,
+    milestoneService = new MilestoneService(projectOwnershipGuardMock, priceServiceMock,
         milestoneRepositoryMock, CLOCK, MILESTONE_MAPPER);
   }
 
@@ -51,8 +49,7 @@ class MilestoneServiceTest {
         milestone);
     final var expectedMilestoneDto = MILESTONE_MAPPER.toMilestoneDto(milestone);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(milestoneRepositoryMock.save(any(Milestone.class))).thenReturn(milestone);
 
@@ -75,8 +72,7 @@ class MilestoneServiceTest {
         newMilestone);
     final var expectedMilestoneDto = MILESTONE_MAPPER.toMilestoneDto(newMilestone);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(milestoneRepositoryMock.findByIdAndProjectId(milestone.getId(),
         project.getId())).thenReturn(Optional.of(milestone));
@@ -95,8 +91,7 @@ class MilestoneServiceTest {
     final var project = createProject(creator);
     final var milestone = createMilestone1(project);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(milestoneRepositoryMock.findByIdAndProjectId(milestone.getId(),
         project.getId())).thenReturn(Optional.of(milestone));
@@ -116,8 +111,7 @@ class MilestoneServiceTest {
             createMilestone1(project),
             createMilestone2(project));
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(milestoneRepositoryMock.findAllByProjectId(project.getId())).thenReturn(milestones);
 
@@ -0,0 +1,62 @@
+package org.example.projectcalculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ParallelMapperTest {
+
+  @Test
+  void testMap_atLeastThreshold_mapInParallelPreservingOrder() {
+    final var meterRegistry = new SimpleMeterRegistry();
+    final var parallelMapper = new ParallelMapper(4, 1000, meterRegistry);
+    final var source = IntStream.range(0, 10 * ParallelMapper.LEAF_SIZE + 3).boxed().toList();
+    final var threadNames = ConcurrentHashMap.<String>newKeySet();
+
+    try {
+      final var actual = parallelMapper.map("test", source, i -> {
+        threadNames.add(Thread.currentThread().getName());
+
+        return "#" + i;
+      });
+
+      Assertions.assertEquals(source.stream().map(i -> "#" + i).toList(), actual);
+      Assertions.assertTrue(threadNames.stream()
+          .allMatch(name -> name.startsWith("parallel-mapping-")));
+      Assertions.assertEquals(1, meterRegistry.get("project-calculator.parallel-mapping")
+          .tags("mapping", "test", "mode", "parallel", "size", "10^3")
+          .timer()
+          .count());
+    } finally {
+      parallelMapper.shutdown();
+    }
+  }
+
+  @Test
+  void testMap_belowThreshold_mapSequentiallyInCallingThread() {
+    final var meterRegistry = new SimpleMeterRegistry();
+    final var parallelMapper = new ParallelMapper(4, 1000, meterRegistry);
+    final var source = IntStream.range(0, 999).boxed().toList();
+    final var threadNames = ConcurrentHashMap.<String>newKeySet();
+
+    try {
+      final var actual = parallelMapper.map("test", source, i -> {
+        threadNames.add(Thread.currentThread().getName());
+
+        return i * 2;
+      });
+
+      Assertions.assertEquals(source.stream().map(i -> i * 2).toList(), actual);
+      Assertions.assertEquals(Set.of(Thread.currentThread().getName()), threadNames);
+      Assertions.assertEquals(1, meterRegistry.get("project-calculator.parallel-mapping")
+          .tags("mapping", "test", "mode", "sequential", "size", "10^2")
+          .timer()
+          .count());
+    } finally {
+      parallelMapper.shutdown();
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package org.example.projectcalculator.service;
+
+import static org.example.projectcalculator.TestingData.createProject;
+import static org.example.projectcalculator.TestingData.createUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.TeamMember;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PriceServiceTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private PriceService priceService;
+
+  @BeforeEach
+  public void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    priceService = new PriceService(
+        new TeamCostCache(Duration.ofMinutes(1), 10, new SimpleMeterRegistry()),
+        meterRegistry);
+  }
+
+  @Test
+  void testCreateTeamCostSnapshot_defaultTeam_returnSnapshot() {
+    final var project = createProjectWithDefaultTeam();
+
+    final var teamCostSnapshot = priceService.createTeamCostSnapshot(project);
+
+    // 1600 * 1 + 2000 * 0.25 + 1760 * 0.25
+    Assertions.assertEquals(new BigDecimal("2540.00"),
+        teamCostSnapshot.getTeamPriceInRublesPerHour());
+    Assertions.assertEquals(new BigDecimal("1600"),
+        teamCostSnapshot.getPositionPriceInRublesPerHour(Position.REGULAR_DEVELOPER));
+    Assertions.assertEquals(new BigDecimal("500.00"),
+        teamCostSnapshot.getPositionPriceInRublesPerHour(Position.QA_ENGINEER));
+    Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(
+        teamCostSnapshot.getPositionPriceInRublesPerHour(Position.ARCHITECT)));
+  }
+
+  @Test
+  void testComputePriceInRubles_snapshot_sameAsPerPositionSum() {
+    final var project = createProjectWithDefaultTeam();
+    final var teamCostSnapshot = priceService.createTeamCostSnapshot(project);
+
+    for (final var estimateInDays : new String[]{"0", "0.17", "4.4", "13", "1.3E+2"}) {
+      final var estimate = new BigDecimal(estimateInDays);
+      final var expectedPrice = computePriceInRublesPerPosition(project, estimate);
+
+      Assertions.assertEquals(expectedPrice,
+          priceService.computePriceInRubles(teamCostSnapshot, estimate));
+      Assertions.assertEquals(expectedPrice,
+          priceService.computePriceInRubles(project, estimate));
+    }
+  }
+
+  @Test
+  void testComputePriceInRubles_randomTeamsAndEstimates_sameAsPerHourPrice() {
+    final var random = new Random(42L);
+
+    for (var i = 0; i < 1_000; i++) {
+      final var project = createProject(createUser());
+
+      for (final var position : Position.values()) {
+        project.getRates().add(new Rate(0L, position, randomDecimal(random, 12, 2), project));
+
+        if (random.nextBoolean()) {
+          project.getTeamMembers().add(
+              new TeamMember(0L, position, randomDecimal(random, 12, 2), project));
+        }
+      }
+
+      final var teamCostSnapshot = priceService.createTeamCostSnapshot(project);
+
+      for (var j = 0; j < 100; j++) {
+        // estimates of features are rounded to 2 significant digits, so they may have negative
+        // scale, sums of them (milestones, projects) may have up to 12 + 3 digits
+        final var estimate = randomDecimal(random, 15, 3)
+            .round(new MathContext(1 + random.nextInt(15), RoundingMode.UP));
+        final var expectedPrice = estimate
+            .multiply(teamCostSnapshot.getTeamPriceInRublesPerHour())
+            .multiply(BigDecimal.valueOf(8));
+
+        // equals (not compareTo), so scale must be the same too
+        Assertions.assertEquals(expectedPrice,
+            priceService.computePriceInRubles(teamCostSnapshot, estimate),
+            () -> "estimate " + estimate + ", team price "
+                + teamCostSnapshot.getTeamPriceInRublesPerHour());
+      }
+    }
+  }
+
+  @Test
+  void testComputePositionPriceInRubles_allPositions_sumToPrice() {
+    final var project = createProjectWithDefaultTeam();
+    final var teamCostSnapshot = priceService.createTeamCostSnapshot(project);
+
+    for (final var estimateInDays : new String[]{"0", "0.17", "4.4", "13", "1.3E+2"}) {
+      final var estimate = new BigDecimal(estimateInDays);
+      final var sumOfPositionPrices = Arrays.stream(Position.values())
+          .map(position -> priceService.computePositionPriceInRubles(teamCostSnapshot, position,
+              estimate))
+          .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+      Assertions.assertEquals(0, sumOfPositionPrices.compareTo(
+          priceService.computePriceInRubles(teamCostSnapshot, estimate)));
+    }
+  }
+
+  @Test
+  void testComputePriceInRubles_project_countSnapshotAndPrice() {
+    final var project = createProjectWithDefaultTeam();
+
+    priceService.computePriceInRubles(project, BigDecimal.ONE);
+    priceService.computePriceInRubles(project, BigDecimal.TEN);
+
+    Assertions.assertEquals(2, meterRegistry.get("project-calculator.price")
+        .tag("operation", "snapshot")
+        .counter()
+        .count());
+    Assertions.assertEquals(2, meterRegistry.get("project-calculator.price")
+        .tag("operation", "price")
+        .counter()
+        .count());
+  }
+
+  @Test
+  void testCreateTeamCostSnapshot_missingRate_throwAssertionError() {
+    final var project = createProjectWithDefaultTeam();
+    project.getRates().remove(0);
+
+    Assertions.assertThrows(AssertionError.class,
+        () -> priceService.createTeamCostSnapshot(project));
+  }
+
+  private static Project createProjectWithDefaultTeam() {
+    final var project = createProject(createUser());
+
+    Arrays.stream(Position.values())
+        .map(position -> new Rate(0L, position, position.getDefaultRateInRublesPerHour(), project))
+        .forEach(project.getRates()::add);
+
+    project.getTeamMembers().add(
+        new TeamMember(0L, Position.REGULAR_DEVELOPER, new BigDecimal("1"), project));
+    project.getTeamMembers().add(
+        new TeamMember(0L, Position.QA_ENGINEER, new BigDecimal("0.25"), project));
+    project.getTeamMembers().add(
+        new TeamMember(0L, Position.PROJECT_MANAGER, new BigDecimal("0.25"), project));
+
+    return project;
+  }
+
+  // positive decimal with roughly up to integerDigits + fractionDigits digits and random scale
+  private static BigDecimal randomDecimal(final Random random, final int integerDigits,
+      final int fractionDigits) {
+    final var digits = 1 + random.nextInt(integerDigits + fractionDigits);
+    final var unscaledValue = new BigInteger(digits * 4, random).add(BigInteger.ONE);
+
+    return new BigDecimal(unscaledValue, random.nextInt(fractionDigits + 1));
+  }
+
+  // straightforward per-position computation which was used before TeamCostSnapshot
+  private static BigDecimal computePriceInRublesPerPosition(final Project project,
+      final BigDecimal estimateInDays) {
+    final var teamPrice = Arrays.stream(Position.values())
+        .map(position -> project.getRates().stream()
+            .filter(rate -> rate.getPosition() == position)
+            .map(Rate::getRublesPerHour)
+            .findAny()
+            .orElseThrow()
+            .multiply(project.getTeamMembers().stream()
+                .filter(teamMember -> teamMember.getPosition() == position)
+                .map(TeamMember::getNumberOfTeamMembers)
+                .findAny()
+                .orElse(BigDecimal.ZERO)))
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    return estimateInDays.multiply(teamPrice).multiply(BigDecimal.valueOf(8));
+  }
+}
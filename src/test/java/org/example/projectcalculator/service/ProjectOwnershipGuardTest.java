@@ -0,0 +1,85 @@
+package org.example.projectcalculator.service;
+
+import static org.example.projectcalculator.TestingData.createProject;
+import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.repository.ProjectRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProjectOwnershipGuardTest {
+
+  private UserService userServiceMock;
+
+  private ProjectRepository projectRepositoryMock;
+
+  private ProjectOwnershipGuard projectOwnershipGuard;
+
+  @BeforeEach
+  public void initMocks() {
+    userServiceMock = mock(UserService.class);
+
+    projectRepositoryMock = mock(ProjectRepository.class);
+
+    projectOwnershipGuard = new ProjectOwnershipGuard(userServiceMock, projectRepositoryMock);
+  }
+
+  @Test
+  void testGetOwnedProject_ownedProject_returnProject() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+
+    when(userServiceMock.getCurrentlyAuthenticatedUserId()).thenReturn(creator.getId());
+    when(projectRepositoryMock.findByIdAndCreatorId(project.getId(), creator.getId()))
+        .thenReturn(Optional.of(project));
+
+    Assertions.assertSame(project, projectOwnershipGuard.getOwnedProject(project.getId()));
+  }
+
+  @Test
+  void testGetOwnedProject_projectOfAnotherUser_throwException() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var anotherUserId = creator.getId() + 1;
+
+    when(userServiceMock.getCurrentlyAuthenticatedUserId()).thenReturn(anotherUserId);
+    when(projectRepositoryMock.findByIdAndCreatorId(project.getId(), anotherUserId))
+        .thenReturn(Optional.empty());
+
+    final var projectCalculatorException =
+        Assertions.assertThrows(
+            ProjectCalculatorException.class,
+            () -> projectOwnershipGuard.getOwnedProject(project.getId()));
+
+    Assertions.assertEquals(
+        ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID,
+        projectCalculatorException.getProjectCalculatorError());
+    Assertions.assertEquals("projectId", projectCalculatorException.getFieldWithError());
+  }
+
+  @Test
+  void testCheckIfUserOwnsProject_projectOfAnotherUser_throwException() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var anotherUserId = creator.getId() + 1;
+
+    when(userServiceMock.getCurrentlyAuthenticatedUserId()).thenReturn(anotherUserId);
+    when(projectRepositoryMock.existsByIdAndCreatorId(project.getId(), anotherUserId))
+        .thenReturn(false);
+
+    final var projectCalculatorException =
+        Assertions.assertThrows(
+            ProjectCalculatorException.class,
+            () -> projectOwnershipGuard.checkIfUserOwnsProject(project.getId()));
+
+    Assertions.assertEquals(
+        ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID,
+        projectCalculatorException.getProjectCalculatorError());
+  }
+}
@@ -10,10 +10,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
 import org.example.projectcalculator.model.Project;
 import org.example.projectcalculator.repository.ProjectRepository;
 import org.example.projectcalculator.repository.RateRepository;
 import org.example.projectcalculator.repository.TeamMemberRepository;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -21,6 +25,9 @@ class ProjectServiceTest {
 
   private UserService userServiceMock;
   private PriceService priceServiceMock;
+  private ProjectOwnershipGuard projectOwnershipGuardMock;
+
+  private TeamCostCache teamCostCacheMock;
 
   private ProjectRepository projectRepositoryMock;
   private RateRepository rateRepositoryMock;
@@ -32,6 +39,9 @@ class ProjectServiceTest {
   public void initMocks() {
     userServiceMock = mock(UserService.class);
     priceServiceMock = mock(PriceService.class);
+    projectOwnershipGuardMock = mock(ProjectOwnershipGuard.class);
+
+    teamCostCacheMock = mock(TeamCostCache.class);
 
     projectRepositoryMock = mock(ProjectRepository.class);
     rateRepositoryMock = mock(RateRepository.class);
@@ -41,11 +51,14 @@ class ProjectServiceTest {
         new ProjectService(
             userServiceMock,
             priceServiceMock,
+            projectOwnershipGuardMock,
+            teamCostCacheMock,
             projectRepositoryMock,
             rateRepositoryMock,
             teamMemberRepositoryMock,
             CLOCK,
-            PROJECT_MAPPER);
+            PROJECT_MAPPER,
+            true);
   }
 
   @Test
@@ -67,4 +80,33 @@ class ProjectServiceTest {
 
     assertProjectsAreEqual(expectedProjectDto, actualProjectDto);
   }
+
+  @Test
+  void testGetProjectETag_ownedProject_returnETagWithProjectId() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+
+    when(userServiceMock.getCurrentlyAuthenticatedUserId()).thenReturn(creator.getId());
+    when(projectRepositoryMock.findStateByIdAndCreatorId(project.getId(), creator.getId()))
+        .thenReturn(Optional.of("3-0"));
+
+    Assertions.assertEquals(project.getId() + "-3-0",
+        projectService.getProjectETag(project.getId()));
+  }
+
+  @Test
+  void testGetProjectETag_notOwnedProject_throwProjectCalculatorException() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+
+    when(userServiceMock.getCurrentlyAuthenticatedUserId()).thenReturn(creator.getId());
+    when(projectRepositoryMock.findStateByIdAndCreatorId(project.getId(), creator.getId()))
+        .thenReturn(Optional.empty());
+
+    final var exception = Assertions.assertThrows(ProjectCalculatorException.class,
+        () -> projectService.getProjectETag(project.getId()));
+
+    Assertions.assertEquals(ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID,
+        exception.getProjectCalculatorError());
+  }
 }
@@ -0,0 +1,144 @@
+package org.example.projectcalculator.service;
+
+import static org.example.projectcalculator.TestingData.createMilestone1;
+import static org.example.projectcalculator.TestingData.createMilestone2;
+import static org.example.projectcalculator.TestingData.createProject;
+import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.example.projectcalculator.dto.FeatureGroupSummaryDto;
+import org.example.projectcalculator.dto.PositionPriceDto;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.TeamMember;
+import org.example.projectcalculator.repository.FeatureRepository;
+import org.example.projectcalculator.repository.MilestoneRepository;
+import org.example.projectcalculator.repository.projection.FeatureEstimate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProjectSummaryServiceTest {
+
+  private ProjectOwnershipGuard projectOwnershipGuardMock;
+
+  private MilestoneRepository milestoneRepositoryMock;
+  private FeatureRepository featureRepositoryMock;
+
+  private ProjectSummaryService projectSummaryService;
+
+  @BeforeEach
+  public void initMocks() {
+    projectOwnershipGuardMock = mock(ProjectOwnershipGuard.class);
+
+    milestoneRepositoryMock = mock(MilestoneRepository.class);
+    featureRepositoryMock = mock(FeatureRepository.class);
+
+    projectSummaryService =
+        new ProjectSummaryService(
+            projectOwnershipGuardMock,
+            new PriceService(
+                new TeamCostCache(Duration.ofMinutes(1), 10, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry()),
+            milestoneRepositoryMock,
+            featureRepositoryMock);
+  }
+
+  @Test
+  void testGetProjectSummary_featuresOfMilestonesAndUnassigned_returnSummary() {
+    final var project = createProjectWithTeam();
+    final var milestone1 = createMilestone1(project);
+    final var milestone2 = createMilestone2(project);
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+    when(milestoneRepositoryMock.findAllByProjectId(project.getId())).thenReturn(
+        List.of(milestone2, milestone1));
+    when(featureRepositoryMock.findAllEstimatesByProjectId(project.getId())).thenReturn(List.of(
+        featureEstimate(milestone1.getId(), "4.4"),
+        featureEstimate(null, "2"),
+        featureEstimate(milestone1.getId(), "1.6"),
+        featureEstimate(null, "0.5")));
+
+    final var summary = projectSummaryService.getProjectSummary(project.getId());
+
+    // team costs 1600 * 1 + 2000 * 0.5 = 2600 RUB per hour
+    Assertions.assertEquals(project.getId(), summary.projectId());
+    Assertions.assertEquals(4, summary.numberOfFeatures());
+    Assertions.assertEquals(2, summary.numberOfMilestones());
+    assertEqualValues("8.5", summary.estimateInDays());
+    assertEqualValues("176800", summary.priceInRubles());
+
+    Assertions.assertEquals(List.of(milestone1.getId(), milestone2.getId()),
+        summary.milestones().stream().map(FeatureGroupSummaryDto::milestoneId).toList());
+    assertFeatureGroup(summary.milestones().get(0), 2, "6.0", "124800");
+    Assertions.assertEquals(milestone1.getTitle(), summary.milestones().get(0).title());
+    assertFeatureGroup(summary.milestones().get(1), 0, "0", "0");
+    assertFeatureGroup(summary.unassignedFeatures(), 2, "2.5", "52000");
+    Assertions.assertNull(summary.unassignedFeatures().milestoneId());
+
+    Assertions.assertEquals(Position.values().length, summary.positionPrices().size());
+    assertEqualValues("108800", positionPrice(summary.positionPrices(),
+        Position.REGULAR_DEVELOPER));
+    assertEqualValues("68000", positionPrice(summary.positionPrices(), Position.QA_ENGINEER));
+    assertEqualValues("0", positionPrice(summary.positionPrices(), Position.ARCHITECT));
+  }
+
+  private static Project createProjectWithTeam() {
+    final var project = createProject(createUser());
+
+    Arrays.stream(Position.values())
+        .map(position -> new Rate(0L, position, position.getDefaultRateInRublesPerHour(), project))
+        .forEach(project.getRates()::add);
+
+    project.getTeamMembers().add(
+        new TeamMember(0L, Position.REGULAR_DEVELOPER, new BigDecimal("1"), project));
+    project.getTeamMembers().add(
+        new TeamMember(0L, Position.QA_ENGINEER, new BigDecimal("0.5"), project));
+
+    return project;
+  }
+
+  private static FeatureEstimate featureEstimate(final Long milestoneId,
+      final String estimateInDays) {
+    return new FeatureEstimate() {
+      @Override
+      public Long getMilestoneId() {
+        return milestoneId;
+      }
+
+      @Override
+      public BigDecimal getEstimateInDays() {
+        return new BigDecimal(estimateInDays);
+      }
+    };
+  }
+
+  private static BigDecimal positionPrice(final List<PositionPriceDto> positionPrices,
+      final Position position) {
+    return positionPrices.stream()
+        .filter(positionPrice -> positionPrice.position().equals(position.name()))
+        .findAny()
+        .orElseThrow()
+        .priceInRubles();
+  }
+
+  private static void assertFeatureGroup(final FeatureGroupSummaryDto featureGroup,
+      final int expectedNumberOfFeatures, final String expectedEstimateInDays,
+      final String expectedPriceInRubles) {
+    Assertions.assertEquals(expectedNumberOfFeatures, featureGroup.numberOfFeatures());
+    assertEqualValues(expectedEstimateInDays, featureGroup.estimateInDays());
+    assertEqualValues(expectedPriceInRubles, featureGroup.priceInRubles());
+  }
+
+  private static void assertEqualValues(final String expected, final BigDecimal actual) {
+    Assertions.assertEquals(0, new BigDecimal(expected).compareTo(actual),
+        () -> "expected " + expected + ", but was " + actual);
+  }
+}
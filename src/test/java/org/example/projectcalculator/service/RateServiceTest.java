@@ -2,25 +2,40 @@ package org.example.projectcalculator.service;
 
 import static org.example.projectcalculator.Asserter.assertRatesAreEqual;
 import static org.example.projectcalculator.TestingData.CLOCK;
+import static org.example.projectcalculator.TestingData.NOW;
 import static org.example.projectcalculator.TestingData.RATE_MAPPER;
 import static org.example.projectcalculator.TestingData.createProject;
 import static org.example.projectcalculator.TestingData.createRate;
 import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import org.example.projectcalculator.dto.request.PositionRateDtoRequest;
 import org.example.projectcalculator.dto.request.UpdateRateDtoRequest;
+import org.example.projectcalculator.dto.request.UpdateRatesDtoRequest;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Rate;
 import org.example.projectcalculator.repository.RateRepository;
 import org.example.projectcalculator.service.utility.ServiceTestHelper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class RateServiceTest {
 
-  private UserService userServiceMock;
-  private ProjectService projectServiceMock;
+  private ProjectOwnershipGuard projectOwnershipGuardMock;
+
+  private TeamCostCache teamCostCacheMock;
 
   private RateRepository rateRepositoryMock;
 
@@ -28,15 +43,17 @@ class RateServiceTest {
 
   @BeforeEach
   public void initMocks() {
-    userServiceMock = mock(UserService.class);
-    projectServiceMock = mock(ProjectService.class);
+    projectOwnershipGuardMock = mock(ProjectOwnershipGuard.class);
+
+    teamCostCacheMock = mock(TeamCostCache.class);
 
     rateRepositoryMock = mock(RateRepository.class);
 
     rateService =
         new RateService(
-            userServiceMock,
-            projectServiceMock,
+            projectOwnershipGuardMock,
+            new PositionService(),
+            teamCostCacheMock,
             rateRepositoryMock,
             CLOCK,
             RATE_MAPPER);
@@ -52,8 +69,6 @@ class RateServiceTest {
     final var updateRateDtoRequest = new UpdateRateDtoRequest(newRublesPerHour);
     final var expectedRateDto = RATE_MAPPER.toRateDto(rate);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-
     when(rateRepositoryMock.findByIdAndProjectId(rate.getId(), project.getId())).thenReturn(
         Optional.of(rate));
 
@@ -64,4 +79,47 @@ class RateServiceTest {
 
     assertRatesAreEqual(expectedRateDto, actualRateDto);
   }
+
+  @Test
+  void testUpdateRates_allPositions_updateAllAndInvalidateOnce() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var rates = Arrays.stream(Position.values())
+        .map(position -> new Rate(position.ordinal() + 1L, position,
+            position.getDefaultRateInRublesPerHour(), project))
+        .toList();
+    final var request = new UpdateRatesDtoRequest(Arrays.stream(Position.values())
+        .map(position -> new PositionRateDtoRequest(position.name(),
+            position.getDefaultRateInRublesPerHour().add(BigDecimal.TEN)))
+        .toList());
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+    when(rateRepositoryMock.findAllByProjectId(project.getId())).thenReturn(rates);
+
+    final var actualRateDtos = rateService.updateRates(request, project.getId());
+
+    Assertions.assertEquals(Position.values().length, actualRateDtos.size());
+
+    for (final var rate : rates) {
+      Assertions.assertEquals(
+          rate.getPosition().getDefaultRateInRublesPerHour().add(BigDecimal.TEN),
+          rate.getRublesPerHour());
+    }
+
+    Assertions.assertFalse(project.getLastUpdatedAt().isBefore(NOW));
+    verify(teamCostCacheMock, times(1)).invalidate(project.getId());
+  }
+
+  @Test
+  void testUpdateRates_missingPosition_throwProjectCalculatorException() {
+    final var request = new UpdateRatesDtoRequest(List.of(
+        new PositionRateDtoRequest(Position.ARCHITECT.name(), BigDecimal.TEN)));
+
+    final var exception = Assertions.assertThrows(ProjectCalculatorException.class,
+        () -> rateService.updateRates(request, 1L));
+
+    Assertions.assertEquals(ProjectCalculatorError.RATE_IS_MISSING_FOR_POSITION,
+        exception.getProjectCalculatorError());
+    verify(teamCostCacheMock, never()).invalidate(anyLong());
+  }
 }
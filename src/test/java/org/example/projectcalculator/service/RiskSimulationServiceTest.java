@@ -0,0 +1,200 @@
+package org.example.projectcalculator.service;
+
+import static org.example.projectcalculator.TestingData.createMilestone1;
+import static org.example.projectcalculator.TestingData.createMilestone2;
+import static org.example.projectcalculator.TestingData.createProject;
+import static org.example.projectcalculator.TestingData.createUser;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import org.example.projectcalculator.dto.FeatureGroupRiskDto;
+import org.example.projectcalculator.dto.PercentilesDto;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.model.Position;
+import org.example.projectcalculator.model.Project;
+import org.example.projectcalculator.model.Rate;
+import org.example.projectcalculator.model.TeamMember;
+import org.example.projectcalculator.repository.FeatureRepository;
+import org.example.projectcalculator.repository.MilestoneRepository;
+import org.example.projectcalculator.repository.projection.FeatureThreePointEstimate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class RiskSimulationServiceTest {
+
+  private ProjectOwnershipGuard projectOwnershipGuardMock;
+
+  private MilestoneRepository milestoneRepositoryMock;
+  private FeatureRepository featureRepositoryMock;
+
+  private RiskSimulator riskSimulator;
+
+  private RiskSimulationService riskSimulationService;
+
+  @BeforeEach
+  public void initMocks() {
+    projectOwnershipGuardMock = mock(ProjectOwnershipGuard.class);
+
+    milestoneRepositoryMock = mock(MilestoneRepository.class);
+    featureRepositoryMock = mock(FeatureRepository.class);
+
+    riskSimulator = new RiskSimulator(2);
+
+    riskSimulationService =
+        new RiskSimulationService(
+            projectOwnershipGuardMock,
+            new PriceService(
+                new TeamCostCache(Duration.ofMinutes(1), 10, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry()),
+            riskSimulator,
+            milestoneRepositoryMock,
+            featureRepositoryMock,
+            mock(PlatformTransactionManager.class),
+            1000,
+            1000);
+  }
+
+  @AfterEach
+  public void shutdownRiskSimulator() {
+    riskSimulator.shutdown();
+  }
+
+  @Test
+  void testSimulateProjectRisk_certainEstimates_returnExactPercentiles() {
+    final var project = createProjectWithTeam();
+    final var milestone1 = createMilestone1(project);
+    final var milestone2 = createMilestone2(project);
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+    when(milestoneRepositoryMock.findAllByProjectId(project.getId())).thenReturn(
+        List.of(milestone2, milestone1));
+    // best, most likely and worst cases are the same, so every sample is the same
+    when(featureRepositoryMock.findAllThreePointEstimatesByProjectId(project.getId()))
+        .thenReturn(List.of(
+            featureEstimate(milestone2.getId(), "1.5"),
+            featureEstimate(null, "2"),
+            featureEstimate(milestone2.getId(), "0.25")));
+
+    final var projectRisk = riskSimulationService.simulateProjectRisk(project.getId(), 100, 5L);
+
+    // team costs 1600 * 1 + 2000 * 0.5 = 2600 RUB per hour, 20800 RUB per day
+    Assertions.assertEquals(100, projectRisk.iterations());
+    Assertions.assertEquals(5L, projectRisk.seed());
+    assertPercentiles("3.75", projectRisk.estimateInDays());
+    assertPercentiles("78000", projectRisk.priceInRubles());
+
+    Assertions.assertEquals(List.of(milestone1.getId(), milestone2.getId()),
+        projectRisk.milestones().stream().map(FeatureGroupRiskDto::milestoneId).toList());
+    assertPercentiles("0", projectRisk.milestones().get(0).estimateInDays());
+    assertPercentiles("1.75", projectRisk.milestones().get(1).estimateInDays());
+    assertPercentiles("36400", projectRisk.milestones().get(1).priceInRubles());
+    assertPercentiles("2", projectRisk.unassignedFeatures().estimateInDays());
+  }
+
+  @Test
+  void testSimulateProjectRisk_notOwnedProject_throwProjectCalculatorException() {
+    when(projectOwnershipGuardMock.getOwnedProject(1L)).thenThrow(
+        new ProjectCalculatorException(ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID,
+            "projectId"));
+
+    final var exception = Assertions.assertThrows(ProjectCalculatorException.class,
+        () -> riskSimulationService.simulateProjectRisk(1L, 100, 5L));
+
+    Assertions.assertEquals(ProjectCalculatorError.PROJECT_IS_NOT_FOUND_BY_ID,
+        exception.getProjectCalculatorError());
+  }
+
+  @Test
+  void testSimulateProjectRisk_tooManySamples_throwProjectCalculatorException() {
+    final var project = createProjectWithTeam();
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+    when(milestoneRepositoryMock.findAllByProjectId(project.getId())).thenReturn(List.of());
+    when(featureRepositoryMock.findAllThreePointEstimatesByProjectId(project.getId()))
+        .thenReturn(List.of(featureEstimate(null, "1"), featureEstimate(null, "2")));
+
+    // 2 features * 501 iterations > 1000 samples
+    final var exception = Assertions.assertThrows(ProjectCalculatorException.class,
+        () -> riskSimulationService.simulateProjectRisk(project.getId(), 501, 5L));
+
+    Assertions.assertEquals(ProjectCalculatorError.RISK_SIMULATION_IS_TOO_LARGE,
+        exception.getProjectCalculatorError());
+    Assertions.assertEquals("iterations", exception.getFieldWithError());
+    Assertions.assertEquals(500,
+        riskSimulationService.simulateProjectRisk(project.getId(), 500, 5L).iterations());
+  }
+
+  @Test
+  void testSimulateProjectRisk_tooManySums_throwProjectCalculatorException() {
+    final var project = createProjectWithTeam();
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+    when(milestoneRepositoryMock.findAllByProjectId(project.getId())).thenReturn(
+        List.of(createMilestone1(project), createMilestone2(project)));
+    when(featureRepositoryMock.findAllThreePointEstimatesByProjectId(project.getId()))
+        .thenReturn(List.of());
+
+    // (2 milestones + unassigned features + project) * 251 iterations > 1000 sums
+    final var exception = Assertions.assertThrows(ProjectCalculatorException.class,
+        () -> riskSimulationService.simulateProjectRisk(project.getId(), 251, 5L));
+
+    Assertions.assertEquals(ProjectCalculatorError.RISK_SIMULATION_IS_TOO_LARGE,
+        exception.getProjectCalculatorError());
+  }
+
+  private static Project createProjectWithTeam() {
+    final var project = createProject(createUser());
+
+    Arrays.stream(Position.values())
+        .map(position -> new Rate(0L, position, position.getDefaultRateInRublesPerHour(), project))
+        .forEach(project.getRates()::add);
+
+    project.getTeamMembers().add(
+        new TeamMember(0L, Position.REGULAR_DEVELOPER, new BigDecimal("1"), project));
+    project.getTeamMembers().add(
+        new TeamMember(0L, Position.QA_ENGINEER, new BigDecimal("0.5"), project));
+
+    return project;
+  }
+
+  private static FeatureThreePointEstimate featureEstimate(final Long milestoneId,
+      final String estimateInDays) {
+    return new FeatureThreePointEstimate() {
+      @Override
+      public Long getMilestoneId() {
+        return milestoneId;
+      }
+
+      @Override
+      public BigDecimal getBestCaseEstimateInDays() {
+        return new BigDecimal(estimateInDays);
+      }
+
+      @Override
+      public BigDecimal getMostLikelyEstimateInDays() {
+        return new BigDecimal(estimateInDays);
+      }
+
+      @Override
+      public BigDecimal getWorstCaseEstimateInDays() {
+        return new BigDecimal(estimateInDays);
+      }
+    };
+  }
+
+  private static void assertPercentiles(final String expected, final PercentilesDto actual) {
+    for (final var percentile : List.of(actual.p50(), actual.p80(), actual.p95())) {
+      Assertions.assertEquals(0, new BigDecimal(expected).compareTo(percentile),
+          () -> "expected " + expected + ", but was " + actual);
+    }
+  }
+}
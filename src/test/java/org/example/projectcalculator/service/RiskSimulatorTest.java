@@ -0,0 +1,112 @@
+package org.example.projectcalculator.service;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RiskSimulatorTest {
+
+  private RiskSimulator riskSimulator;
+
+  @BeforeEach
+  public void createRiskSimulator() {
+    riskSimulator = new RiskSimulator(2);
+  }
+
+  @AfterEach
+  public void shutdownRiskSimulator() {
+    riskSimulator.shutdown();
+  }
+
+  @Test
+  void testSimulate_sameSeedAndAnotherParallelism_sameResult() {
+    final var featureCount = 100;
+    final var bestCases = new double[featureCount];
+    final var mostLikelys = new double[featureCount];
+    final var worstCases = new double[featureCount];
+    final var groups = new int[featureCount];
+
+    for (var i = 0; i < featureCount; ++i) {
+      bestCases[i] = 1 + i % 7;
+      mostLikelys[i] = bestCases[i] + i % 3;
+      worstCases[i] = mostLikelys[i] + i % 11;
+      groups[i] = i % 3;
+    }
+
+    final var singleThreadSimulator = new RiskSimulator(1);
+    final var multiThreadSimulator = new RiskSimulator(4);
+
+    try {
+      // iterations are not a multiple of chunk size
+      final var iterations = 3 * RiskSimulator.CHUNK_SIZE + 17;
+      final var expectedSums = singleThreadSimulator.simulate(bestCases,
+          mostLikelys, worstCases, groups, 3, iterations, 42L);
+      final var actualSums = multiThreadSimulator.simulate(bestCases, mostLikelys,
+          worstCases, groups, 3, iterations, 42L);
+      final var anotherSeedSums = multiThreadSimulator.simulate(bestCases,
+          mostLikelys, worstCases, groups, 3, iterations, 43L);
+
+      Assertions.assertEquals(4, actualSums.length);
+      Assertions.assertEquals(iterations, actualSums[3].length);
+      Assertions.assertTrue(Arrays.deepEquals(expectedSums, actualSums));
+      Assertions.assertFalse(Arrays.deepEquals(expectedSums, anotherSeedSums));
+    } finally {
+      singleThreadSimulator.shutdown();
+      multiThreadSimulator.shutdown();
+    }
+  }
+
+  @Test
+  void testSimulate_manyIterations_distributionOfPert() {
+    final var featureCount = 100;
+    final var bestCases = new double[featureCount];
+    final var mostLikelys = new double[featureCount];
+    final var worstCases = new double[featureCount];
+
+    Arrays.fill(bestCases, 1.0);
+    Arrays.fill(mostLikelys, 2.0);
+    Arrays.fill(worstCases, 9.0);
+
+    final var sums = riskSimulator.simulate(bestCases, mostLikelys, worstCases,
+        new int[featureCount], 1, 20_000, 1L)[1];
+
+    // PERT mean is (1 + 4 * 2 + 9) / 6 = 3, standard deviation is about (9 - 1) / 6
+    final var mean = Arrays.stream(sums).average().orElseThrow();
+    final var standardDeviation = 8.0 / 6.0 * Math.sqrt(featureCount);
+
+    Assertions.assertEquals(3.0 * featureCount, mean, 0.1 * standardDeviation);
+    Assertions.assertTrue(sums[0] >= 1.0 * featureCount);
+    Assertions.assertTrue(sums[sums.length - 1] <= 9.0 * featureCount);
+    Assertions.assertTrue(RiskSimulator.percentile(sums, 50) < RiskSimulator.percentile(sums, 80));
+    Assertions.assertTrue(RiskSimulator.percentile(sums, 80) < RiskSimulator.percentile(sums, 95));
+  }
+
+  @Test
+  void testSimulate_sameThreePointEstimates_exactSums() {
+    final var sums = riskSimulator.simulate(
+        new double[]{1.5, 2.0, 4.0}, new double[]{1.5, 2.0, 4.0}, new double[]{1.5, 2.0, 4.0},
+        new int[]{0, 1, 0}, 2, 10, 7L);
+
+    for (var iteration = 0; iteration < 10; ++iteration) {
+      Assertions.assertEquals(5.5, sums[0][iteration]);
+      Assertions.assertEquals(2.0, sums[1][iteration]);
+      Assertions.assertEquals(7.5, sums[2][iteration]);
+    }
+  }
+
+  @Test
+  void testPercentile_sortedSamples_nearestRank() {
+    final var samples = new double[100];
+
+    for (var i = 0; i < samples.length; ++i) {
+      samples[i] = i + 1;
+    }
+
+    Assertions.assertEquals(50.0, RiskSimulator.percentile(samples, 50));
+    Assertions.assertEquals(95.0, RiskSimulator.percentile(samples, 95));
+    Assertions.assertEquals(100.0, RiskSimulator.percentile(samples, 100));
+    Assertions.assertEquals(7.0, RiskSimulator.percentile(new double[]{7.0}, 50));
+  }
+}
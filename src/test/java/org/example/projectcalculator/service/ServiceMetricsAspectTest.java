@@ -0,0 +1,54 @@
+package org.example.projectcalculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+class ServiceMetricsAspectTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private MeteredService meteredServiceProxy;
+
+  @BeforeEach
+  public void createProxies() {
+    meterRegistry = new SimpleMeterRegistry();
+
+    final var aspect = new ServiceMetricsAspect(meterRegistry);
+
+    final var meteredServiceProxyFactory = new AspectJProxyFactory(new MeteredService());
+    meteredServiceProxyFactory.addAspect(aspect);
+    meteredServiceProxy = meteredServiceProxyFactory.getProxy();
+  }
+
+  @Test
+  void testTime_methodReturnsAndThrows_timeByException() {
+    meteredServiceProxy.succeed();
+    meteredServiceProxy.succeed();
+
+    Assertions.assertThrows(IllegalStateException.class, meteredServiceProxy::fail);
+
+    Assertions.assertEquals(2, meterRegistry.get("project-calculator.service")
+        .tags("class", "MeteredService", "method", "succeed", "exception", "none")
+        .timer()
+        .count());
+    Assertions.assertEquals(1, meterRegistry.get("project-calculator.service")
+        .tags("class", "MeteredService", "method", "fail", "exception", "IllegalStateException")
+        .timer()
+        .count());
+  }
+
+  @Metered
+  static class MeteredService {
+
+    public int succeed() {
+      return 1;
+    }
+
+    public int fail() {
+      throw new IllegalStateException("failed");
+    }
+  }
+}
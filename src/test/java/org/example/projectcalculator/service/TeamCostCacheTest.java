@@ -0,0 +1,97 @@
+package org.example.projectcalculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TeamCostCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private TeamCostCache teamCostCache;
+
+  @BeforeEach
+  public void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    teamCostCache = new TeamCostCache(Duration.ofMinutes(1), 1, meterRegistry);
+  }
+
+  @Test
+  void testGet_sameProjectTwice_loadOnce() {
+    final var loadCount = new AtomicInteger();
+
+    teamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+    final var teamCostSnapshot = teamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+
+    Assertions.assertEquals(1, loadCount.get());
+    Assertions.assertNotNull(teamCostSnapshot);
+    Assertions.assertEquals(1.0, getCacheGets("hit"));
+    Assertions.assertEquals(1.0, getCacheGets("miss"));
+  }
+
+  @Test
+  void testGet_afterInvalidate_loadAgain() {
+    final var loadCount = new AtomicInteger();
+
+    teamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+    teamCostCache.invalidate(1L);
+    teamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+
+    Assertions.assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  void testGet_invalidateDuringLoad_doNotCache() {
+    final var loadCount = new AtomicInteger();
+
+    teamCostCache.get(1L, () -> {
+      teamCostCache.invalidate(1L);
+      return createTeamCostSnapshot(loadCount);
+    });
+    teamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+
+    Assertions.assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  void testGet_afterTimeToLive_loadAgain() throws InterruptedException {
+    final var loadCount = new AtomicInteger();
+    final var shortLivedTeamCostCache =
+        new TeamCostCache(Duration.ofMillis(10), 1, new SimpleMeterRegistry());
+
+    shortLivedTeamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+    Thread.sleep(50);
+    shortLivedTeamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+
+    Assertions.assertEquals(2, loadCount.get());
+  }
+
+  @Test
+  void testGet_moreProjectsThanMaximumSize_evict() {
+    final var loadCount = new AtomicInteger();
+
+    teamCostCache.get(1L, () -> createTeamCostSnapshot(loadCount));
+    teamCostCache.get(2L, () -> createTeamCostSnapshot(loadCount));
+
+    Assertions.assertEquals(1.0,
+        meterRegistry.get("cache.evictions").tag("cache", "teamCost").functionCounter().count());
+  }
+
+  private double getCacheGets(final String result) {
+    return meterRegistry.get("cache.gets")
+        .tag("cache", "teamCost")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private static TeamCostSnapshot createTeamCostSnapshot(final AtomicInteger loadCount) {
+    loadCount.incrementAndGet();
+
+    return new TeamCostSnapshot(new BigDecimal[0], BigDecimal.ZERO);
+  }
+}
@@ -8,19 +8,33 @@ import static org.example.projectcalculator.TestingData.createTeamMember;
 import static org.example.projectcalculator.TestingData.createUser;
 import static org.example.projectcalculator.service.utility.ServiceTestHelper.setSecurityContext;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import org.example.projectcalculator.dto.request.CreateUpdateTeamMemberDtoRequest;
+import org.example.projectcalculator.dto.request.UpdateTeamMembersDtoRequest;
+import org.example.projectcalculator.error.ProjectCalculatorError;
+import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.model.Position;
 import org.example.projectcalculator.model.TeamMember;
 import org.example.projectcalculator.repository.TeamMemberRepository;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class TeamMemberServiceTest {
 
-  private UserService userServiceMock;
-  private ProjectService projectServiceMock;
+  private ProjectOwnershipGuard projectOwnershipGuardMock;
+
+  private TeamCostCache teamCostCacheMock;
 
   private TeamMemberRepository teamMemberRepositoryMock;
 
@@ -28,15 +42,17 @@ class TeamMemberServiceTest {
 
   @BeforeEach
   public void initMocks() {
-    userServiceMock = mock(UserService.class);
-    projectServiceMock = mock(ProjectService.class);
+    projectOwnershipGuardMock = mock(ProjectOwnershipGuard.class);
+
+    teamCostCacheMock = mock(TeamCostCache.class);
 
     teamMemberRepositoryMock = mock(TeamMemberRepository.class);
 
     teamMemberService =
         new TeamMemberService(
-            userServiceMock,
-            projectServiceMock,
+            projectOwnershipGuardMock,
+            new PositionService(),
+            teamCostCacheMock,
             teamMemberRepositoryMock,
             CLOCK,
             TEAM_MEMBER_MAPPER);
@@ -51,8 +67,7 @@ class TeamMemberServiceTest {
         teamMember);
     final var expectedTeamMemberDto = TEAM_MEMBER_MAPPER.toTeamMemberDto(teamMember);
 
-    when(userServiceMock.getCurrentlyAuthenticatedUser()).thenReturn(creator);
-    when(projectServiceMock.getProject(project.getId())).thenReturn(project);
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
 
     when(teamMemberRepositoryMock.findAllByProjectId(project.getId())).thenReturn(
         Collections.singletonList(teamMember));
@@ -65,4 +80,51 @@ class TeamMemberServiceTest {
 
     assertTeamMembersAreEqual(expectedTeamMemberDto, actualTeamMemberDto);
   }
+
+  @Test
+  void testUpdateTeamMembers_newTeam_updateCreateDeleteAndInvalidateOnce() {
+    final var creator = createUser();
+    final var project = createProject(creator);
+    final var developer = new TeamMember(1L, Position.REGULAR_DEVELOPER, new BigDecimal("1"),
+        project);
+    final var qaEngineer = new TeamMember(2L, Position.QA_ENGINEER, new BigDecimal("0.25"),
+        project);
+    final var request = new UpdateTeamMembersDtoRequest(List.of(
+        new CreateUpdateTeamMemberDtoRequest(Position.ARCHITECT.name(), new BigDecimal("0.5")),
+        new CreateUpdateTeamMemberDtoRequest(Position.REGULAR_DEVELOPER.name(),
+            new BigDecimal("3"))));
+
+    when(projectOwnershipGuardMock.getOwnedProject(project.getId())).thenReturn(project);
+    when(teamMemberRepositoryMock.findAllByProjectId(project.getId())).thenReturn(
+        List.of(developer, qaEngineer));
+
+    final var actualTeamMemberDtos = teamMemberService.updateTeamMembers(request,
+        project.getId());
+
+    Assertions.assertEquals(2, actualTeamMemberDtos.size());
+    Assertions.assertEquals(Position.ARCHITECT.name(), actualTeamMemberDtos.get(0).position());
+    Assertions.assertEquals(developer.getId(), actualTeamMemberDtos.get(1).id());
+    Assertions.assertEquals(new BigDecimal("3"), developer.getNumberOfTeamMembers());
+
+    verify(teamMemberRepositoryMock).saveAll(argThat(teamMembers ->
+        teamMembers instanceof List<?> list && list.size() == 1
+            && list.get(0) instanceof TeamMember teamMember
+            && teamMember.getPosition() == Position.ARCHITECT
+            && teamMember.getProject() == project));
+    verify(teamMemberRepositoryMock).deleteAll(argThat(teamMembers ->
+        List.of(qaEngineer).equals(new ArrayList<>((Collection<?>) teamMembers))));
+    verify(teamCostCacheMock, times(1)).invalidate(project.getId());
+  }
+
+  @Test
+  void testUpdateTeamMembers_duplicatePosition_throwProjectCalculatorException() {
+    final var request = new UpdateTeamMembersDtoRequest(List.of(
+        new CreateUpdateTeamMemberDtoRequest(Position.ARCHITECT.name(), new BigDecimal("0.5")),
+        new CreateUpdateTeamMemberDtoRequest(Position.ARCHITECT.name(), new BigDecimal("1"))));
+
+    final var exception = Assertions.assertThrows(ProjectCalculatorException.class,
+        () -> teamMemberService.updateTeamMembers(request, 1L));
+
+    Assertions.assertEquals(ProjectCalculatorError.DUPLICATE_POSITION, exception.getProjectCalculatorError());
+  }
 }
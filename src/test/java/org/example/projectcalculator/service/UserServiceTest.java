@@ -4,15 +4,24 @@ import static org.example.projectcalculator.Asserter.assertUsersAreEqual;
 import static org.example.projectcalculator.TestingData.CLOCK;
 import static org.example.projectcalculator.TestingData.USER_MAPPER;
 import static org.example.projectcalculator.TestingData.createUser;
+import static org.example.projectcalculator.service.utility.ServiceTestHelper.setSecurityContext;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import org.example.projectcalculator.error.ProjectCalculatorError;
 import org.example.projectcalculator.error.ProjectCalculatorException;
+import org.example.projectcalculator.dto.request.UpdateUserDtoRequest;
 import org.example.projectcalculator.model.User;
 import org.example.projectcalculator.repository.UserRepository;
+import org.example.projectcalculator.security.CredentialCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +33,8 @@ class UserServiceTest {
 
   private PasswordEncoder passwordEncoderMock;
 
+  private CredentialCache credentialCache;
+
   private UserService userService;
 
   @BeforeEach
@@ -32,7 +43,69 @@ class UserServiceTest {
 
     passwordEncoderMock = mock(PasswordEncoder.class);
 
-    userService = new UserService(userRepositoryMock, passwordEncoderMock, CLOCK, USER_MAPPER);
+    final var userCache = new UserCache(Duration.ofSeconds(30), 100, new SimpleMeterRegistry());
+
+    credentialCache =
+        new CredentialCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+
+    userService = new UserService(userCache, credentialCache, userRepositoryMock,
+        passwordEncoderMock, CLOCK, USER_MAPPER);
+  }
+
+  @Test
+  void testGetCurrentlyAuthenticatedUserId_authenticatedUser_returnIdWithoutQuery() {
+    final var user = createUser();
+
+    setSecurityContext(user);
+
+    Assertions.assertEquals(user.getId(), userService.getCurrentlyAuthenticatedUserId());
+
+    verify(userRepositoryMock, never()).findByLogin(any());
+  }
+
+  @Test
+  void testGetCurrentlyAuthenticatedUser_calledTwice_queryOnce() {
+    final var user = createUser();
+
+    setSecurityContext(user);
+
+    when(userRepositoryMock.findByLogin(user.getLogin())).thenReturn(Optional.of(user));
+
+    final var firstUser = userService.getCurrentlyAuthenticatedUser();
+    final var secondUser = userService.getCurrentlyAuthenticatedUser();
+
+    Assertions.assertEquals(user.getId(), firstUser.getId());
+    Assertions.assertEquals(user.getLogin(), secondUser.getLogin());
+    Assertions.assertNotSame(firstUser, secondUser);
+
+    verify(userRepositoryMock, times(1)).findByLogin(user.getLogin());
+  }
+
+  @Test
+  void testGetCurrentlyAuthenticatedUser_updatedWhileLoading_doNotCacheOldUser() {
+    final var user = createUser();
+    final var updateUserDtoRequest = new UpdateUserDtoRequest("newPassword123", "new@mail.com");
+
+    setSecurityContext(user);
+
+    when(userRepositoryMock.findById(user.getId())).thenReturn(Optional.of(user));
+    when(passwordEncoderMock.encode(updateUserDtoRequest.password())).thenReturn("new hash");
+    // User is updated after the old state is loaded, but before it is cached
+    when(userRepositoryMock.findByLogin(user.getLogin())).thenAnswer(invocation -> {
+      final var oldUser = new User(user.getId(), user.getLogin(), user.getPasswordHash(),
+          user.getEmail(), user.getCreatedAt(), user.getLastUpdatedAt());
+
+      userService.updateUser(updateUserDtoRequest, user.getId());
+
+      return Optional.of(oldUser);
+    }).thenReturn(Optional.of(user));
+
+    userService.getCurrentlyAuthenticatedUser();
+
+    Assertions.assertEquals(updateUserDtoRequest.email(),
+        userService.getCurrentlyAuthenticatedUser().getEmail());
+
+    verify(userRepositoryMock, times(2)).findByLogin(user.getLogin());
   }
 
   @Test
@@ -69,4 +142,43 @@ class UserServiceTest {
         projectCalculatorException.getProjectCalculatorError());
     Assertions.assertEquals("login", projectCalculatorException.getFieldWithError());
   }
+
+  @Test
+  void testUpdateUser_validRequest_invalidateCachedCredentials() {
+    final var user = createUser();
+    final var updateUserDtoRequest = new UpdateUserDtoRequest("newPassword123", "new@mail.com");
+
+    setSecurityContext(user);
+    credentialCache.put(user.getLogin(), "qwerty123", user.getId(), List.of(),
+        credentialCache.getGeneration(user.getLogin()));
+
+    when(userRepositoryMock.findById(user.getId())).thenReturn(Optional.of(user));
+    when(passwordEncoderMock.encode(updateUserDtoRequest.password())).thenReturn("new hash");
+
+    final var actualUserDto = userService.updateUser(updateUserDtoRequest, user.getId());
+
+    Assertions.assertEquals(updateUserDtoRequest.email(), actualUserDto.email());
+    Assertions.assertNull(credentialCache.get(user.getLogin(), "qwerty123"));
+  }
+
+  @Test
+  void testUpdateUser_oldPasswordIsVerifiedConcurrently_doNotCacheOldPassword() {
+    final var user = createUser();
+    final var updateUserDtoRequest = new UpdateUserDtoRequest("newPassword123", "new@mail.com");
+
+    setSecurityContext(user);
+
+    when(userRepositoryMock.findById(user.getId())).thenReturn(Optional.of(user));
+    when(passwordEncoderMock.encode(updateUserDtoRequest.password())).thenReturn("new hash");
+
+    // concurrent authentication has loaded the old password hash before update...
+    final var generation = credentialCache.getGeneration(user.getLogin());
+
+    userService.updateUser(updateUserDtoRequest, user.getId());
+
+    // ...and caches the old password after update and all its invalidations
+    credentialCache.put(user.getLogin(), "qwerty123", user.getId(), List.of(), generation);
+
+    Assertions.assertNull(credentialCache.get(user.getLogin(), "qwerty123"));
+  }
 }
@@ -4,9 +4,9 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import org.example.projectcalculator.model.User;
+import org.example.projectcalculator.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 
 public class ServiceTestHelper {
 
@@ -15,10 +15,10 @@ public class ServiceTestHelper {
 
   public static void setSecurityContext(final User user) {
     final var authentication = mock(Authentication.class);
-    final var userDetails = mock(UserDetails.class);
+    final var authenticatedUser =
+        new AuthenticatedUser(user.getId(), user.getLogin(), user.getPasswordHash());
 
-    when(authentication.getPrincipal()).thenReturn(userDetails);
-    when(userDetails.getUsername()).thenReturn(user.getLogin());
+    when(authentication.getPrincipal()).thenReturn(authenticatedUser);
 
     final var context = SecurityContextHolder.createEmptyContext();
     context.setAuthentication(authentication);